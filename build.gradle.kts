@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.4.3"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.storywave"
@@ -21,6 +22,10 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-redis-reactive")
     implementation("org.springframework.boot:spring-boot-starter-webflux")
     implementation("org.springframework.boot:spring-boot-starter-rsocket")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("io.projectreactor:reactor-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
@@ -29,3 +34,62 @@ dependencies {
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaseline = layout.projectDirectory.file("benchmarks/jmh-baseline.json")
+
+jmh {
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    // 기준선과 비교할 수 있도록 힙 크기와 GC 를 고정한다
+    jvmArgs = listOf("-Xms1g", "-Xmx1g", "-XX:+UseG1GC")
+    resultFormat = "JSON"
+    resultsFile = jmhResults
+}
+
+// 기준 장비에서 측정한 결과를 기준선으로 저장한다: ./gradlew jmh jmhBaseline
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    description = "Copies the latest JMH JSON results to benchmarks/jmh-baseline.json."
+    from(jmhResults)
+    into(jmhBaseline.asFile.parentFile)
+    rename { jmhBaseline.asFile.name }
+}
+
+// 최근 결과를 기준선과 비교해 임계치(기본 10%) 이상 느려진 벤치마크가 있으면 실패한다: ./gradlew jmh jmhCompare
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    description = "Fails when a JMH score regressed against benchmarks/jmh-baseline.json."
+    val threshold = (findProperty("jmhRegressionThreshold") as String?)?.toDouble() ?: 0.10
+    doLast {
+        val baselineFile = jmhBaseline.asFile
+        if (!baselineFile.exists()) {
+            throw GradleException("No JMH baseline at $baselineFile. Run ./gradlew jmh jmhBaseline first.")
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        fun load(file: File): Map<String, Map<String, Any?>> =
+            (groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>)
+                .associateBy { "${it["benchmark"]} ${it["params"] ?: ""}".trim() }
+
+        fun score(result: Map<String, Any?>): Double =
+            ((result["primaryMetric"] as Map<*, *>)["score"] as Number).toDouble()
+
+        val baseline = load(baselineFile)
+        val regressions = mutableListOf<String>()
+        load(jmhResults.get().asFile).forEach { (key, result) ->
+            val before = baseline[key] ?: return@forEach
+            val change = (score(result) - score(before)) / score(before)
+            // 처리량(thrpt)은 높을수록, 평균 시간(avgt)은 낮을수록 좋다
+            val slowdown = if (result["mode"] == "thrpt") -change else change
+            logger.lifecycle("%-100s %14.3f -> %14.3f (%+.1f%%)".format(key, score(before), score(result), change * 100))
+            if (slowdown > threshold) {
+                regressions += key
+            }
+        }
+        if (regressions.isNotEmpty()) {
+            throw GradleException("JMH regressions over ${threshold * 100}%: $regressions")
+        }
+    }
+}
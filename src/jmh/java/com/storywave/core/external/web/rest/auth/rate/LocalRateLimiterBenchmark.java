@@ -0,0 +1,54 @@
+package com.storywave.core.external.web.rest.auth.rate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프로세스 내 속도 제한 판정 비용(ns/op). 한 IP 에 몰리는 경우와 여러 IP 에 흩어지는 경우를 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LocalRateLimiterBenchmark {
+
+    @Param({"TOKEN_BUCKET", "SLIDING_WINDOW_LOG"})
+    RateLimitStrategy strategy;
+
+    @Param({"1", "10000"})
+    int clients;
+
+    private LocalRateLimiterEngine engine;
+    private String[] ipAddresses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new LocalRateLimiterEngine(strategy, 100, Duration.ofSeconds(1));
+        ipAddresses = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            ipAddresses[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public boolean acquire() {
+        return engine.acquire(ipAddresses[ThreadLocalRandom.current().nextInt(clients)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean acquireContended() {
+        return engine.acquire(ipAddresses[ThreadLocalRandom.current().nextInt(clients)]);
+    }
+}
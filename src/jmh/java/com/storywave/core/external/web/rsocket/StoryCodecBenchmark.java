@@ -0,0 +1,128 @@
+package com.storywave.core.external.web.rsocket;
+
+import com.storywave.core.external.web.rsocket.dto.StoryEventResponse;
+import com.storywave.core.internal.core.domain.event.story.StoryEvent;
+import com.storywave.core.internal.core.domain.model.story.Story;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스토리 이벤트 한 건을 JSON 과 CBOR 로 인코딩/디코딩하는 비용(ns/op)을 비교한다.
+ * 이벤트당 바이트 수는 encodeEvent 의 보조 카운터(encodeEvent:bytes)로 결과 파일에 함께 남는다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class StoryCodecBenchmark {
+
+    private static final ResolvableType EVENT_TYPE = ResolvableType.forClass(StoryEventResponse.class);
+
+    @Param({"json", "cbor"})
+    String codec;
+
+    @Param({"delta", "snapshot"})
+    String event;
+
+    private final DataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private Encoder<Object> encoder;
+    private Decoder<Object> decoder;
+    private MimeType mimeType;
+    private StoryEventResponse payload;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        if ("cbor".equals(codec)) {
+            encoder = (Encoder<Object>) (Encoder<?>) new Jackson2CborEncoder();
+            decoder = (Decoder<Object>) (Decoder<?>) new Jackson2CborDecoder();
+            mimeType = MediaType.APPLICATION_CBOR;
+        } else {
+            encoder = (Encoder<Object>) (Encoder<?>) new Jackson2JsonEncoder();
+            decoder = (Decoder<Object>) (Decoder<?>) new Jackson2JsonDecoder();
+            mimeType = MediaType.APPLICATION_JSON;
+        }
+
+        Story story = playedStory();
+        StoryEvent storyEvent = "snapshot".equals(event)
+                ? StoryEvent.snapshot(StoryEvent.EventType.SNAPSHOT, story)
+                : StoryEvent.lineAdded(story, story.getLastLine());
+        payload = StoryPayloads.toEventResponse(storyEvent);
+
+        DataBuffer buffer = encode();
+        encoded = new byte[buffer.readableByteCount()];
+        buffer.read(encoded);
+        DataBufferUtils.release(buffer);
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class EncodedSize {
+
+        // 반복마다 0 으로 초기화되므로 더하지 않고 이벤트 한 건의 크기를 그대로 둔다
+        public long bytes;
+    }
+
+    @Benchmark
+    public int encodeEvent(final EncodedSize encodedSize) {
+        DataBuffer buffer = encode();
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        encodedSize.bytes = size;
+        return size;
+    }
+
+    @Benchmark
+    public Object decodeEvent() {
+        return decoder.decode(DefaultDataBufferFactory.sharedInstance.wrap(encoded), EVENT_TYPE, mimeType, Collections.emptyMap());
+    }
+
+    private DataBuffer encode() {
+        return encoder.encodeValue(payload, bufferFactory, EVENT_TYPE, mimeType, Collections.emptyMap());
+    }
+
+    /**
+     * 4명이 두 라운드를 채운 스토리
+     */
+    private static Story playedStory() {
+        List<String> players = List.of("guest-3f2a9c1e", "guest-7b41d0aa", "guest-c09e5512", "guest-e8d3b7f4");
+        Story story = new Story("room-5d1c2b7e-0a44-4f7b-9a8e-2c6f1d3b8e90", players,
+                "옛날 옛적 깊은 산속에 작은 마을이 있었습니다.", 3);
+        String[] contents = {
+                "마을에는 이상한 소문이", "밤마다 종소리가 울렸고", "아무도 종을 본 적이", "없다는 것이었다",
+                "어느 날 한 소년이", "종소리를 따라 숲으로", "들어가기로 결심했다", "그날 밤 달은 붉었다"
+        };
+        for (String content : contents) {
+            story.addLine(story.getCurrentPlayerId(), content);
+        }
+        return story;
+    }
+}
@@ -0,0 +1,53 @@
+package com.storywave.core.external.web.rsocket;
+
+import com.storywave.core.external.web.rsocket.dto.StoryEventResponse;
+import com.storywave.core.external.web.rsocket.dto.StorySnapshotResponse;
+import com.storywave.core.internal.core.domain.event.story.StoryEvent;
+import com.storywave.core.internal.core.domain.model.story.Story;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스토리 응답 DTO 변환 비용 (이전 convertStoryToMap 경로).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class StoryPayloadsBenchmark {
+
+    @Param({"3", "30"})
+    int maxRound;
+
+    private Story story;
+    private StoryEvent lineAdded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        story = new Story("room-benchmark", List.of("guest-1", "guest-2", "guest-3", "guest-4"),
+                "옛날 옛적 깊은 산속에 작은 마을이 있었습니다.", maxRound);
+        while (!story.isCompleted()) {
+            story.addLine(story.getCurrentPlayerId(), "종소리를 따라 숲으로");
+        }
+        lineAdded = StoryEvent.lineAdded(story, story.getLastLine());
+    }
+
+    @Benchmark
+    public StorySnapshotResponse toSnapshotResponse() {
+        return StoryPayloads.toSnapshotResponse(story);
+    }
+
+    @Benchmark
+    public StoryEventResponse toDeltaEventResponse() {
+        return StoryPayloads.toEventResponse(lineAdded);
+    }
+}
@@ -0,0 +1,77 @@
+package com.storywave.core.internal.common.execution;
+
+import com.storywave.core.internal.core.domain.component.cluster.ClusterMessageBus;
+import com.storywave.core.internal.core.domain.component.cluster.ClusterNode;
+import com.storywave.core.internal.core.domain.component.cluster.RoomOwnership;
+import com.storywave.core.internal.core.domain.component.room.ClusterMatchmakingQueue;
+import com.storywave.core.internal.core.domain.component.room.GameRoomManager;
+import com.storywave.core.internal.core.domain.component.room.WaitingQueueManager;
+import com.storywave.core.internal.data.redis.RedisWriteBehindQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실행 방식별 요청 지연 시간 분포. 요청 스레드 16개가 동시에 대기열 진입과 방 생성을 호출한다.
+ * IMMEDIATE 는 스레드 전환이 없는 기준선이고, 나머지는 전환 비용과 경합 완화의 차이를 본다.
+ * Redis 미러링은 끄고 메모리 경로만 측정한다.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+    @Param({"immediate", "bounded-elastic", "virtual-threads"})
+    String mode;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private DomainScheduler domainScheduler;
+    private GameRoomManager gameRoomManager;
+    private WaitingQueueManager waitingQueueManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedisWriteBehindQueue unusedQueue = new RedisWriteBehindQueue(null, meterRegistry, 1, 1, 1_000, 0);
+        ClusterNode standalone = new ClusterNode(false, "benchmark");
+        domainScheduler = new DomainScheduler(mode, 0);
+        gameRoomManager = new GameRoomManager(unusedQueue, standalone,
+                new ClusterMessageBus(null, standalone, 1_000), new RoomOwnership(null, standalone, 30),
+                domainScheduler, null, false, 256);
+        waitingQueueManager = new WaitingQueueManager(gameRoomManager,
+                new ClusterMatchmakingQueue(null, standalone, 4), unusedQueue, meterRegistry,
+                domainScheduler, null, 4, 4, 50, 10, 20, 30, 15, 10, 1_000, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        domainScheduler.shutdown();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Boolean addUser() {
+        return waitingQueueManager.addUser("user-" + sequence.incrementAndGet()).block();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Object createRoom() {
+        long id = sequence.incrementAndGet();
+        return gameRoomManager.createRoom(Set.of("a-" + id, "b-" + id, "c-" + id, "d-" + id)).block();
+    }
+}
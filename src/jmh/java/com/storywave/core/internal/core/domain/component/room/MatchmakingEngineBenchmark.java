@@ -0,0 +1,148 @@
+package com.storywave.core.internal.core.domain.component.room;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 10k 이상 사용자가 한꺼번에 대기열에 들어올 때 초당 생성되는 방 수(rooms)를 측정한다.
+ * heterogeneousArrival 은 언어, 라운드 수, RTT 가 제각각인 사용자로 버킷이 많이 생기는 경우다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MatchmakingEngineBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class EngineState {
+
+        @Param({"10000", "100000"})
+        int queuedUsers;
+
+        @Param({"4"})
+        int roomSize;
+
+        final AtomicLong roomsFormed = new AtomicLong();
+        MatchmakingEngine engine;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            engine = new MatchmakingEngine(roomSize, rooms -> roomsFormed.addAndGet(rooms.size()));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BucketedEngineState {
+
+        private static final String[] LOCALES = {"ko", "en", "ja", "zh", "es", "fr", "de", "pt"};
+
+        @Param({"100000"})
+        int queuedUsers;
+
+        final AtomicLong roomsFormed = new AtomicLong();
+        MatchmakingEngine engine;
+        String[] userIds;
+        MatchProfile[] profiles;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // 완화 시점은 측정 중에 오지 않게 길게 두고, 버킷 색인 비용만 본다
+            Duration later = Duration.ofHours(1);
+            engine = new MatchmakingEngine(
+                    new MatchmakingEngine.Rules(3, 6, 50, later, later, later, later),
+                    System::nanoTime,
+                    rooms -> roomsFormed.addAndGet(rooms.size()));
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            userIds = new String[queuedUsers];
+            profiles = new MatchProfile[queuedUsers];
+            for (int i = 0; i < queuedUsers; i++) {
+                userIds[i] = "user-" + i;
+                profiles[i] = new MatchProfile(LOCALES[random.nextInt(LOCALES.length)], 3 + random.nextInt(3), random.nextInt(400));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Arrivals {
+
+        private static final AtomicLong THREAD_SEQUENCE = new AtomicLong();
+
+        String[] userIds;
+
+        @Setup(Level.Trial)
+        public void setUp(final EngineState state) {
+            long thread = THREAD_SEQUENCE.incrementAndGet();
+            userIds = new String[state.queuedUsers];
+            for (int i = 0; i < userIds.length; i++) {
+                userIds[i] = "user-" + thread + "-" + i;
+            }
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Matches {
+
+        public long rooms;
+    }
+
+    @Benchmark
+    public void burstArrival(final EngineState state, final Arrivals arrivals, final Matches matches) {
+        long before = state.roomsFormed.get();
+        for (String userId : arrivals.userIds) {
+            state.engine.offer(userId);
+        }
+        matches.rooms += state.roomsFormed.get() - before;
+    }
+
+    @Benchmark
+    public void burstArrivalWithCancellation(final EngineState state, final Arrivals arrivals, final Matches matches) {
+        long before = state.roomsFormed.get();
+        String[] userIds = arrivals.userIds;
+        for (int i = 0; i < userIds.length; i++) {
+            state.engine.offer(userIds[i]);
+            if (i % 10 == 9) {
+                state.engine.cancel(userIds[i - 1]);
+            }
+        }
+        matches.rooms += state.roomsFormed.get() - before;
+    }
+
+    @Benchmark
+    public void heterogeneousArrival(final BucketedEngineState state, final Matches matches) {
+        long before = state.roomsFormed.get();
+        String[] userIds = state.userIds;
+        MatchProfile[] profiles = state.profiles;
+        for (int i = 0; i < userIds.length; i++) {
+            state.engine.offer(userIds[i], profiles[i]);
+        }
+        // 다음 호출에서 같은 사용자가 다시 들어올 수 있도록 남은 사용자를 비운다
+        for (String userId : userIds) {
+            state.engine.cancel(userId);
+        }
+        matches.rooms += state.roomsFormed.get() - before;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void contendedArrival(final EngineState state, final Arrivals arrivals, final Matches matches) {
+        long before = state.roomsFormed.get();
+        for (String userId : arrivals.userIds) {
+            state.engine.offer(userId);
+        }
+        // 다른 스레드가 만든 방도 함께 집계되므로 스레드 수로 나눈 근사치
+        matches.rooms += (state.roomsFormed.get() - before) / 4;
+    }
+}
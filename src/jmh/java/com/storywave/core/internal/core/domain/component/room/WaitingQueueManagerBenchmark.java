@@ -0,0 +1,70 @@
+package com.storywave.core.internal.core.domain.component.room;
+
+import com.storywave.core.internal.common.execution.DomainScheduler;
+import com.storywave.core.internal.core.domain.component.cluster.ClusterMessageBus;
+import com.storywave.core.internal.core.domain.component.cluster.ClusterNode;
+import com.storywave.core.internal.core.domain.component.cluster.RoomOwnership;
+import com.storywave.core.internal.data.redis.RedisWriteBehindQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 여러 요청 스레드가 동시에 WaitingQueueManager.addUser/removeUser 를 호출할 때의 처리량.
+ * Redis 미러링은 끄고 메모리 경로만 측정한다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class WaitingQueueManagerBenchmark {
+
+    /**
+     * 4 는 매칭과 방 생성까지 포함, 1000000 은 대기열 변경만 측정한다.
+     */
+    @Param({"4", "1000000"})
+    int requiredUsers;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private WaitingQueueManager waitingQueueManager;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedisWriteBehindQueue unusedQueue = new RedisWriteBehindQueue(null, meterRegistry, 1, 1, 1_000, 0);
+        ClusterNode standalone = new ClusterNode(false, "benchmark");
+        DomainScheduler immediate = new DomainScheduler("immediate", 0);
+        // Redis 를 끄면 RedisAvailability 는 보지 않는다
+        GameRoomManager gameRoomManager = new GameRoomManager(unusedQueue, standalone,
+                new ClusterMessageBus(null, standalone, 1_000), new RoomOwnership(null, standalone, 30),
+                immediate, null, false, 256);
+        waitingQueueManager = new WaitingQueueManager(gameRoomManager,
+                new ClusterMatchmakingQueue(null, standalone, requiredUsers), unusedQueue, meterRegistry,
+                immediate, null, requiredUsers, requiredUsers, 50, 10, 20, 30, 15, 10, 1_000, false);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Boolean addUser() {
+        return waitingQueueManager.addUser("user-" + sequence.incrementAndGet()).block();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Boolean addThenRemoveUser() {
+        String userId = "user-" + sequence.incrementAndGet();
+        waitingQueueManager.addUser(userId).block();
+        return waitingQueueManager.removeUser(userId).block();
+    }
+}
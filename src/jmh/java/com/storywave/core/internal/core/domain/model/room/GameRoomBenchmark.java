@@ -0,0 +1,48 @@
+package com.storywave.core.internal.core.domain.model.room;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방 이벤트마다 대기 중인 SSE 구독자가 호출하는 GameRoom.getUserIds 비용.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class GameRoomBenchmark {
+
+    @Param({"4", "8"})
+    int roomSize;
+
+    private GameRoom room;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Set<String> userIds = new HashSet<>();
+        for (int i = 0; i < roomSize; i++) {
+            userIds.add("guest-" + i);
+        }
+        room = new GameRoom(userIds);
+    }
+
+    @Benchmark
+    public Set<String> getUserIds() {
+        return room.getUserIds();
+    }
+
+    @Benchmark
+    public boolean containsUser() {
+        return room.getUserIds().contains("guest-0");
+    }
+}
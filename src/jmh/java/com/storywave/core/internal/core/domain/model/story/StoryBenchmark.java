@@ -0,0 +1,67 @@
+package com.storywave.core.internal.core.domain.model.story;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Story 의 쓰기(addLine)와 방송 경로에서 호출되는 읽기(getLines, getPlayerIds, getStoryByRounds) 비용.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class StoryBenchmark {
+
+    private static final List<String> PLAYERS = List.of("guest-1", "guest-2", "guest-3", "guest-4", "simulation-user");
+    private static final String PROMPT = "옛날 옛적 깊은 산속에 작은 마을이 있었습니다.";
+
+    @Param({"3", "30"})
+    int maxRound;
+
+    private Story story;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        story = playedStory(maxRound);
+    }
+
+    /**
+     * 한 게임 전체(플레이어 수 x 라운드 만큼의 addLine)
+     */
+    @Benchmark
+    public Story playFullStory() {
+        return playedStory(maxRound);
+    }
+
+    @Benchmark
+    public List<Story.StoryLine> getLines() {
+        return story.getLines();
+    }
+
+    @Benchmark
+    public List<String> getPlayerIds() {
+        return story.getPlayerIds();
+    }
+
+    @Benchmark
+    public List<String> getStoryByRounds() {
+        return story.getStoryByRounds();
+    }
+
+    private static Story playedStory(final int maxRound) {
+        Story story = new Story("room-benchmark", PLAYERS, PROMPT, maxRound);
+        while (!story.isCompleted()) {
+            story.addLine(story.getCurrentPlayerId(), "종소리를 따라 숲으로");
+        }
+        return story;
+    }
+}
@@ -0,0 +1,98 @@
+package com.storywave.core.internal.data.journal;
+
+import com.storywave.core.internal.core.domain.model.story.Story;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 저널 기록 처리량. 스레드마다 스토리 하나를 끝까지 진행하며 라인마다 기록하고 디스크 반영까지 기다린다.
+ * fsync 를 켜면 동시에 기다리는 기록이 한 번의 fsync 로 묶이므로 스레드 수가 늘수록 기록당 비용이 준다.
+ * 반복마다 새 디렉터리에서 시작하고 끝나면 지운다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class StoryJournalAppendBenchmark {
+
+    private static final List<String> PLAYERS = List.of("guest-1", "guest-2", "guest-3", "guest-4");
+
+    @Param({"true", "false"})
+    boolean fsync;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private Path directory;
+    private StoryJournal journal;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("story-journal-bench");
+        journal = new StoryJournal(false, true, directory.toString(), 65_536, fsync, 1, 3_600, 7);
+        journal.open();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        journal.close();
+        deleteRecursively(directory);
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+
+        Story story;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object appendLineSingleWriter(final Writer writer) {
+        return appendLine(writer);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Object appendLineConcurrentWriters(final Writer writer) {
+        return appendLine(writer);
+    }
+
+    /**
+     * 스토리가 끝나면(완료 레코드) 다음 스토리를 만든다(생성 레코드).
+     */
+    private Object appendLine(final Writer writer) {
+        if (writer.story == null || writer.story.isCompleted()) {
+            writer.story = new Story("room-" + sequence.incrementAndGet(), PLAYERS, "옛날 옛적에", 3);
+            return journal.appendCreated(writer.story).block();
+        }
+        writer.story.addLine(writer.story.getCurrentPlayerId(), "한 줄씩 이어 쓰기");
+        return journal.appendLine(writer.story, writer.story.getLastLine()).block();
+    }
+
+    static void deleteRecursively(final Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.storywave.core.internal.data.journal;
+
+import com.storywave.core.internal.core.domain.model.story.Story;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 시 저널 재생 시간. 진행 중인 스토리(생성 레코드와 라인 레코드 8개)와
+ * 완료된 스토리(완료 레코드 하나)가 절반씩 기록된 디렉터리를 매번 처음부터 재생한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class StoryJournalRecoveryBenchmark {
+
+    private static final List<String> PLAYERS = List.of("guest-1", "guest-2", "guest-3", "guest-4");
+
+    @Param({"1000", "10000", "100000"})
+    int stories;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("story-journal-recovery");
+        StoryJournal journal = open();
+        for (int i = 0; i < stories; i++) {
+            Story story = new Story("room-" + i, PLAYERS, "옛날 옛적에", 3);
+            journal.appendCreated(story);
+            int lines = i % 2 == 0 ? 8 : PLAYERS.size() * 3;
+            for (int j = 0; j < lines; j++) {
+                story.addLine(story.getCurrentPlayerId(), "한 줄씩 이어 쓰기");
+                journal.appendLine(story, story.getLastLine());
+            }
+        }
+        journal.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        StoryJournalAppendBenchmark.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public int recover() {
+        StoryJournal journal = open();
+        try {
+            return journal.takeRecovered().size();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private StoryJournal open() {
+        // 재생만 재므로 fsync 와 정리 주기는 끈다
+        StoryJournal journal = new StoryJournal(false, true, directory.toString(), 65_536, false, 0, 3_600, 7);
+        journal.open();
+        return journal;
+    }
+}
@@ -1,8 +1,13 @@
 package com.storywave.core.config;
 
+import io.netty.buffer.PooledByteBufAllocator;
 import io.rsocket.core.Resume;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
 import org.springframework.http.codec.json.Jackson2JsonDecoder;
 import org.springframework.http.codec.json.Jackson2JsonEncoder;
 import org.springframework.messaging.rsocket.RSocketStrategies;
@@ -18,6 +23,8 @@ public class RSocketConfig {
     public RSocketMessageHandler rsocketMessageHandler(RSocketStrategies strategies) {
         RSocketMessageHandler handler = new RSocketMessageHandler();
         handler.setRSocketStrategies(strategies);
+        // SETUP 프레임에 데이터 MIME 타입이 없으면 JSON 을 사용한다
+        handler.setDefaultDataMimeType(MediaType.APPLICATION_JSON);
         return handler;
     }
 
@@ -29,10 +36,24 @@ public class RSocketConfig {
         Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
         decoder.setMaxInMemorySize(1024 * 1024); // 1MB
 
+        // SETUP 에서 application/cbor 를 선택한 클라이언트용 바이너리 코덱
+        Jackson2CborEncoder cborEncoder = new Jackson2CborEncoder();
+
+        Jackson2CborDecoder cborDecoder = new Jackson2CborDecoder();
+        cborDecoder.setMaxInMemorySize(1024 * 1024); // 1MB
+
         return RSocketStrategies.builder()
+                // 브로드캐스트 프레임을 참조 카운트로 공유하기 위해 풀링된 Netty 버퍼 사용
+                .dataBufferFactory(new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT))
                 .routeMatcher(new PathPatternRouteMatcher())
-                .encoders(encoders -> encoders.add(encoder))
-                .decoders(decoders -> decoders.add(decoder))
+                .encoders(encoders -> {
+                    encoders.add(encoder);
+                    encoders.add(cborEncoder);
+                })
+                .decoders(decoders -> {
+                    decoders.add(decoder);
+                    decoders.add(cborDecoder);
+                })
                 .build();
     }
 
@@ -0,0 +1,119 @@
+package com.storywave.core.config;
+
+import com.storywave.core.external.web.rsocket.RSocketConnectionRegistry;
+import com.storywave.core.internal.common.auth.GuestSessionCache;
+import com.storywave.core.internal.core.domain.component.cluster.RoomOwnership;
+import com.storywave.core.internal.core.domain.component.lifecycle.LifecycleSweeper;
+import com.storywave.core.internal.core.domain.component.room.WaitingQueueManager;
+import com.storywave.core.internal.core.domain.component.story.StoryManager;
+import com.storywave.core.internal.core.domain.component.story.TurnDeadlineScheduler;
+import com.storywave.core.internal.data.archive.StoryArchive;
+import com.storywave.core.internal.data.journal.StoryJournal;
+import com.storywave.core.internal.data.redis.RedisWriteBehindQueue;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 각 컴포넌트가 이미 세고 있는 값을 게이지와 누적 카운터로 노출한다.
+ * 값은 수집(scrape) 시점에만 읽으므로 요청 처리 경로에는 비용이 없다.
+ * 지연 시간 분포처럼 요청마다 기록해야 하는 지표는 각 컴포넌트가 직접 등록한다.
+ */
+@Component
+public class StoryWaveMeterBinder implements MeterBinder {
+
+    private final WaitingQueueManager waitingQueueManager;
+    private final StoryManager storyManager;
+    private final TurnDeadlineScheduler turnDeadlineScheduler;
+    private final LifecycleSweeper lifecycleSweeper;
+    private final RedisWriteBehindQueue redisWriteBehindQueue;
+    private final RSocketConnectionRegistry connectionRegistry;
+    private final GuestSessionCache guestSessionCache;
+    private final RoomOwnership roomOwnership;
+    private final StoryArchive storyArchive;
+    private final StoryJournal storyJournal;
+
+    public StoryWaveMeterBinder(
+            final WaitingQueueManager waitingQueueManager,
+            final StoryManager storyManager,
+            final TurnDeadlineScheduler turnDeadlineScheduler,
+            final LifecycleSweeper lifecycleSweeper,
+            final RedisWriteBehindQueue redisWriteBehindQueue,
+            final RSocketConnectionRegistry connectionRegistry,
+            final GuestSessionCache guestSessionCache,
+            final RoomOwnership roomOwnership,
+            final StoryArchive storyArchive,
+            final StoryJournal storyJournal) {
+        this.waitingQueueManager = waitingQueueManager;
+        this.storyManager = storyManager;
+        this.turnDeadlineScheduler = turnDeadlineScheduler;
+        this.lifecycleSweeper = lifecycleSweeper;
+        this.redisWriteBehindQueue = redisWriteBehindQueue;
+        this.connectionRegistry = connectionRegistry;
+        this.guestSessionCache = guestSessionCache;
+        this.roomOwnership = roomOwnership;
+        this.storyArchive = storyArchive;
+        this.storyJournal = storyJournal;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        // 매칭과 방, 스토리
+        gauge(registry, "storywave.matchmaking.queue.depth", waitingQueueManager, WaitingQueueManager::getWaitingCount);
+        gauge(registry, "storywave.rooms.live", lifecycleSweeper, LifecycleSweeper::getLiveRoomCount);
+        gauge(registry, "storywave.stories.live", lifecycleSweeper, LifecycleSweeper::getLiveStoryCount);
+        gauge(registry, "storywave.story.turn.deadlines", turnDeadlineScheduler, TurnDeadlineScheduler::getPendingCount);
+        gauge(registry, "storywave.cluster.rooms.owned", roomOwnership, RoomOwnership::getOwnedRoomCount);
+        counter(registry, "storywave.rooms.archived", lifecycleSweeper, LifecycleSweeper::getArchivedRoomCount);
+        counter(registry, "storywave.stories.archived", lifecycleSweeper, LifecycleSweeper::getArchivedStoryCount);
+        counter(registry, "storywave.stories.rehydrated", lifecycleSweeper, LifecycleSweeper::getRehydratedStoryCount);
+
+        // 완료 스토리 보관소
+        gauge(registry, "storywave.story.archive.stories", storyArchive, StoryArchive::getStoryCount);
+        gauge(registry, "storywave.story.archive.bytes", storyArchive, StoryArchive::getUsedBytes);
+        counter(registry, "storywave.story.archive.archived", storyArchive, StoryArchive::getArchivedCount);
+        counter(registry, "storywave.story.archive.dropped", storyArchive, StoryArchive::getDroppedCount);
+
+        // 로컬 스토리 저널 (Redis 를 쓰지 않을 때만 값이 쌓임)
+        gauge(registry, "storywave.story.journal.segments", storyJournal, StoryJournal::getSegmentCount);
+        counter(registry, "storywave.story.journal.appended", storyJournal, StoryJournal::getAppendedCount);
+        counter(registry, "storywave.story.journal.syncs", storyJournal, StoryJournal::getSyncCount);
+        counter(registry, "storywave.story.journal.compacted", storyJournal, StoryJournal::getCompactedSegmentCount);
+
+        // 이벤트 구독자와 RSocket 연결
+        gauge(registry, "storywave.story.subscribers", storyManager, StoryManager::getEventSubscriberCount);
+        gauge(registry, "storywave.rsocket.connections", connectionRegistry, RSocketConnectionRegistry::getConnectionCount);
+        gauge(registry, "storywave.rsocket.room.groups", connectionRegistry, RSocketConnectionRegistry::getRoomGroupCount);
+        counter(registry, "storywave.rsocket.push.dropped", connectionRegistry, RSocketConnectionRegistry::getDroppedFrameCount);
+
+        // Redis 쓰기 지연 큐
+        gauge(registry, "storywave.redis.write-behind.pending", redisWriteBehindQueue, RedisWriteBehindQueue::getPendingCount);
+        counter(registry, "storywave.redis.write-behind.enqueued", redisWriteBehindQueue, RedisWriteBehindQueue::getEnqueuedCount);
+        counter(registry, "storywave.redis.write-behind.coalesced", redisWriteBehindQueue, RedisWriteBehindQueue::getCoalescedCount);
+        counter(registry, "storywave.redis.write-behind.flushed", redisWriteBehindQueue, RedisWriteBehindQueue::getFlushedCount);
+        counter(registry, "storywave.redis.write-behind.failed", redisWriteBehindQueue, RedisWriteBehindQueue::getFailedCount);
+        counter(registry, "storywave.redis.write-behind.overflow", redisWriteBehindQueue, RedisWriteBehindQueue::getOverflowCount);
+
+        // 게스트 세션 캐시
+        gauge(registry, "storywave.auth.session-cache.size", guestSessionCache, GuestSessionCache::estimatedSize);
+        FunctionCounter.builder("storywave.auth.session-cache.requests", guestSessionCache, cache -> cache.stats().hitCount())
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("storywave.auth.session-cache.requests", guestSessionCache, cache -> cache.stats().missCount())
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private static <T> void gauge(final MeterRegistry registry, final String name, final T source, final ToDoubleFunction<T> value) {
+        Gauge.builder(name, source, value).register(registry);
+    }
+
+    private static <T> void counter(final MeterRegistry registry, final String name, final T source, final ToDoubleFunction<T> value) {
+        FunctionCounter.builder(name, source, value).register(registry);
+    }
+}
@@ -0,0 +1,159 @@
+package com.storywave.core.external.web.rest.auth.rate;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 락 없이 CAS 로만 상태를 바꾸는 프로세스 내 속도 제한 엔진.
+ * <p>
+ * 토큰 버킷은 GCRA(다음 토큰이 생길 이론적 도착 시각 하나만 저장)로, 슬라이딩 윈도우 로그는 최근 maxRequests 개의
+ * 요청 시각을 담은 링 버퍼로 구현한다. 가득 찬 버킷이나 윈도우가 지난 로그는 {@link #sweep()} 에서 제거한다.
+ */
+final class LocalRateLimiterEngine implements RateLimiterEngine {
+
+    private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+    private final RateLimitStrategy strategy;
+    private final int maxRequests;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    LocalRateLimiterEngine(final RateLimitStrategy strategy, final int maxRequests, final Duration window) {
+        this(strategy, maxRequests, window, System::nanoTime);
+    }
+
+    LocalRateLimiterEngine(final RateLimitStrategy strategy, final int maxRequests, final Duration window,
+                           final LongSupplier clock) {
+        if (maxRequests <= 0) {
+            throw new IllegalArgumentException("maxRequests must be positive: " + maxRequests);
+        }
+        this.strategy = strategy;
+        this.maxRequests = maxRequests;
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<Boolean> tryAcquire(final String key) {
+        return Mono.fromCallable(() -> acquire(key));
+    }
+
+    boolean acquire(final String key) {
+        Limiter limiter = limiters.get(key);
+        if (limiter == null) {
+            limiter = limiters.computeIfAbsent(key, k -> newLimiter());
+        }
+        return limiter.tryAcquire(clock.getAsLong());
+    }
+
+    /**
+     * 다시 만들어도 같은 결과를 내는 항목(가득 찬 버킷, 윈도우가 모두 지난 로그)만 제거한다.
+     * 제거와 동시에 들어온 요청 한 건은 새 항목에 반영되지 않을 수 있다.
+     */
+    @Override
+    public void sweep() {
+        long now = clock.getAsLong();
+        limiters.entrySet().removeIf(entry -> entry.getValue().isIdle(now));
+    }
+
+    int size() {
+        return limiters.size();
+    }
+
+    private Limiter newLimiter() {
+        return strategy == RateLimitStrategy.TOKEN_BUCKET
+                ? new TokenBucket(windowNanos / maxRequests, windowNanos / maxRequests * maxRequests)
+                : new SlidingWindowLog(maxRequests, windowNanos, clock.getAsLong());
+    }
+
+    private interface Limiter {
+
+        boolean tryAcquire(long now);
+
+        boolean isIdle(long now);
+    }
+
+    /**
+     * GCRA 토큰 버킷. 토큰 한 개의 간격(emissionInterval)만큼 이론적 도착 시각을 미루고,
+     * 그 시각이 현재보다 버스트 허용치 이상 앞서면 거부한다.
+     */
+    private static final class TokenBucket implements Limiter {
+
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+        private final long emissionInterval;
+        private final long burstTolerance;
+
+        private TokenBucket(final long emissionInterval, final long burstTolerance) {
+            this.emissionInterval = emissionInterval;
+            this.burstTolerance = burstTolerance;
+        }
+
+        @Override
+        public boolean tryAcquire(final long now) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long base = (tat == Long.MIN_VALUE || tat - now < 0) ? now : tat;
+                long next = base + emissionInterval;
+                if (next - now > burstTolerance) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(tat, next)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public boolean isIdle(final long now) {
+            long tat = theoreticalArrival.get();
+            return tat == Long.MIN_VALUE || tat - now <= 0;
+        }
+    }
+
+    /**
+     * 최근 maxRequests 개의 허용 시각을 담은 링 버퍼. 다음에 덮어쓸 칸(가장 오래된 허용 시각)이
+     * 윈도우 안에 있으면 이미 윈도우 안에 maxRequests 개가 있다는 뜻이다.
+     */
+    private static final class SlidingWindowLog implements Limiter {
+
+        private final AtomicLongArray timestamps;
+        private final AtomicLong head = new AtomicLong();
+        private final long windowNanos;
+        private final long createdAt;
+
+        private SlidingWindowLog(final int maxRequests, final long windowNanos, final long createdAt) {
+            this.timestamps = new AtomicLongArray(maxRequests);
+            this.windowNanos = windowNanos;
+            this.createdAt = createdAt;
+        }
+
+        @Override
+        public boolean tryAcquire(final long now) {
+            int capacity = timestamps.length();
+            while (true) {
+                long index = head.get();
+                int slot = (int) (index % capacity);
+                // 링이 한 바퀴 돌기 전의 칸은 비어 있다
+                if (index >= capacity && now - timestamps.get(slot) < windowNanos) {
+                    return false;
+                }
+                if (head.compareAndSet(index, index + 1)) {
+                    timestamps.set(slot, now);
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public boolean isIdle(final long now) {
+            long index = head.get();
+            long newest = index == 0 ? createdAt : timestamps.get((int) ((index - 1) % timestamps.length()));
+            return now - newest >= windowNanos;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.storywave.core.external.web.rest.auth.rate;
+
+import java.util.Locale;
+
+/**
+ * 속도 제한 알고리즘
+ */
+public enum RateLimitStrategy {
+
+    /**
+     * 윈도우 길이 동안 maxRequests 개가 채워지는 토큰 버킷. 최대 maxRequests 개까지 한 번에 허용한다.
+     */
+    TOKEN_BUCKET,
+
+    /**
+     * 최근 윈도우 안의 요청 시각을 모두 기록하는 슬라이딩 윈도우 로그. 어느 구간에서도 maxRequests 를 넘지 않는다.
+     */
+    SLIDING_WINDOW_LOG;
+
+    /**
+     * {@code token-bucket}, {@code sliding-window-log} 형식의 설정 값을 읽는다.
+     */
+    public static RateLimitStrategy from(final String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,17 @@
+package com.storywave.core.external.web.rest.auth.rate;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 키 하나에 대해 요청 한 건을 허용할지 결정하는 속도 제한 엔진
+ */
+interface RateLimiterEngine {
+
+    Mono<Boolean> tryAcquire(String key);
+
+    /**
+     * 오래 사용되지 않은 로컬 상태를 정리한다.
+     */
+    default void sweep() {
+    }
+}
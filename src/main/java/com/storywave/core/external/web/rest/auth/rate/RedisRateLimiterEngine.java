@@ -0,0 +1,173 @@
+package com.storywave.core.external.web.rest.auth.rate;
+
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lua 스크립트 한 번(한 번의 왕복)으로 판정과 만료 설정을 원자적으로 처리하는 Redis 속도 제한 엔진.
+ * 시각은 Redis 서버의 TIME 을 사용하므로 여러 노드가 같은 키를 공유해도 시계 차이의 영향을 받지 않는다.
+ * <p>
+ * leaseSize 가 0 보다 크면, 한도에 여유가 충분한 클라이언트에게 요청 한 건과 함께 leaseSize 개를 미리 차감해
+ * 로컬 임대분으로 보관한다. 임대분이 남아 있는 동안의 요청은 Redis 를 거치지 않고 허용된다.
+ * 임대분은 이미 Redis 에서 차감되었으므로 한도를 넘기지 않으며, 임대 시간이 지나 쓰지 못한 분량은 버린다.
+ */
+final class RedisRateLimiterEngine implements RateLimiterEngine {
+
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local interval = tonumber(ARGV[2])
+            local lease = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil or ts == nil then
+                tokens = capacity
+                ts = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) / interval)
+            if tokens < 1 then
+                redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+                redis.call('PEXPIRE', KEYS[1], math.ceil((capacity - tokens) * interval))
+                return 0
+            end
+            local granted = 1
+            if lease > 0 and tokens - 1 >= lease * 2 then
+                granted = granted + lease
+            end
+            tokens = tokens - granted
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil((capacity - tokens) * interval))
+            return granted
+            """, Long.class);
+
+    private static final RedisScript<Long> SLIDING_WINDOW_LOG_SCRIPT = RedisScript.of("""
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local lease = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local prefix = time[1] .. '.' .. time[2] .. ':'
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            local count = redis.call('ZCARD', KEYS[1])
+            if count >= limit then
+                return 0
+            end
+            local granted = 1
+            if lease > 0 and limit - count - 1 >= lease * 2 then
+                granted = granted + lease
+            end
+            for i = 1, granted do
+                redis.call('ZADD', KEYS[1], now, prefix .. (count + i))
+            end
+            redis.call('PEXPIRE', KEYS[1], window)
+            return granted
+            """, Long.class);
+
+    private static final RedisElementWriter<String> ARGS_WRITER = RedisElementWriter.from(StringRedisSerializer.UTF_8);
+    private static final RedisElementReader<Long> RESULT_READER =
+            buffer -> Long.valueOf(StandardCharsets.UTF_8.decode(buffer).toString());
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final ReactiveRedisOperations<String, Object> redisOperations;
+    private final RedisScript<Long> script;
+    private final String keyPrefix;
+    private final List<String> args;
+    private final int leaseSize;
+    private final long leaseNanos;
+
+    RedisRateLimiterEngine(final ReactiveRedisOperations<String, Object> redisOperations,
+                           final RateLimitStrategy strategy,
+                           final int maxRequests,
+                           final Duration window,
+                           final int leaseSize,
+                           final Duration leaseDuration) {
+        this.redisOperations = redisOperations;
+        this.leaseSize = leaseSize;
+        this.leaseNanos = leaseDuration.toNanos();
+        if (strategy == RateLimitStrategy.TOKEN_BUCKET) {
+            // 토큰 하나가 채워지는 간격(ms)
+            double interval = (double) window.toMillis() / maxRequests;
+            this.script = TOKEN_BUCKET_SCRIPT;
+            this.keyPrefix = "rate:limit:tb:";
+            this.args = List.of(String.valueOf(maxRequests), String.valueOf(interval), String.valueOf(leaseSize));
+        } else {
+            this.script = SLIDING_WINDOW_LOG_SCRIPT;
+            this.keyPrefix = "rate:limit:swl:";
+            this.args = List.of(String.valueOf(maxRequests), String.valueOf(window.toMillis()), String.valueOf(leaseSize));
+        }
+    }
+
+    @Override
+    public Mono<Boolean> tryAcquire(final String key) {
+        if (leaseSize > 0 && tryLease(key)) {
+            return Mono.just(true);
+        }
+
+        return redisOperations.execute(script, List.of(keyPrefix + key), args, ARGS_WRITER, RESULT_READER)
+                .next()
+                .map(granted -> {
+                    if (granted > 1) {
+                        leases.put(key, new Lease((int) (granted - 1), System.nanoTime() + leaseNanos));
+                    }
+                    return granted > 0;
+                })
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    public void sweep() {
+        long now = System.nanoTime();
+        leases.values().removeIf(lease -> lease.isExpired(now));
+    }
+
+    private boolean tryLease(final String key) {
+        Lease lease = leases.get(key);
+        if (lease == null) {
+            return false;
+        }
+        if (lease.isExpired(System.nanoTime())) {
+            leases.remove(key, lease);
+            return false;
+        }
+        return lease.tryTake();
+    }
+
+    private static final class Lease {
+
+        private final AtomicInteger remaining;
+        private final long expiresAt;
+
+        private Lease(final int remaining, final long expiresAt) {
+            this.remaining = new AtomicInteger(remaining);
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean tryTake() {
+            int current;
+            do {
+                current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        private boolean isExpired(final long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
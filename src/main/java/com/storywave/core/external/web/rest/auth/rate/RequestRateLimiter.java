@@ -1,100 +1,93 @@
 package com.storywave.core.external.web.rest.auth.rate;
 
+import com.storywave.core.internal.data.redis.RedisAvailability;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.ReactiveRedisOperations;
 import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class RequestRateLimiter {
 
-    private final int maxRequestsPerIp;
-    private final Duration windowSize;
-    
-    
-    private final Map<String, RequestCount> requestCountMap = new ConcurrentHashMap<>();
-    
-    private final ReactiveRedisOperations<String, Object> redisOperations;
-    private final boolean useRedis;
-    
+    private static final Logger logger = LoggerFactory.getLogger(RequestRateLimiter.class);
+
+    // Redis 엔진은 설정으로 켜져 있을 때만 만든다. 기동 시 Redis 에 닿지 않으면 로컬 엔진으로 대신한다
+    private final RateLimiterEngine redisEngine;
+    private final RateLimiterEngine localEngine;
+    private final RedisAvailability redisAvailability;
+    private final Duration sweepInterval;
+    private final Counter allowed;
+    private final Counter denied;
+    private Disposable sweepTask;
+
     public RequestRateLimiter(
             final ReactiveRedisOperations<String, Object> redisOperations,
+            final MeterRegistry meterRegistry,
+            final RedisAvailability redisAvailability,
             @Value("${storywave.auth.use-redis:true}") final boolean useRedis,
             @Value("${storywave.auth.rate-limit.max-requests:10}") final int maxRequestsPerIp,
-            @Value("${storywave.auth.rate-limit.window-hours:1}") final int windowHours) {
-        this.redisOperations = redisOperations;
-        this.useRedis = useRedis;
-        this.maxRequestsPerIp = maxRequestsPerIp;
-        this.windowSize = Duration.ofHours(windowHours);
+            @Value("${storywave.auth.rate-limit.window-hours:1}") final int windowHours,
+            @Value("${storywave.auth.rate-limit.strategy:sliding-window-log}") final String strategy,
+            @Value("${storywave.auth.rate-limit.local-lease-size:0}") final int localLeaseSize,
+            @Value("${storywave.auth.rate-limit.local-lease-ms:1000}") final long localLeaseMillis,
+            @Value("${storywave.auth.rate-limit.sweep-interval-seconds:60}") final long sweepIntervalSeconds) {
+        RateLimitStrategy rateLimitStrategy = RateLimitStrategy.from(strategy);
+        Duration windowSize = Duration.ofHours(windowHours);
+        this.redisEngine = useRedis
+                ? new RedisRateLimiterEngine(redisOperations, rateLimitStrategy, maxRequestsPerIp, windowSize,
+                        localLeaseSize, Duration.ofMillis(localLeaseMillis))
+                : null;
+        this.localEngine = new LocalRateLimiterEngine(rateLimitStrategy, maxRequestsPerIp, windowSize);
+        this.redisAvailability = redisAvailability;
+        this.sweepInterval = Duration.ofSeconds(sweepIntervalSeconds);
+        this.allowed = Counter.builder("storywave.ratelimit.requests")
+                .tag("result", "allowed")
+                .tag("strategy", rateLimitStrategy.name().toLowerCase())
+                .register(meterRegistry);
+        this.denied = Counter.builder("storywave.ratelimit.requests")
+                .tag("result", "denied")
+                .tag("strategy", rateLimitStrategy.name().toLowerCase())
+                .register(meterRegistry);
     }
-    
-    public Mono<Boolean> isAllowed(final String ipAddress) {
-        if (useRedis) {
-            return checkRedisRateLimit(ipAddress);
-        } else {
-            return checkLocalRateLimit(ipAddress);
-        }
+
+    @PostConstruct
+    public void start() {
+        sweepTask = Flux.interval(sweepInterval)
+                .onBackpressureDrop()
+                .subscribe(
+                        tick -> {
+                            if (redisEngine != null) {
+                                redisEngine.sweep();
+                            }
+                            localEngine.sweep();
+                        },
+                        error -> logger.error("속도 제한 상태 정리 오류: {}", error.getMessage(), error)
+                );
     }
-    
-    private Mono<Boolean> checkRedisRateLimit(final String ipAddress) {
-        String key = "rate:limit:" + ipAddress;
-        
-        return redisOperations.opsForValue().increment(key, 1)
-            .flatMap(count -> {
-                if (count == 1) {
-                    
-                    return redisOperations.expire(key, windowSize)
-                        .thenReturn(true);
-                } else {
-                    return Mono.just(count <= maxRequestsPerIp);
-                }
-            });
+
+    @PreDestroy
+    public void stop() {
+        if (sweepTask != null) {
+            sweepTask.dispose();
+        }
     }
-    
-    private Mono<Boolean> checkLocalRateLimit(final String ipAddress) {
-        return Mono.fromCallable(() -> {
-            RequestCount count = requestCountMap.computeIfAbsent(ipAddress, ip -> new RequestCount(maxRequestsPerIp, windowSize));
-            
-            
-            if (count.isExpired()) {
-                count.reset();
-            }
-            
-            
-            return count.incrementAndCheck();
-        });
+
+    public Mono<Boolean> isAllowed(final String ipAddress) {
+        return engine().tryAcquire(ipAddress)
+                .doOnNext(result -> (result ? allowed : denied).increment());
     }
-    
-    
-    private static class RequestCount {
-        private final AtomicInteger count = new AtomicInteger(0);
-        private long expiryTimeMillis;
-        private final int maxRequests;
-        private final Duration windowSize;
-        
-        public RequestCount(int maxRequests, Duration windowSize) {
-            this.maxRequests = maxRequests;
-            this.windowSize = windowSize;
-            reset();
-        }
-        
-        public void reset() {
-            count.set(0);
-            expiryTimeMillis = System.currentTimeMillis() + windowSize.toMillis();
-        }
-        
-        public boolean isExpired() {
-            return System.currentTimeMillis() > expiryTimeMillis;
-        }
-        
-        public boolean incrementAndCheck() {
-            int currentCount = count.incrementAndGet();
-            return currentCount <= maxRequests;
-        }
+
+    private RateLimiterEngine engine() {
+        return redisEngine != null && redisAvailability.isAvailable() ? redisEngine : localEngine;
     }
-} 
\ No newline at end of file
+}
@@ -2,18 +2,23 @@ package com.storywave.core.external.web.rest.room;
 
 import com.storywave.core.internal.common.auth.AuthService;
 import com.storywave.core.internal.core.domain.component.room.GameRoomManager;
+import com.storywave.core.internal.core.domain.component.room.MatchProfile;
 import com.storywave.core.internal.core.domain.component.room.WaitingQueueManager;
 import com.storywave.core.internal.core.domain.event.room.RoomMatchingEvent;
 import com.storywave.core.internal.core.domain.model.room.GameRoom;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -25,6 +30,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @RestController
 @RequestMapping("/api/room")
@@ -32,22 +38,56 @@ class RoomMatchingSSEController {
 
     private static final Logger logger = LoggerFactory.getLogger(RoomMatchingSSEController.class);
 
+    // id 가 없어 클라이언트의 Last-Event-ID 를 바꾸지 않으므로 모든 연결이 같은 인스턴스를 쓴다
+    private static final ServerSentEvent<Object> KEEP_ALIVE_EVENT = ServerSentEvent.builder()
+            .event("KEEP_ALIVE")
+            .data("ping")
+            .build();
+
     private final WaitingQueueManager waitingQueueManager;
     private final GameRoomManager gameRoomManager;
     private final AuthService authService;
 
+    // 연결마다 타이머를 만들지 않고, 하나의 타이머를 모든 SSE 연결이 나눠 구독한다
+    private final Flux<ServerSentEvent<Object>> keepAlive;
+    private final Flux<Long> queueStatusTicks;
+    private final AtomicInteger openStreams = new AtomicInteger();
+
     RoomMatchingSSEController(
             final WaitingQueueManager waitingQueueManager,
             final GameRoomManager gameRoomManager,
-            final AuthService authService) {
+            final AuthService authService,
+            final MeterRegistry meterRegistry,
+            @Value("${storywave.sse.keep-alive-seconds:15}") final long keepAliveSeconds,
+            @Value("${storywave.sse.queue-status-interval-ms:2000}") final long queueStatusIntervalMs) {
         this.waitingQueueManager = waitingQueueManager;
         this.gameRoomManager = gameRoomManager;
         this.authService = authService;
+        this.keepAlive = Flux.interval(Duration.ofSeconds(keepAliveSeconds))
+                .map(tick -> KEEP_ALIVE_EVENT)
+                .share();
+        this.queueStatusTicks = Flux.interval(Duration.ofMillis(queueStatusIntervalMs))
+                .share();
+        Gauge.builder("storywave.sse.connections", openStreams, AtomicInteger::get)
+                .description("열려 있는 매칭 SSE 스트림 수")
+                .register(meterRegistry);
     }
 
+    /**
+     * 매칭 이벤트 스트림. 다시 연결하면서 Last-Event-ID 를 보낸 클라이언트가 아직 대기 중이면
+     * 대기열에 다시 넣지 않고 현재 대기 상태부터 이어서 보낸다.
+     * locale, maxRound, rttMs(클라이언트가 RSocket keepalive 로 잰 왕복 지연)는 매칭 조건이며 모두 생략할 수 있다.
+     */
     @GetMapping(path = "/subscribe/{userId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    Flux<ServerSentEvent<Object>> subscribe(@PathVariable final String userId) {
-        logger.info("[SSE] 구독 시작: userId={}", userId);
+    Flux<ServerSentEvent<Object>> subscribe(
+            @PathVariable final String userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) final String lastEventId,
+            @RequestParam(required = false) final String locale,
+            @RequestParam(required = false) final Integer maxRound,
+            @RequestParam(required = false) final Integer rttMs) {
+        MatchProfile profile = MatchProfile.of(locale, maxRound, rttMs);
+        boolean resumed = lastEventId != null && !lastEventId.isBlank();
+        logger.info("[SSE] 구독 시작: userId={}, lastEventId={}", userId, lastEventId);
         return authService.isValidGuestId(userId)
                 .flatMapMany(isValid -> {
                     if (!isValid) {
@@ -58,85 +98,81 @@ class RoomMatchingSSEController {
                     return gameRoomManager.getRoomByUserId(userId)
                             .filter(room -> room.isGameStarted()) // 게임이 시작된 방만 필터링
                             .flatMapMany(existingRoom -> {
-                                // 이미 게임이 진행 중인 방에 있으면 해당 방 이벤트만 전송
-                                ServerSentEvent<Object> matchedEvent = createMatchedEvent(existingRoom, userId);
-
-                                Flux<ServerSentEvent<Object>> keepAlive = Flux.interval(Duration.ofSeconds(15))
-                                        .map(i -> ServerSentEvent.builder()
-                                                .id(String.valueOf(i + 1))
-                                                .event("KEEP_ALIVE")
-                                                .data("ping")
-                                                .build());
-
+                                // 이미 게임이 진행 중인 방에 있으면 해당 방 이벤트만 전송 (재연결 전에 받았으면 생략)
+                                if (existingRoom.getId().equals(lastEventId)) {
+                                    return keepAlive.onBackpressureDrop();
+                                }
                                 return Flux.concat(
-                                        Flux.just(matchedEvent),
-                                        keepAlive
+                                        Flux.just(createMatchedEvent(existingRoom, userId)),
+                                        keepAlive.onBackpressureDrop()
                                 );
                             })
                             .switchIfEmpty(
                                     // 게임이 진행 중인 방이 없으면 대기열 처리
-                                    handleWaitingQueue(userId)
+                                    Flux.defer(() -> handleWaitingQueue(userId, profile, resumed))
                             );
-                });
+                })
+                .doOnSubscribe(subscription -> openStreams.incrementAndGet())
+                .doFinally(signal -> openStreams.decrementAndGet());
     }
 
-    private Flux<ServerSentEvent<Object>> handleWaitingQueue(String userId) {
+    private Flux<ServerSentEvent<Object>> handleWaitingQueue(final String userId, final MatchProfile profile, final boolean resumed) {
         logger.info("[SSE] 대기열 진입 시도: userId={}", userId);
-        return waitingQueueManager.addUser(userId)
+
+        // 방 생성 이벤트 (매칭 완료) - 대기열 추가 직후 매칭되어도 놓치지 않도록 먼저 구독
+        Flux<ServerSentEvent<Object>> roomEvents = gameRoomManager.getRoomEvents(userId)
+                .map(room -> createMatchedEvent(room, userId));
+
+        Flux<ServerSentEvent<Object>> waitingEvents = Mono.defer(() -> {
+                    if (resumed && waitingQueueManager.isWaiting(userId)) {
+                        // 재연결: 아직 대기 중이면 대기열에 다시 넣지 않고 이어서 보낸다
+                        logger.info("[SSE] 대기 스트림 재개: userId={}", userId);
+                        return Mono.just(false);
+                    }
+                    return waitingQueueManager.addUser(userId, profile);
+                })
                 .flatMapMany(added -> {
                     if (!added) {
                         logger.info("[SSE] 이미 대기열에 있음: userId={}", userId);
-                        return createWaitingEventStream(userId);
+                        return createWaitingEventStream(userId, resumed);
                     }
                     logger.info("[SSE] 대기열에 새로 추가됨: userId={}", userId);
-                    return createWaitingEventStream(userId);
+                    return createWaitingEventStream(userId, false);
                 });
-    }
-
-    private Flux<ServerSentEvent<Object>> createWaitingEventStream(String userId) {
-        // 초기 대기 이벤트
-        ServerSentEvent<Object> initialEvent = ServerSentEvent.builder()
-                .id("0")
-                .event("WAITING")
-                .data(new RoomMatchingEvent("WAITING", null, Collections.singleton(userId)))
-                .build();
 
-        // 대기열 상태 이벤트 (현재 대기 인원 정보 포함)
-        ServerSentEvent<Object> queueStatusEvent = ServerSentEvent.builder()
-                .id("queue-status")
-                .event("QUEUE_STATUS")
-                .data(Map.of(
-                        "queueSize", waitingQueueManager.getWaitingCount(),
-                        "userId", userId,
-                        "status", "WAITING",
-                        "requiredUsers", waitingQueueManager.getRequiredUsersForMatching(),
-                        "estimatedWaitTime", calculateEstimatedWaitTime(waitingQueueManager.getWaitingCount())
-                ))
-                .build();
+        return Flux.merge(roomEvents, waitingEvents);
+    }
 
-        // Keep-Alive 이벤트
-        Flux<ServerSentEvent<Object>> keepAlive = Flux.interval(Duration.ofSeconds(15))
-                .map(i -> ServerSentEvent.builder()
-                        .id(String.valueOf(i + 1))
-                        .event("KEEP_ALIVE")
-                        .data("ping")
+    private Flux<ServerSentEvent<Object>> createWaitingEventStream(final String userId, final boolean resumed) {
+        // 초기 대기 이벤트 (재개한 연결은 이미 받았으므로 생략)
+        Flux<ServerSentEvent<Object>> initialEvent = resumed
+                ? Flux.empty()
+                : Flux.just(ServerSentEvent.builder()
+                        .id("waiting")
+                        .event("WAITING")
+                        .data(new RoomMatchingEvent("WAITING", null, Collections.singleton(userId)))
                         .build());
 
-        // 방 생성 이벤트 (매칭 완료)
-        Flux<ServerSentEvent<Object>> roomEvents = gameRoomManager.getRoomEvents()
-                .filter(room -> room.getUserIds().contains(userId))
-                .map(room -> createMatchedEvent(room, userId));
+        // 대기열 상태는 공유 틱마다 O(1)로 다시 계산하고, 바뀐 경우에만 보낸다. 대기가 끝나면 멈춘다
+        Flux<ServerSentEvent<Object>> queueStatus = queueStatusTicks.onBackpressureDrop()
+                .startWith(0L)
+                .takeWhile(tick -> waitingQueueManager.isWaiting(userId))
+                .map(tick -> new QueueStatus(waitingQueueManager.getQueuePosition(userId), waitingQueueManager.getWaitingCount()))
+                .distinctUntilChanged()
+                .map(status -> createQueueStatusEvent(userId, status));
 
         return Flux.concat(
-                Flux.just(initialEvent),
-                Flux.just(queueStatusEvent),
-                roomEvents,
-                keepAlive
+                initialEvent,
+                Flux.merge(queueStatus, keepAlive.onBackpressureDrop())
         );
     }
 
     @PostMapping("/subscribe")
-    Mono<Boolean> addToWaitingQueue(@RequestParam final String userId) {
+    Mono<Boolean> addToWaitingQueue(
+            @RequestParam final String userId,
+            @RequestParam(required = false) final String locale,
+            @RequestParam(required = false) final Integer maxRound,
+            @RequestParam(required = false) final Integer rttMs) {
         return authService.isValidGuestId(userId)
                 .flatMap(isValid -> {
                     if (!isValid) {
@@ -151,7 +187,7 @@ class RoomMatchingSSEController {
                     return gameRoomManager.getRoomByUserId(userId)
                             .filter(room -> room.isGameStarted())
                             .map(room -> false) // 이미 게임 중이면 대기열에 추가하지 않음
-                            .switchIfEmpty(waitingQueueManager.addUser(userId));
+                            .switchIfEmpty(Mono.defer(() -> waitingQueueManager.addUser(userId, MatchProfile.of(locale, maxRound, rttMs))));
                 });
     }
 
@@ -166,16 +202,21 @@ class RoomMatchingSSEController {
                 .build();
     }
 
-    private ServerSentEvent<Object> createQueueStatusEvent(final String userId, final int position) {
+    private ServerSentEvent<Object> createQueueStatusEvent(final String userId, final QueueStatus status) {
+        // 순번을 알 수 없으면(클러스터 모드) 대기 인원으로 예상 시간을 계산한다
+        int position = status.position() > 0 ? status.position() : status.queueSize();
         Map<String, Object> statusData = new HashMap<>();
         statusData.put("userId", userId);
-        statusData.put("queuePosition", position);
-        statusData.put("queueSize", waitingQueueManager.getWaitingCount());
+        statusData.put("status", "WAITING");
+        if (status.position() > 0) {
+            statusData.put("queuePosition", status.position());
+        }
+        statusData.put("queueSize", status.queueSize());
         statusData.put("requiredUsers", waitingQueueManager.getRequiredUsersForMatching());
         statusData.put("estimatedWaitTime", calculateEstimatedWaitTime(position));
 
         return ServerSentEvent.builder()
-                .id("queue-" + position)
+                .id("queue-" + status.position())
                 .event("QUEUE_STATUS")
                 .data(statusData)
                 .build();
@@ -196,4 +237,7 @@ class RoomMatchingSSEController {
 
         return baseWaitTime + positionFactor + queueFactor;
     }
+
+    private record QueueStatus(int position, int queueSize) {
+    }
 }
\ No newline at end of file
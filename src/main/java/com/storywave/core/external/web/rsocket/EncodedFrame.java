@@ -0,0 +1,62 @@
+package com.storywave.core.external.web.rsocket;
+
+import io.netty.buffer.ByteBuf;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+
+/**
+ * 한 번만 인코딩된 스토리 이벤트 프레임.
+ * 구독자마다 {@link #retainedDuplicate()} 로 같은 메모리를 공유하는 사본을 받아 복사 없이 전송하고,
+ * 전송이 끝나면 RSocket 이 각 사본의 참조를 해제한다.
+ */
+public final class EncodedFrame {
+
+    private final long sequence;
+    private final DataBuffer buffer;
+    private final long createdNanos;
+
+    public EncodedFrame(final long sequence, final DataBuffer buffer) {
+        this(sequence, buffer, System.nanoTime());
+    }
+
+    /**
+     * @param createdNanos 원본 이벤트가 만들어진 시각(System.nanoTime). 전달 지연 측정에 쓴다
+     */
+    public EncodedFrame(final long sequence, final DataBuffer buffer, final long createdNanos) {
+        this.sequence = sequence;
+        this.buffer = buffer;
+        this.createdNanos = createdNanos;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getCreatedNanos() {
+        return createdNanos;
+    }
+
+    /**
+     * 프레임의 버퍼. 호출한 쪽이 이 프레임의 참조 소유권을 넘겨받는다.
+     */
+    public DataBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * 메모리를 공유하고 읽기 위치만 독립된 사본을 만들며 참조 카운트를 1 증가시킨다.
+     */
+    public EncodedFrame retainedDuplicate() {
+        if (buffer instanceof NettyDataBuffer nettyBuffer) {
+            ByteBuf duplicate = nettyBuffer.getNativeBuffer().retainedDuplicate();
+            return new EncodedFrame(sequence, nettyBuffer.factory().wrap(duplicate), createdNanos);
+        }
+        // 참조 카운트가 없는 버퍼는 공유할 수 없으므로 복사한다
+        return new EncodedFrame(sequence, buffer.factory().wrap(buffer.toByteBuffer()), createdNanos);
+    }
+
+    public void release() {
+        DataBufferUtils.release(buffer);
+    }
+}
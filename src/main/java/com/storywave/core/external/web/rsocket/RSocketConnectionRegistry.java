@@ -0,0 +1,297 @@
+package com.storywave.core.external.web.rsocket;
+
+import com.storywave.core.internal.core.domain.component.room.GameRoomManager;
+import com.storywave.core.internal.core.domain.model.room.GameRoom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자 연결(RSocketRequester)을 사용자와 방 기준으로 관리하고, 방의 스토리 이벤트를 연결마다 푸시한다.
+ * <p>
+ * 사용자가 방에 배정되면 그 연결이 방 그룹에 들어간다. 방 그룹(방과 데이터 MIME 타입 조합)마다 이미 인코딩된
+ * 프레임 스트림을 하나만 구독하고, 프레임이 오면 그룹의 모든 연결에 참조만 늘려 한 번에 나눠 준다.
+ * 연결마다 크기가 제한된 송신 큐를 두고 한 번에 한 프레임만 보내며, 느린 연결은 큐가 차면 오래된 프레임부터 버린다.
+ * 버려진 프레임은 클라이언트가 시퀀스 누락으로 감지해 {@code story.info.{storyId}} 로 다시 동기화한다.
+ * 연결이 닫히면 모든 색인에서 제거된다.
+ */
+@Component
+public class RSocketConnectionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RSocketConnectionRegistry.class);
+
+    static final String PUSH_ROUTE = "story.update";
+
+    private final Map<String, Connection> connectionsByUser = new ConcurrentHashMap<>();
+    private final Map<String, RoomGroup> roomGroups = new ConcurrentHashMap<>();
+    private final AtomicLong droppedFrameCount = new AtomicLong();
+
+    private final GameRoomManager gameRoomManager;
+    private final StoryFrameBroadcaster storyFrameBroadcaster;
+    private final boolean pushEnabled;
+    private final int queueSize;
+
+    public RSocketConnectionRegistry(
+            final GameRoomManager gameRoomManager,
+            final StoryFrameBroadcaster storyFrameBroadcaster,
+            @Value("${storywave.rsocket.push.enabled:true}") final boolean pushEnabled,
+            @Value("${storywave.rsocket.push.queue-size:64}") final int queueSize) {
+        this.gameRoomManager = gameRoomManager;
+        this.storyFrameBroadcaster = storyFrameBroadcaster;
+        this.pushEnabled = pushEnabled;
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * 사용자 연결을 등록한다. 같은 사용자의 이전 연결은 새 연결로 대체된다.
+     */
+    public void register(final String userId, final RSocketRequester requester) {
+        Connection connection = new Connection(userId, requester, queueSize);
+        Connection previous = connectionsByUser.put(userId, connection);
+        if (previous != null) {
+            unregister(previous);
+        }
+
+        requester.rsocket()
+                .onClose()
+                .doFinally(signal -> {
+                    connectionsByUser.remove(userId, connection);
+                    unregister(connection);
+                    logger.info("사용자 연결 종료: {}", userId);
+                })
+                .subscribe(
+                        null,
+                        error -> logger.error("RSocket 연결 오류: userId={}, {}", userId, error.getMessage())
+                );
+
+        if (pushEnabled) {
+            // 이미 배정된 방과 이후 배정되는 방에 연결을 넣는다.
+            // 조회와 구독 사이에 배정된 방을 놓치지 않도록 배정 이벤트를 먼저 구독하고, 양쪽에서 온 같은 방은 한 번만 넣는다
+            connection.subscriptions.add(Flux.merge(
+                            gameRoomManager.getRoomEvents(userId),
+                            Mono.defer(() -> gameRoomManager.getRoomByUserId(userId)))
+                    .distinct(GameRoom::getId)
+                    .subscribe(
+                            room -> joinRoom(connection, room.getId()),
+                            error -> logger.error("방 배정 구독 오류: userId={}, {}", userId, error.getMessage())
+                    ));
+        }
+        logger.info("사용자 연결 등록됨: {}", userId);
+    }
+
+    public RSocketRequester getRequester(final String userId) {
+        Connection connection = connectionsByUser.get(userId);
+        return connection != null ? connection.requester : null;
+    }
+
+    public List<String> getConnectedUsers() {
+        return new ArrayList<>(connectionsByUser.keySet());
+    }
+
+    public boolean isUserConnected(final String userId) {
+        return connectionsByUser.containsKey(userId);
+    }
+
+    /**
+     * 방에 들어가 있는 연결의 사용자 ID.
+     */
+    public List<String> getRoomUsers(final String roomId) {
+        List<String> userIds = new ArrayList<>();
+        for (RoomGroup group : roomGroups.values()) {
+            if (group.roomId.equals(roomId)) {
+                for (Connection connection : group.members) {
+                    userIds.add(connection.userId);
+                }
+            }
+        }
+        return userIds;
+    }
+
+    public int getConnectionCount() {
+        return connectionsByUser.size();
+    }
+
+    public int getRoomGroupCount() {
+        return roomGroups.size();
+    }
+
+    public long getDroppedFrameCount() {
+        return droppedFrameCount.get();
+    }
+
+    private void joinRoom(final Connection connection, final String roomId) {
+        if (connection.closed) {
+            return;
+        }
+        MimeType mimeType = connection.requester.dataMimeType();
+        String key = roomId + "|" + mimeType;
+        roomGroups.compute(key, (k, group) -> {
+            if (group == null) {
+                group = new RoomGroup(roomId);
+                RoomGroup created = group;
+                group.upstream = storyFrameBroadcaster.subscribe(roomId, mimeType)
+                        .subscribe(
+                                created::broadcast,
+                                error -> logger.error("방 푸시 오류: roomId={}, {}", roomId, error.getMessage()),
+                                // 스토리가 메모리에서 내려가면 그룹도 정리한다
+                                () -> roomGroups.remove(k, created)
+                        );
+            }
+            group.members.add(connection);
+            connection.roomKeys.add(k);
+            return group;
+        });
+    }
+
+    private void unregister(final Connection connection) {
+        connection.close();
+        for (String key : connection.roomKeys) {
+            roomGroups.computeIfPresent(key, (k, group) -> {
+                group.members.remove(connection);
+                if (!group.members.isEmpty()) {
+                    return group;
+                }
+                group.upstream.dispose();
+                return null;
+            });
+        }
+        connection.roomKeys.clear();
+    }
+
+    /**
+     * 방과 데이터 MIME 타입이 같은 연결들. 인코딩된 프레임 하나를 모든 연결이 참조로 공유한다.
+     */
+    private final class RoomGroup {
+
+        private final String roomId;
+        private final Set<Connection> members = ConcurrentHashMap.newKeySet();
+        private Disposable upstream;
+
+        private RoomGroup(final String roomId) {
+            this.roomId = roomId;
+        }
+
+        private void broadcast(final EncodedFrame frame) {
+            try {
+                for (Connection connection : members) {
+                    connection.offer(frame.retainedDuplicate());
+                }
+            } finally {
+                frame.release();
+            }
+        }
+    }
+
+    /**
+     * 연결 하나의 송신 큐. 한 번에 한 프레임만 보내고, 큐가 차면 가장 오래된 프레임을 버린다.
+     */
+    private final class Connection {
+
+        private final String userId;
+        private final RSocketRequester requester;
+        private final int capacity;
+        private final ArrayDeque<EncodedFrame> queue;
+        private final Set<String> roomKeys = ConcurrentHashMap.newKeySet();
+        private final Disposable.Composite subscriptions = Disposables.composite();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean sending;
+        private volatile boolean closed;
+
+        private Connection(final String userId, final RSocketRequester requester, final int capacity) {
+            this.userId = userId;
+            this.requester = requester;
+            this.capacity = capacity;
+            this.queue = new ArrayDeque<>(capacity);
+        }
+
+        private void offer(final EncodedFrame frame) {
+            EncodedFrame dropped = null;
+            synchronized (queue) {
+                if (closed) {
+                    dropped = frame;
+                } else {
+                    if (queue.size() == capacity) {
+                        dropped = queue.poll();
+                        droppedFrameCount.incrementAndGet();
+                        logger.debug("느린 연결의 프레임 폐기: userId={}", userId);
+                    }
+                    queue.offer(frame);
+                }
+            }
+            if (dropped != null) {
+                dropped.release();
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!sending) {
+                    EncodedFrame next;
+                    synchronized (queue) {
+                        next = queue.poll();
+                    }
+                    if (next == null) {
+                        break;
+                    }
+                    sending = true;
+                    send(next);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void send(final EncodedFrame frame) {
+            // 버퍼 소유권은 전송과 함께 RSocket 으로 넘어간다
+            storyFrameBroadcaster.recordDelivery(frame);
+            requester.route(PUSH_ROUTE)
+                    .data(frame.getBuffer())
+                    .send()
+                    .subscribe(
+                            null,
+                            error -> {
+                                logger.debug("푸시 전송 실패: userId={}, {}", userId, error.getMessage());
+                                sent();
+                            },
+                            this::sent
+                    );
+        }
+
+        private void sent() {
+            sending = false;
+            drain();
+        }
+
+        private void close() {
+            closed = true;
+            subscriptions.dispose();
+            List<EncodedFrame> pending;
+            synchronized (queue) {
+                pending = new ArrayList<>(queue);
+                queue.clear();
+            }
+            pending.forEach(EncodedFrame::release);
+        }
+    }
+}
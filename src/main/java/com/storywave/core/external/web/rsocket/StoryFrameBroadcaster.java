@@ -0,0 +1,106 @@
+package com.storywave.core.external.web.rsocket;
+
+import com.storywave.core.internal.core.domain.component.event.KeyedEventRouter;
+import com.storywave.core.internal.core.domain.component.story.StoryManager;
+import com.storywave.core.internal.core.domain.event.story.StoryEvent;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방의 스토리 이벤트를 데이터 MIME 타입별로 한 번만 인코딩해 모든 구독자에게 공유한다.
+ * 방과 MIME 타입 조합의 첫 구독자가 들어올 때 도메인 이벤트를 구독하고, 마지막 구독자가 떠나면 해제한다.
+ */
+@Component
+public class StoryFrameBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoryFrameBroadcaster.class);
+
+    private final StoryManager storyManager;
+    private final StoryPayloadEncoder payloadEncoder;
+    private final KeyedEventRouter<EncodedFrame> frameRouter;
+    private final Map<String, Disposable> upstreams = new ConcurrentHashMap<>();
+    private final DistributionSummary fanOut;
+    private final Timer deliveryLag;
+
+    public StoryFrameBroadcaster(
+            final StoryManager storyManager,
+            final StoryPayloadEncoder payloadEncoder,
+            final MeterRegistry meterRegistry,
+            @Value("${storywave.event.subscriber-buffer-size:256}") final int subscriberBufferSize) {
+        this.storyManager = storyManager;
+        this.payloadEncoder = payloadEncoder;
+        this.fanOut = DistributionSummary.builder("storywave.story.fanout")
+                .description("인코딩한 프레임 하나를 나눠 받은 구독자 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("storywave.story.delivery.lag")
+                .description("스토리 이벤트 발생부터 전송 계층에 넘기기까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.frameRouter = new KeyedEventRouter<>(
+                subscriberBufferSize,
+                EncodedFrame.class,
+                EncodedFrame::retainedDuplicate,
+                EncodedFrame::release);
+    }
+
+    /**
+     * 구독자 전용 프레임 사본 스트림. 받은 프레임은 전송하거나 {@link EncodedFrame#release()} 해야 한다.
+     */
+    public Flux<EncodedFrame> subscribe(final String roomId, final MimeType mimeType) {
+        String key = roomId + "|" + mimeType;
+        return frameRouter.subscribe(key)
+                .doOnSubscribe(subscription -> upstreams.computeIfAbsent(key, k -> connect(k, roomId, mimeType)))
+                .doFinally(signal -> upstreams.computeIfPresent(key, (k, upstream) -> {
+                    if (frameRouter.hasSubscribers(k)) {
+                        return upstream;
+                    }
+                    upstream.dispose();
+                    return null;
+                }));
+    }
+
+    private Disposable connect(final String key, final String roomId, final MimeType mimeType) {
+        return storyManager.getStoryEvents(roomId)
+                .subscribe(
+                        event -> publish(key, event, mimeType),
+                        error -> logger.error("스토리 프레임 브로드캐스트 오류: roomId={}, {}", roomId, error.getMessage()),
+                        // 스토리가 메모리에서 내려가면 구독자 스트림도 끝낸다
+                        () -> frameRouter.complete(key)
+                );
+    }
+
+    /**
+     * 프레임을 전송 계층에 넘기는 시점에 호출해 이벤트 발생 이후의 지연을 기록한다.
+     */
+    public void recordDelivery(final EncodedFrame frame) {
+        deliveryLag.record(System.nanoTime() - frame.getCreatedNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void publish(final String key, final StoryEvent event, final MimeType mimeType) {
+        EncodedFrame frame = new EncodedFrame(
+                event.getSequence(),
+                payloadEncoder.encode(StoryPayloads.toEventResponse(event), mimeType),
+                event.getCreatedNanos());
+        fanOut.record(frameRouter.getSubscriberCount(key));
+        try {
+            frameRouter.publish(key, frame);
+        } finally {
+            // 구독자들은 각자 사본의 참조를 가지므로 원본 참조는 바로 해제한다
+            frame.release();
+        }
+    }
+}
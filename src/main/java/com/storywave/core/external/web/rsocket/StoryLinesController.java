@@ -1,7 +1,10 @@
 package com.storywave.core.external.web.rsocket;
 
+import com.storywave.core.external.web.rsocket.dto.StoryLinesPageRequest;
+import com.storywave.core.external.web.rsocket.dto.StoryLinesPageResponse;
 import com.storywave.core.internal.core.domain.component.story.StoryManager;
 import com.storywave.core.internal.core.domain.model.story.Story;
+import com.storywave.core.internal.data.archive.ArchivedStory;
 
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -9,10 +12,7 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Controller;
 import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 @Controller
 public class StoryLinesController {
@@ -24,20 +24,20 @@ public class StoryLinesController {
     }
 
     @MessageMapping("story.lines.{storyId}")
-    public Mono<Map<String, Object>> getStoryLines(
+    public Mono<Object> getStoryLines(
             @DestinationVariable final String storyId,
-            @Payload(required = false) final Map<String, Object> payload) {
+            @Payload(required = false) final StoryLinesPageRequest request) {
 
         int offset = 0;
         int limit = 20;
 
-        if (payload != null) {
-            if (payload.containsKey("offset") && payload.get("offset") instanceof Number) {
-                offset = ((Number) payload.get("offset")).intValue();
+        if (request != null) {
+            if (request.offset() != null) {
+                offset = Math.max(request.offset(), 0);
             }
 
-            if (payload.containsKey("limit") && payload.get("limit") instanceof Number) {
-                limit = ((Number) payload.get("limit")).intValue();
+            if (request.limit() != null) {
+                limit = request.limit();
                 // 너무 많은 데이터를 요청하지 않도록 제한
                 if (limit > 50) limit = 50;
             }
@@ -46,42 +46,32 @@ public class StoryLinesController {
         final int finalOffset = offset;
         final int finalLimit = limit;
 
-        return storyManager.getStoryById(storyId)
-                .map(story -> {
-                    Map<String, Object> response = new HashMap<>();
-                    List<Story.StoryLine> allLines = story.getLines();
-
-                    if (allLines != null && !allLines.isEmpty()) {
-                        int fromIndex = Math.min(finalOffset, allLines.size());
-                        int toIndex = Math.min(fromIndex + finalLimit, allLines.size());
-
-                        List<Map<String, Object>> lines = new ArrayList<>();
-                        for (int i = fromIndex; i < toIndex; i++) {
-                            Story.StoryLine line = allLines.get(i);
-                            Map<String, Object> lineMap = new HashMap<>();
-                            lineMap.put("userId", line.getUserId());
-                            lineMap.put("content", line.getContent());
-                            lineMap.put("round", line.getRound());
-                            lines.add(lineMap);
-                        }
-
-                        response.put("lines", lines);
-                        response.put("totalCount", allLines.size());
-                        response.put("hasMore", toIndex < allLines.size());
-                    } else {
-                        response.put("lines", new ArrayList<>());
-                        response.put("totalCount", 0);
-                        response.put("hasMore", false);
+        return Mono.defer(() -> {
+                    // 보관된 완료 스토리는 요청한 범위의 라인만 레코드에서 읽는다
+                    ArchivedStory archived = storyManager.findArchivedStory(storyId);
+                    if (archived != null) {
+                        int lineCount = archived.getLineCount();
+                        int fromIndex = Math.min(finalOffset, lineCount);
+                        int toIndex = Math.min(fromIndex + Math.max(finalLimit, 0), lineCount);
+                        return Mono.<Object>just(new StoryLinesPageResponse(
+                                storyId,
+                                StoryPayloads.toLineResponses(archived, fromIndex, toIndex),
+                                lineCount,
+                                toIndex < lineCount));
                     }
-
-                    response.put("storyId", storyId);
-                    return response;
+                    return storyManager.getStoryById(storyId)
+                            .<Object>map(story -> {
+                                List<Story.StoryLine> allLines = story.getLines();
+                                int fromIndex = Math.min(finalOffset, allLines.size());
+                                int toIndex = Math.min(fromIndex + Math.max(finalLimit, 0), allLines.size());
+
+                                return new StoryLinesPageResponse(
+                                        storyId,
+                                        StoryPayloads.toLineResponses(allLines, fromIndex, toIndex),
+                                        allLines.size(),
+                                        toIndex < allLines.size());
+                            });
                 })
-                .onErrorResume(e -> {
-                    Map<String, Object> errorMap = new HashMap<>();
-                    errorMap.put("error", "스토리 라인 조회 실패");
-                    errorMap.put("message", e.getMessage());
-                    return Mono.just(errorMap);
-                });
+                .onErrorResume(e -> Mono.just(StoryPayloads.toErrorResponse("스토리 라인 조회 실패", e)));
     }
 }
@@ -0,0 +1,29 @@
+package com.storywave.core.external.web.rsocket;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.util.Collections;
+
+/**
+ * RSocket 전략에 등록된 인코더로 응답 객체를 직접 {@link DataBuffer} 로 인코딩한다.
+ */
+@Component
+public class StoryPayloadEncoder {
+
+    private final RSocketStrategies strategies;
+
+    public StoryPayloadEncoder(final RSocketStrategies strategies) {
+        this.strategies = strategies;
+    }
+
+    public DataBuffer encode(final Object value, final MimeType mimeType) {
+        ResolvableType type = ResolvableType.forInstance(value);
+        Encoder<Object> encoder = strategies.encoder(type, mimeType);
+        return encoder.encodeValue(value, strategies.dataBufferFactory(), type, mimeType, Collections.emptyMap());
+    }
+}
@@ -0,0 +1,104 @@
+package com.storywave.core.external.web.rsocket;
+
+import com.storywave.core.external.web.rsocket.dto.ErrorResponse;
+import com.storywave.core.external.web.rsocket.dto.StoryEventResponse;
+import com.storywave.core.external.web.rsocket.dto.StoryLineResponse;
+import com.storywave.core.external.web.rsocket.dto.StorySnapshotResponse;
+import com.storywave.core.internal.core.domain.event.story.StoryEvent;
+import com.storywave.core.internal.core.domain.model.story.Story;
+import com.storywave.core.internal.core.domain.model.story.StorySnapshot;
+import com.storywave.core.internal.data.archive.ArchivedStory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스토리 RSocket 응답 페이로드 변환
+ */
+final class StoryPayloads {
+
+    private StoryPayloads() {
+    }
+
+    static StoryEventResponse toEventResponse(final StoryEvent event) {
+        String type = event.getType().toString();
+
+        if (event.isSnapshot()) {
+            return new StoryEventResponse(type, event.getSequence(), toSnapshotResponse(event.getStory(), event.getSnapshot()),
+                    null, null, null, null, null, null, null);
+        }
+
+        return new StoryEventResponse(type, event.getSequence(), null,
+                event.getStoryId(),
+                toLineResponse(event.getLine()),
+                event.getLine() != null ? event.getLineIndex() : null,
+                event.getCurrentTurnUserId(),
+                event.getCurrentRound(),
+                event.isStoryCompleted(),
+                event.getTimedOutPlayerId());
+    }
+
+    static StorySnapshotResponse toSnapshotResponse(final Story story) {
+        return toSnapshotResponse(story, story.getSnapshot());
+    }
+
+    static StorySnapshotResponse toSnapshotResponse(final Story story, final StorySnapshot snapshot) {
+        List<Story.StoryLine> lines = snapshot.lines();
+        return new StorySnapshotResponse(
+                story.getId(),
+                story.getRoomId(),
+                story.getPlayerIds(),
+                toLineResponses(lines, 0, lines.size()),
+                snapshot.completed(),
+                story.getMaxRound(),
+                snapshot.currentPlayerId(),
+                snapshot.currentRound(),
+                story.getStartingPrompt(),
+                snapshot.sequence());
+    }
+
+    /**
+     * 보관된 스토리는 Story 로 되살리지 않고 레코드에서 바로 응답을 만든다.
+     */
+    static StorySnapshotResponse toSnapshotResponse(final ArchivedStory story) {
+        return new StorySnapshotResponse(
+                story.getId(),
+                story.getRoomId(),
+                story.getPlayerIds(),
+                toLineResponses(story, 0, story.getLineCount()),
+                story.isCompleted(),
+                story.getMaxRound(),
+                story.getCurrentPlayerId(),
+                story.getCurrentRound(),
+                story.getStartingPrompt(),
+                story.getSequence());
+    }
+
+    static List<StoryLineResponse> toLineResponses(final ArchivedStory story, final int fromIndex, final int toIndex) {
+        List<StoryLineResponse> responses = new ArrayList<>(Math.max(toIndex - fromIndex, 0));
+        for (int i = fromIndex; i < toIndex; i++) {
+            responses.add(new StoryLineResponse(
+                    story.getLineUserId(i), story.getLineContent(i), story.getLineRound(i), story.getLineCreatedAt(i)));
+        }
+        return responses;
+    }
+
+    static List<StoryLineResponse> toLineResponses(final List<Story.StoryLine> lines, final int fromIndex, final int toIndex) {
+        List<StoryLineResponse> responses = new ArrayList<>(Math.max(toIndex - fromIndex, 0));
+        for (int i = fromIndex; i < toIndex; i++) {
+            responses.add(toLineResponse(lines.get(i)));
+        }
+        return responses;
+    }
+
+    static StoryLineResponse toLineResponse(final Story.StoryLine line) {
+        if (line == null) {
+            return null;
+        }
+        return new StoryLineResponse(line.getUserId(), line.getContent(), line.getRound(), line.getCreatedAt());
+    }
+
+    static ErrorResponse toErrorResponse(final String error, final Throwable e) {
+        return new ErrorResponse(error, e.getMessage());
+    }
+}
@@ -1,26 +1,35 @@
 package com.storywave.core.external.web.rsocket;
 
+import com.storywave.core.external.web.rsocket.dto.StoryLineRequest;
+import com.storywave.core.external.web.rsocket.dto.StoryLineResult;
+import com.storywave.core.external.web.rsocket.dto.StorySubscribeRequest;
 import com.storywave.core.internal.core.domain.component.room.GameRoomManager;
 import com.storywave.core.internal.core.domain.component.story.StoryManager;
 import com.storywave.core.internal.core.domain.event.story.StoryEvent;
 import com.storywave.core.internal.core.domain.model.story.Story;
+import com.storywave.core.internal.data.archive.ArchivedStory;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.rsocket.RSocketRequester;
 import org.springframework.messaging.rsocket.annotation.ConnectMapping;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.MimeType;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Controller
 public class StoryRSocketController {
@@ -29,14 +38,20 @@ public class StoryRSocketController {
     
     private final StoryManager storyManager;
     private final GameRoomManager gameRoomManager;
-    private final RSocketDisconnectListener disconnectListener;
+    private final RSocketConnectionRegistry connectionRegistry;
+    private final StoryFrameBroadcaster storyFrameBroadcaster;
+    private final StoryPayloadEncoder payloadEncoder;
 
     public StoryRSocketController(final StoryManager storyManager, 
                                final GameRoomManager gameRoomManager,
-                               final RSocketDisconnectListener disconnectListener) {
+                               final RSocketConnectionRegistry connectionRegistry,
+                               final StoryFrameBroadcaster storyFrameBroadcaster,
+                               final StoryPayloadEncoder payloadEncoder) {
         this.storyManager = storyManager;
         this.gameRoomManager = gameRoomManager;
-        this.disconnectListener = disconnectListener;
+        this.connectionRegistry = connectionRegistry;
+        this.storyFrameBroadcaster = storyFrameBroadcaster;
+        this.payloadEncoder = payloadEncoder;
     }
     
     // 기본 연결 핸들러 추가
@@ -57,13 +72,13 @@ public class StoryRSocketController {
 
     @ConnectMapping("user.{userId}")
     public void connect(@DestinationVariable final String userId, final RSocketRequester requester) {
-        disconnectListener.registerRequester(userId, requester);
+        connectionRegistry.register(userId, requester);
     }
 
     @MessageMapping("user.{userId}")
     public Mono<Map<String, Object>> registerUser(@DestinationVariable final String userId) {
         logger.info("사용자 등록 요청: {}", userId);
-        boolean isRegistered = disconnectListener.isUserConnected(userId);
+        boolean isRegistered = connectionRegistry.isUserConnected(userId);
         if (!isRegistered) {
             logger.info("등록되지 않은 사용자: {}", userId);
         }
@@ -74,8 +89,13 @@ public class StoryRSocketController {
     }
     
     @MessageMapping("story.room.{roomId}")
-    public Flux<Map<String, Object>> subscribeStory(@DestinationVariable final String roomId) {
+    public Flux<DataBuffer> subscribeStory(
+            @DestinationVariable final String roomId,
+            @Payload(required = false) final StorySubscribeRequest request,
+            final RSocketRequester requester) {
         logger.info("방 구독 요청 받음: {}", roomId);
+        Long lastSeq = request != null ? request.lastSeq() : null;
+        MimeType mimeType = requester.dataMimeType();
         return gameRoomManager.getRoomById(roomId)
                 .doOnNext(room -> logger.info("방 찾음: {}", room))
                 .flatMap(room ->
@@ -86,88 +106,125 @@ public class StoryRSocketController {
                             }))
                 )
                 .doOnNext(story -> logger.info("스토리 로드됨: {}", story.getId()))
-                .map(story -> {
-                    StoryEvent.EventType eventType = story.isCompleted() ? StoryEvent.EventType.STORY_COMPLETED : StoryEvent.EventType.STORY_CREATED;
-                    StoryEvent initialEvent = new StoryEvent(eventType, story);
-                    return storyEventToMap(initialEvent);
+                .flatMapMany(story -> {
+                    // 구독자별로 마지막으로 보낸 시퀀스를 추적해 누락이 생기면 재전송 버퍼나 스냅샷으로 다시 맞춘다
+                    AtomicLong lastSequence = new AtomicLong();
+
+                    // 델타 프레임을 먼저 구독해 스냅샷이나 재전송 목록을 만드는 사이 발행된 프레임도 받는다.
+                    // 델타 프레임은 방 단위로 한 번만 인코딩된 버퍼를 공유한다
+                    return initialThenLive(storyFrameBroadcaster.subscribe(roomId, mimeType), () -> {
+                        // 다시 연결한 클라이언트에게는 재전송 버퍼에 남아 있는 놓친 이벤트만 보낸다
+                        List<StoryEvent> initialEvents = lastSeq != null ? storyManager.getEventsSince(roomId, lastSeq) : null;
+                        if (initialEvents != null) {
+                            logger.info("구독 재개: roomId={}, lastSeq={}, 재전송 {}개", roomId, lastSeq, initialEvents.size());
+                        } else {
+                            StoryEvent.EventType eventType = story.isCompleted() ? StoryEvent.EventType.STORY_COMPLETED : StoryEvent.EventType.STORY_CREATED;
+                            initialEvents = List.of(StoryEvent.snapshot(eventType, story));
+                        }
+                        lastSequence.set(initialEvents.isEmpty()
+                                ? lastSeq
+                                : initialEvents.get(initialEvents.size() - 1).getSequence());
+                        return initialEvents.stream()
+                                .map(event -> payloadEncoder.encode(StoryPayloads.toEventResponse(event), mimeType))
+                                .toList();
+                    }, frame -> toDeltaOrResync(roomId, frame, lastSequence, mimeType));
                 })
-                .flatMapMany(initialEvent ->
-                        Flux.concat(
-                                Flux.just(initialEvent),
-                                storyManager.getStoryEvents()
-                                        .filter(story -> story.getRoomId().equals(roomId))
-                                        .map(story -> {
-                                            StoryEvent.EventType eventType = story.isCompleted() ? StoryEvent.EventType.STORY_COMPLETED : StoryEvent.EventType.LINE_ADDED;
-                                            StoryEvent event = new StoryEvent(eventType, story);
-                                            return storyEventToMap(event);
-                                        })
-                        )
-                )
                 .doOnError(e -> logger.error("스토리 구독 오류: {}", e.getMessage()))
-                .onErrorResume(e -> {
-                    Map<String, Object> errorMap = new HashMap<>();
-                    errorMap.put("error", "스토리 구독 실패");
-                    errorMap.put("message", e.getMessage());
-                    return Flux.just(errorMap);
-                });
+                .onErrorResume(e -> Mono.fromSupplier(() ->
+                        payloadEncoder.encode(StoryPayloads.toErrorResponse("스토리 구독 실패", e), mimeType)))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .doOnDiscard(EncodedFrame.class, EncodedFrame::release);
+    }
+
+    /**
+     * live 를 먼저 구독한 뒤 initial 을 만들어 보내고, 그동안 live 에 들어온 항목은 initial 다음에 이어 보낸다.
+     * live 항목은 initial 이 만들어지기 전까지 변환하지 않고 쌓아 두므로 toLive 는 initial 이 남긴 상태를 보고 판단할 수 있다.
+     * 이미 initial 에 반영된 항목을 걸러내는 것은 toLive 의 몫이다.
+     */
+    static <F, T> Flux<T> initialThenLive(
+            final Flux<F> live,
+            final Supplier<List<T>> initial,
+            final Function<F, Iterable<T>> toLive) {
+        return Flux.defer(() -> {
+            Sinks.One<List<T>> initialItems = Sinks.one();
+            // 소스를 차례로 구독하므로 initial 은 live 구독이 자리 잡은 뒤에 만들어지고, 내보내는 순서는 소스 순서를 따른다
+            Flux<F> heldLive = Flux.mergeSequential(
+                    initialItems.asMono().then(Mono.<F>empty()),
+                    live,
+                    Mono.<F>fromRunnable(() -> initialItems.tryEmitValue(initial.get())));
+            return Flux.mergeSequential(
+                    initialItems.asMono().flatMapIterable(items -> items),
+                    heldLive.concatMapIterable(toLive));
+        });
     }
 
-    private Map<String, Object> storyEventToMap(final StoryEvent event) {
-        Map<String, Object> eventMap = new HashMap<>();
-        eventMap.put("type", event.getType().toString());
-        eventMap.put("story", convertStoryToMap(event.getStory()));
-        return eventMap;
+    /**
+     * 순서에 맞는 프레임은 그대로 넘기고, 이미 반영된 프레임은 버리며, 누락이 있으면 재전송 버퍼의 이벤트로 채운다.
+     * 버퍼에서도 밀려난 구간이면 스냅샷으로 대체한다.
+     */
+    private List<DataBuffer> toDeltaOrResync(
+            final String roomId,
+            final EncodedFrame frame,
+            final AtomicLong lastSequence,
+            final MimeType mimeType) {
+        long last = lastSequence.get();
+        if (frame.getSequence() == last + 1) {
+            lastSequence.set(frame.getSequence());
+            storyFrameBroadcaster.recordDelivery(frame);
+            return List.of(frame.getBuffer());
+        }
+
+        frame.release();
+        if (frame.getSequence() <= last) {
+            // 스냅샷이나 재전송에 이미 반영된 이벤트
+            return List.of();
+        }
+
+        // 이벤트는 버퍼에 먼저 기록된 뒤 발행되므로 버퍼에는 이 프레임까지 들어 있다
+        List<StoryEvent> missed = storyManager.getEventsSince(roomId, last);
+        if (missed != null && !missed.isEmpty()) {
+            logger.info("시퀀스 누락 감지, 버퍼에서 재전송: roomId={}, expected={}, count={}", roomId, last + 1, missed.size());
+            lastSequence.set(missed.get(missed.size() - 1).getSequence());
+            return missed.stream()
+                    .map(event -> payloadEncoder.encode(StoryPayloads.toEventResponse(event), mimeType))
+                    .toList();
+        }
+
+        logger.info("시퀀스 누락 감지, 스냅샷 재전송: roomId={}, expected={}, actual={}", roomId, last + 1, frame.getSequence());
+        Story story = storyManager.findLoadedStory(roomId);
+        if (story == null) {
+            return List.of();
+        }
+        StoryEvent snapshot = StoryEvent.snapshot(StoryEvent.EventType.SNAPSHOT, story);
+        lastSequence.set(snapshot.getSequence());
+        return List.of(payloadEncoder.encode(StoryPayloads.toEventResponse(snapshot), mimeType));
     }
 
     @MessageMapping("story.line.{storyId}")
-    public Mono<Map<String, Object>> addStoryLine(
+    public Mono<StoryLineResult> addStoryLine(
             @DestinationVariable final String storyId,
-            @Payload final Map<String, String> payload,
+            @Payload final StoryLineRequest request,
             final RSocketRequester requester
     ) {
-        String userId = payload.get("userId");
-        String content = payload.get("content");
-        Map<String, Object> response = new HashMap<>();
-
-        if (userId == null || content == null) {
-            response.put("success", false);
-            return Mono.just(response);
+        if (request.userId() == null || request.content() == null) {
+            return Mono.just(new StoryLineResult(false, null));
         }
 
-        return storyManager.addStoryLine(storyId, userId, content)
-                .map(success -> {
-                    response.put("success", success);
-                    response.put("storyId", storyId);
-                    return response;
-                });
+        return storyManager.addStoryLine(storyId, request.userId(), request.content())
+                .map(success -> new StoryLineResult(success, storyId));
     }
     
     @MessageMapping("story.info.{storyId}")
-    public Mono<Map<String, Object>> getStoryInfo(@DestinationVariable final String storyId) {
+    public Mono<Object> getStoryInfo(@DestinationVariable final String storyId) {
         logger.info("스토리 정보 요청: {}", storyId);
-        return storyManager.getStoryById(storyId)
-                .map(this::convertStoryToMap)
+        return Mono.defer(() -> {
+                    // 보관된 완료 스토리는 메모리로 다시 올리지 않고 보관소에서 읽는다
+                    ArchivedStory archived = storyManager.findArchivedStory(storyId);
+                    return archived != null
+                            ? Mono.<Object>just(StoryPayloads.toSnapshotResponse(archived))
+                            : storyManager.getStoryById(storyId).<Object>map(StoryPayloads::toSnapshotResponse);
+                })
                 .doOnError(e -> logger.error("스토리 정보 조회 오류: {}", e.getMessage()))
-                .onErrorResume(e -> {
-                    Map<String, Object> errorMap = new HashMap<>();
-                    errorMap.put("error", "스토리 정보 조회 실패");
-                    errorMap.put("message", e.getMessage());
-                    return Mono.just(errorMap);
-                });
-    }
-
-    private Map<String, Object> convertStoryToMap(final Story story) {
-        Map<String, Object> storyMap = new HashMap<>();
-        storyMap.put("id", story.getId());
-        storyMap.put("roomId", story.getRoomId());
-        storyMap.put("userIds", story.getPlayerIds());
-        storyMap.put("lines", story.getLines());
-        storyMap.put("completed", story.isCompleted());
-        storyMap.put("maxRound", story.getMaxRound());
-        storyMap.put("currentPlayerId", story.getCurrentPlayerId());
-        storyMap.put("currentRound", story.getCurrentRound());
-        storyMap.put("startingPrompt", story.getStartingPrompt());
-
-        return storyMap;
+                .onErrorResume(e -> Mono.just(StoryPayloads.toErrorResponse("스토리 정보 조회 실패", e)));
     }
-}
\ No newline at end of file
+}
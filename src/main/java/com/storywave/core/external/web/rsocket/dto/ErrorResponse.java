@@ -0,0 +1,10 @@
+package com.storywave.core.external.web.rsocket.dto;
+
+/**
+ * RSocket 요청 실패 응답
+ */
+public record ErrorResponse(
+        String error,
+        String message
+) {
+}
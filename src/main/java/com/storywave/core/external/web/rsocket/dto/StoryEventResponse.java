@@ -0,0 +1,22 @@
+package com.storywave.core.external.web.rsocket.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 스토리 이벤트 프레임. 스냅샷 이벤트는 {@code story} 만, 델타 이벤트는 새 라인과 턴 변화만 채워지며
+ * 비어 있는 필드는 직렬화하지 않는다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StoryEventResponse(
+        String type,
+        long seq,
+        StorySnapshotResponse story,
+        String storyId,
+        StoryLineResponse line,
+        Integer lineIndex,
+        String currentPlayerId,
+        Integer currentRound,
+        Boolean completed,
+        String timedOutPlayerId
+) {
+}
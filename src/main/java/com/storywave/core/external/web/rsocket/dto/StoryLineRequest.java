@@ -0,0 +1,10 @@
+package com.storywave.core.external.web.rsocket.dto;
+
+/**
+ * 스토리 라인 추가 요청
+ */
+public record StoryLineRequest(
+        String userId,
+        String content
+) {
+}
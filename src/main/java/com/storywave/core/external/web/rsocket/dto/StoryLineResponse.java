@@ -0,0 +1,14 @@
+package com.storywave.core.external.web.rsocket.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스토리 라인 한 줄
+ */
+public record StoryLineResponse(
+        String userId,
+        String content,
+        int round,
+        LocalDateTime createdAt
+) {
+}
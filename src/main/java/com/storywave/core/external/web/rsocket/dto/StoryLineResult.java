@@ -0,0 +1,13 @@
+package com.storywave.core.external.web.rsocket.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 스토리 라인 추가 결과. 요청이 잘못된 경우 {@code storyId} 는 생략된다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StoryLineResult(
+        boolean success,
+        String storyId
+) {
+}
@@ -0,0 +1,10 @@
+package com.storywave.core.external.web.rsocket.dto;
+
+/**
+ * 스토리 라인 페이지 요청. 값이 없으면 기본값을 사용한다.
+ */
+public record StoryLinesPageRequest(
+        Integer offset,
+        Integer limit
+) {
+}
@@ -0,0 +1,14 @@
+package com.storywave.core.external.web.rsocket.dto;
+
+import java.util.List;
+
+/**
+ * 스토리 라인 페이지
+ */
+public record StoryLinesPageResponse(
+        String storyId,
+        List<StoryLineResponse> lines,
+        int totalCount,
+        boolean hasMore
+) {
+}
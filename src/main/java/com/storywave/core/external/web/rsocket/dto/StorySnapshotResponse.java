@@ -0,0 +1,20 @@
+package com.storywave.core.external.web.rsocket.dto;
+
+import java.util.List;
+
+/**
+ * 스토리 전체 스냅샷. {@code seq} 는 스냅샷 시점의 스토리 시퀀스 번호다.
+ */
+public record StorySnapshotResponse(
+        String id,
+        String roomId,
+        List<String> userIds,
+        List<StoryLineResponse> lines,
+        boolean completed,
+        int maxRound,
+        String currentPlayerId,
+        int currentRound,
+        String startingPrompt,
+        long seq
+) {
+}
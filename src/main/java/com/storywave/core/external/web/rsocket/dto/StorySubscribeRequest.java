@@ -0,0 +1,9 @@
+package com.storywave.core.external.web.rsocket.dto;
+
+/**
+ * 스토리 구독 요청. 다시 연결하는 클라이언트는 마지막으로 받은 이벤트의 seq 를 보내 놓친 이벤트만 받는다.
+ */
+public record StorySubscribeRequest(
+        Long lastSeq
+) {
+}
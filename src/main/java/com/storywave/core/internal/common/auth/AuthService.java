@@ -1,16 +1,28 @@
 package com.storywave.core.internal.common.auth;
 
-import com.storywave.core.internal.data.repository.auth.RedisGuestRepository;
+import com.storywave.core.internal.data.redis.RedisAvailability;
+import com.storywave.core.internal.data.repository.auth.GuestRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 @Service
 public class AuthService {
     
-    private final RedisGuestRepository redisGuestRepository;
+    private final GuestSessionCache guestSessionCache;
+    private final GuestRepository memoryGuestRepository;
+    private final RedisAvailability redisAvailability;
+    private final boolean useRedis;
     
-    public AuthService(final RedisGuestRepository redisGuestRepository) {
-        this.redisGuestRepository = redisGuestRepository;
+    public AuthService(
+            final GuestSessionCache guestSessionCache,
+            final GuestRepository memoryGuestRepository,
+            final RedisAvailability redisAvailability,
+            @Value("${storywave.auth.use-redis:true}") final boolean useRedis) {
+        this.guestSessionCache = guestSessionCache;
+        this.memoryGuestRepository = memoryGuestRepository;
+        this.redisAvailability = redisAvailability;
+        this.useRedis = useRedis;
     }
     
     public Mono<Boolean> isValidGuestId(final String guestId) {
@@ -18,6 +30,10 @@ public class AuthService {
             return Mono.just(false);
         }
         
-        return redisGuestRepository.isGuestExists(guestId);
+        // 로컬 메모리 모드에서는 GuestLoginService 가 메모리에 발급한 ID 를 확인한다
+        if (!useRedis || !redisAvailability.isAvailable()) {
+            return memoryGuestRepository.isGuestExists(guestId);
+        }
+        return guestSessionCache.isValid(guestId);
     }
-} 
\ No newline at end of file
+}
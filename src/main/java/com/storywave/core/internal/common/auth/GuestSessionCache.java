@@ -0,0 +1,105 @@
+package com.storywave.core.internal.common.auth;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.storywave.core.internal.data.repository.auth.RedisGuestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 게스트 ID 유효성 검사 결과를 로컬에 보관하는 캐시.
+ * <p>
+ * 크기 제한(W-TinyLFU)과 항목별 만료를 사용한다. 유효한 게스트는 Redis 키의 남은 TTL 과 최대 보관 시간 중
+ * 짧은 쪽에 만료되므로 게스트 키가 만료되면 캐시에서도 함께 사라지고, 존재하지 않는 ID 는 짧게 음성 캐싱한다.
+ * 같은 ID 를 동시에 조회하면 하나의 Redis 요청(PTTL)을 공유한다.
+ */
+@Component
+public class GuestSessionCache {
+
+    private final RedisGuestRepository redisGuestRepository;
+    private final AsyncCache<String, GuestValidity> cache;
+    private final long positiveTtlNanos;
+
+    public GuestSessionCache(
+            final RedisGuestRepository redisGuestRepository,
+            @Value("${storywave.auth.session-cache.maximum-size:100000}") final long maximumSize,
+            @Value("${storywave.auth.session-cache.positive-ttl-seconds:300}") final long positiveTtlSeconds,
+            @Value("${storywave.auth.session-cache.negative-ttl-seconds:30}") final long negativeTtlSeconds) {
+        this.redisGuestRepository = redisGuestRepository;
+        this.positiveTtlNanos = Duration.ofSeconds(positiveTtlSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new GuestValidityExpiry(positiveTtlNanos, Duration.ofSeconds(negativeTtlSeconds).toNanos()))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Mono<Boolean> isValid(final String guestId) {
+        CompletableFuture<GuestValidity> result = cache.get(guestId, (id, executor) -> load(id));
+        // 다른 구독자와 공유하는 조회이므로 취소가 공유 Future 로 전파되지 않게 한다
+        return Mono.fromFuture(result, true)
+                .map(GuestValidity::valid);
+    }
+
+    /**
+     * 방금 저장한 게스트를 유효한 것으로 기록해 첫 요청에서 Redis 조회를 건너뛴다.
+     */
+    public void markValid(final String guestId) {
+        cache.put(guestId, CompletableFuture.completedFuture(new GuestValidity(true, positiveTtlNanos)));
+    }
+
+    public void invalidate(final String guestId) {
+        cache.synchronous().invalidate(guestId);
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long estimatedSize() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    private CompletableFuture<GuestValidity> load(final String guestId) {
+        // 조회 실패는 캐싱하지 않는다 (예외로 완료된 Future 는 캐시에서 제거됨)
+        return redisGuestRepository.getGuestTtl(guestId)
+                .map(ttl -> new GuestValidity(true, ttl.isZero() ? positiveTtlNanos : ttl.toNanos()))
+                .defaultIfEmpty(GuestValidity.INVALID)
+                .toFuture();
+    }
+
+    /**
+     * @param remainingNanos 유효한 게스트 키의 남은 수명
+     */
+    record GuestValidity(boolean valid, long remainingNanos) {
+
+        static final GuestValidity INVALID = new GuestValidity(false, 0L);
+    }
+
+    private record GuestValidityExpiry(long positiveTtlNanos, long negativeTtlNanos) implements Expiry<String, GuestValidity> {
+
+        @Override
+        public long expireAfterCreate(final String key, final GuestValidity value, final long currentTime) {
+            if (!value.valid()) {
+                return negativeTtlNanos;
+            }
+            return Math.min(value.remainingNanos(), positiveTtlNanos);
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final GuestValidity value, final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final GuestValidity value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
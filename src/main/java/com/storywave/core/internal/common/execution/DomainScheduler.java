@@ -0,0 +1,60 @@
+package com.storywave.core.internal.common.execution;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * 방 생성, 스토리 생성, 대기열 변경처럼 메모리 상태를 바꾸는 작업과 블로킹 브리지({@code Mono.fromCallable})를
+ * 이벤트 루프 밖으로 옮기는 스케줄러. {@code storywave.execution.mode} 로 실행 방식을 고른다.
+ * 기본값은 {@link ExecutionMode#IMMEDIATE} 로, 스레드를 바꾸지 않는다.
+ */
+@Component
+public class DomainScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainScheduler.class);
+
+    private final ExecutionMode mode;
+    private final Scheduler scheduler;
+
+    public DomainScheduler(
+            @Value("${storywave.execution.mode:immediate}") final String mode,
+            @Value("${storywave.execution.bounded-elastic.max-threads:0}") final int maxThreads) {
+        this.mode = ExecutionMode.from(mode);
+        this.scheduler = switch (this.mode) {
+            case IMMEDIATE -> Schedulers.immediate();
+            // 0 이면 Reactor 기본값(코어 수의 10배)을 쓴다
+            case BOUNDED_ELASTIC -> Schedulers.newBoundedElastic(
+                    maxThreads > 0 ? maxThreads : Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                    Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                    "domain");
+            case VIRTUAL_THREADS -> Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("domain-", 0).factory()),
+                    "domain-virtual");
+        };
+        logger.info("도메인 실행 방식: {}", this.mode);
+    }
+
+    /**
+     * 설정된 스케줄러에서 구독되도록 감싼다. IMMEDIATE 면 그대로 돌려준다.
+     */
+    public <T> Mono<T> run(final Mono<T> source) {
+        return mode == ExecutionMode.IMMEDIATE ? source : source.subscribeOn(scheduler);
+    }
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+}
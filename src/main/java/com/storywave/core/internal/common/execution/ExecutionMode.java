@@ -0,0 +1,31 @@
+package com.storywave.core.internal.common.execution;
+
+import java.util.Locale;
+
+/**
+ * 도메인 변경과 블로킹 브리지를 실행할 스레드
+ */
+public enum ExecutionMode {
+
+    /**
+     * 구독한 스레드(대개 Netty 이벤트 루프)에서 그대로 실행한다. 스레드 전환 비용이 없다.
+     */
+    IMMEDIATE,
+
+    /**
+     * 크기가 제한된 탄력적 플랫폼 스레드 풀에서 실행한다.
+     */
+    BOUNDED_ELASTIC,
+
+    /**
+     * 작업마다 Java 21 가상 스레드를 하나씩 만들어 실행한다.
+     */
+    VIRTUAL_THREADS;
+
+    /**
+     * {@code immediate}, {@code bounded-elastic}, {@code virtual-threads} 형식의 설정 값을 읽는다.
+     */
+    public static ExecutionMode from(final String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
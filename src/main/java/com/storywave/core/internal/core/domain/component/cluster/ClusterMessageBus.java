@@ -0,0 +1,140 @@
+package com.storywave.core.internal.core.domain.component.cluster;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis Pub/Sub 기반 노드 간 메시지 버스.
+ * <ul>
+ *     <li>{@value #ROOMS_CHANNEL} - 방 생성 알림 (모든 노드)</li>
+ *     <li>{@value #STORY_EVENTS_CHANNEL} - 스토리 변경 릴레이 (모든 노드)</li>
+ *     <li>{@code storywave:cluster:node:{nodeId}:commands} - 소유 노드로 보내는 스토리 명령</li>
+ *     <li>{@code storywave:cluster:node:{nodeId}:replies} - 명령 응답</li>
+ * </ul>
+ * Pub/Sub 은 전달을 보장하지 않으므로 받는 쪽은 시퀀스로 누락을 감지해 Redis 에서 다시 읽는다.
+ * 클러스터 모드가 꺼져 있으면 발행은 아무것도 하지 않고 구독은 바로 끝난다.
+ */
+@Component
+public class ClusterMessageBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMessageBus.class);
+
+    public static final String ROOMS_CHANNEL = "storywave:cluster:rooms";
+    public static final String STORY_EVENTS_CHANNEL = "storywave:cluster:story-events";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ClusterNode clusterNode;
+    private final Duration requestTimeout;
+    private final Map<String, Sinks.One<Boolean>> pendingReplies = new ConcurrentHashMap<>();
+    private Disposable replyListener;
+
+    public ClusterMessageBus(
+            final ReactiveStringRedisTemplate redisTemplate,
+            final ClusterNode clusterNode,
+            @Value("${storywave.cluster.request-timeout-ms:3000}") final long requestTimeoutMillis) {
+        this.redisTemplate = redisTemplate;
+        this.clusterNode = clusterNode;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        replyListener = listen(repliesChannel(clusterNode.getNodeId()), ClusterMessages.StoryCommandReply.class)
+                .subscribe(reply -> {
+                    Sinks.One<Boolean> pending = pendingReplies.remove(reply.requestId());
+                    if (pending != null) {
+                        pending.tryEmitValue(reply.success());
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (replyListener != null) {
+            replyListener.dispose();
+        }
+    }
+
+    public static String commandsChannel(final String nodeId) {
+        return "storywave:cluster:node:" + nodeId + ":commands";
+    }
+
+    public static String repliesChannel(final String nodeId) {
+        return "storywave:cluster:node:" + nodeId + ":replies";
+    }
+
+    public Mono<Void> publish(final String channel, final Object message) {
+        if (!clusterNode.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(message))
+                .flatMap(json -> redisTemplate.convertAndSend(channel, json))
+                .then();
+    }
+
+    /**
+     * 채널의 메시지를 type 으로 읽는다. 읽을 수 없는 메시지는 건너뛴다.
+     * 재구독하는 사이에 발행된 메시지는 잃어버린다.
+     */
+    public <T> Flux<T> listen(final String channel, final Class<T> type) {
+        if (!clusterNode.isEnabled()) {
+            return Flux.empty();
+        }
+        return redisTemplate.listenToChannel(channel)
+                .<T>handle((message, sink) -> {
+                    try {
+                        sink.next(objectMapper.readValue(message.getMessage(), type));
+                    } catch (Exception e) {
+                        logger.warn("클러스터 메시지 해석 실패: channel={}, {}", channel, e.getMessage());
+                    }
+                })
+                .doOnError(error -> logger.error("클러스터 채널 구독 오류, 재구독 예정: channel={}, {}", channel, error.getMessage()))
+                // Redis 연결이 끊겨도 구독을 다시 맺는다
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)));
+    }
+
+    /**
+     * 대상 노드에 명령을 보내고 응답을 기다린다. 시간 안에 응답이 없으면 false 로 완료된다.
+     */
+    public Mono<Boolean> request(final String nodeId, final ClusterMessages.StoryCommand command) {
+        return Mono.defer(() -> {
+            Sinks.One<Boolean> reply = Sinks.one();
+            pendingReplies.put(command.requestId(), reply);
+            return publish(commandsChannel(nodeId), command)
+                    .then(reply.asMono())
+                    .timeout(requestTimeout, Mono.fromSupplier(() -> {
+                        logger.warn("클러스터 명령 응답 시간 초과: node={}, type={}, roomId={}",
+                                nodeId, command.type(), command.roomId());
+                        return false;
+                    }))
+                    .doFinally(signal -> pendingReplies.remove(command.requestId()));
+        });
+    }
+
+    public Mono<Void> reply(final ClusterMessages.StoryCommand command, final boolean success) {
+        return publish(repliesChannel(command.replyNodeId()),
+                new ClusterMessages.StoryCommandReply(command.requestId(), success));
+    }
+}
@@ -0,0 +1,96 @@
+package com.storywave.core.internal.core.domain.component.cluster;
+
+import com.storywave.core.internal.core.domain.event.story.StoryEvent;
+import com.storywave.core.internal.core.domain.model.room.GameRoom;
+import com.storywave.core.internal.core.domain.model.story.Story;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 노드 사이에 Redis Pub/Sub 으로 주고받는 메시지. JSON 으로 직렬화된다.
+ */
+public final class ClusterMessages {
+
+    private ClusterMessages() {
+    }
+
+    /**
+     * 방이 만들어졌음을 다른 노드에 알린다. 받은 노드는 같은 ID 의 방을 메모리에 올리고 로컬 사용자에게 매칭을 알린다.
+     */
+    public record RoomAssigned(
+            String originNodeId,
+            String roomId,
+            Set<String> userIds,
+            LocalDateTime createdAt,
+            boolean active,
+            boolean gameStarted,
+            int maxRound) {
+
+        public static RoomAssigned of(final String originNodeId, final GameRoom room) {
+            return new RoomAssigned(originNodeId, room.getId(), room.getUserIds(), room.getCreatedAt(),
+                    room.isActive(), room.isGameStarted(), room.getMaxRound());
+        }
+    }
+
+    /**
+     * 소유 노드에서 일어난 스토리 변경. 복제본을 가진 노드는 같은 변경을 순서대로 다시 적용한다.
+     * lineUserId 가 있으면 라인 추가, 없으면 (TURN_TIMEOUT 의) 차례 넘김이다.
+     */
+    public record StoryRelayed(
+            String originNodeId,
+            String roomId,
+            StoryEvent.EventType type,
+            long sequence,
+            String lineUserId,
+            String lineContent,
+            String timedOutPlayerId) {
+
+        public static StoryRelayed of(final String originNodeId, final StoryEvent event) {
+            Story.StoryLine line = event.getLine();
+            return new StoryRelayed(
+                    originNodeId,
+                    event.getRoomId(),
+                    event.getType(),
+                    event.getSequence(),
+                    line != null ? line.getUserId() : null,
+                    line != null ? line.getContent() : null,
+                    event.getTimedOutPlayerId());
+        }
+    }
+
+    /**
+     * 소유 노드에 보내는 스토리 명령.
+     */
+    public record StoryCommand(
+            String requestId,
+            String replyNodeId,
+            Type type,
+            String roomId,
+            List<String> userIds,
+            String userId,
+            String content,
+            int maxRound) {
+
+        public enum Type {
+            CREATE,
+            ADD_LINE
+        }
+
+        public static StoryCommand create(final String replyNodeId, final GameRoom room) {
+            return new StoryCommand(UUID.randomUUID().toString(), replyNodeId, Type.CREATE, room.getId(),
+                    List.copyOf(room.getUserIds()), null, null, room.getMaxRound());
+        }
+
+        public static StoryCommand addLine(final String replyNodeId, final String roomId,
+                                           final String userId, final String content) {
+            return new StoryCommand(UUID.randomUUID().toString(), replyNodeId, Type.ADD_LINE, roomId,
+                    null, userId, content, 0);
+        }
+    }
+
+    public record StoryCommandReply(String requestId, boolean success) {
+    }
+}
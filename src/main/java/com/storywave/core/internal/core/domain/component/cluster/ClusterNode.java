@@ -0,0 +1,37 @@
+package com.storywave.core.internal.core.domain.component.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 현재 인스턴스의 클러스터 설정.
+ * 클러스터 모드가 꺼져 있으면 모든 방과 스토리를 이 노드가 소유하며 Redis Pub/Sub 을 사용하지 않는다.
+ */
+@Component
+public class ClusterNode {
+
+    private final boolean enabled;
+    private final String nodeId;
+
+    public ClusterNode(
+            @Value("${storywave.cluster.enabled:false}") final boolean enabled,
+            @Value("${storywave.cluster.node-id:}") final String nodeId) {
+        this.enabled = enabled;
+        // 지정하지 않으면 실행할 때마다 새 ID 를 쓴다 (재시작한 노드는 이전 소유권을 이어받지 않는다)
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isSelf(final String otherNodeId) {
+        return nodeId.equals(otherNodeId);
+    }
+}
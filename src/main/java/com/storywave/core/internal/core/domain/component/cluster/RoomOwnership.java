@@ -0,0 +1,169 @@
+package com.storywave.core.internal.core.domain.component.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 방(과 그 방의 스토리)을 소유하는 노드를 정한다.
+ * <p>
+ * 소유권은 {@code room:{id}:owner} 키에 노드 ID 를 넣은 임대(lease)이며, 소유 노드가 주기적으로 갱신한다.
+ * 소유 노드가 죽어 임대가 만료되면 그 방을 처음 다시 찾는 노드가 소유권을 가져간다.
+ * 갱신에 실패하면(다른 노드가 이미 가져갔으면) {@link #lostOwnerships()} 로 알린다.
+ * 클러스터 모드가 꺼져 있으면 모든 방을 이 노드가 소유한다.
+ */
+@Component
+public class RoomOwnership {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomOwnership.class);
+
+    private static final Sinks.EmitFailureHandler RETRY_NON_SERIALIZED =
+            Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100));
+
+    private static final String OWNER_KEY_PREFIX = "room:";
+    private static final String OWNER_KEY_SUFFIX = ":owner";
+
+    // 소유자가 없으면 임대를 잡고, 자신이 소유자면 임대를 연장한다. 현재 소유자를 돌려준다
+    private static final RedisScript<String> CLAIM_SCRIPT = RedisScript.of("""
+            local owner = redis.call('GET', KEYS[1])
+            if not owner then
+              redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+              return ARGV[1]
+            end
+            if owner == ARGV[1] then
+              redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return owner
+            """, String.class);
+
+    private static final RedisScript<Long> RENEW_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ClusterNode clusterNode;
+    private final Duration lease;
+    private final Set<String> ownedRooms = ConcurrentHashMap.newKeySet();
+    private final Sinks.Many<String> lost = Sinks.many().multicast().directBestEffort();
+    private Disposable renewTask;
+
+    public RoomOwnership(
+            final ReactiveStringRedisTemplate redisTemplate,
+            final ClusterNode clusterNode,
+            @Value("${storywave.cluster.owner-lease-seconds:30}") final long leaseSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.clusterNode = clusterNode;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!clusterNode.isEnabled()) {
+            return;
+        }
+        renewTask = Flux.interval(lease.dividedBy(3))
+                .onBackpressureDrop()
+                .concatMap(tick -> renewAll())
+                .subscribe(
+                        unused -> {},
+                        error -> logger.error("방 소유권 갱신 중단: {}", error.getMessage())
+                );
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (renewTask != null) {
+            renewTask.dispose();
+        }
+    }
+
+    /**
+     * 방의 소유 노드 ID. 소유자가 없으면 이 노드가 소유권을 잡는다.
+     */
+    public Mono<String> resolveOwner(final String roomId) {
+        String self = clusterNode.getNodeId();
+        if (!clusterNode.isEnabled() || ownedRooms.contains(roomId)) {
+            return Mono.just(self);
+        }
+        return redisTemplate.execute(CLAIM_SCRIPT, List.of(ownerKey(roomId)), List.of(self, String.valueOf(lease.toMillis())))
+                .next()
+                .doOnNext(owner -> {
+                    if (self.equals(owner)) {
+                        ownedRooms.add(roomId);
+                    }
+                });
+    }
+
+    public Mono<Boolean> isLocal(final String roomId) {
+        return resolveOwner(roomId).map(clusterNode::isSelf);
+    }
+
+    /**
+     * 이 노드가 소유한 방의 소유권을 내려놓는다. 다른 노드의 소유권은 건드리지 않는다.
+     */
+    public Mono<Void> release(final String roomId) {
+        if (!clusterNode.isEnabled() || !ownedRooms.remove(roomId)) {
+            return Mono.empty();
+        }
+        return redisTemplate.execute(RELEASE_SCRIPT, List.of(ownerKey(roomId)), List.of(clusterNode.getNodeId()))
+                .then();
+    }
+
+    /**
+     * 임대 갱신에 실패해 소유권을 잃은 방 ID.
+     */
+    public Flux<String> lostOwnerships() {
+        return lost.asFlux();
+    }
+
+    public int getOwnedRoomCount() {
+        return ownedRooms.size();
+    }
+
+    private Mono<Void> renewAll() {
+        List<String> args = List.of(clusterNode.getNodeId(), String.valueOf(lease.toMillis()));
+        return Flux.fromIterable(List.copyOf(ownedRooms))
+                .flatMap(roomId -> redisTemplate.execute(RENEW_SCRIPT, List.of(ownerKey(roomId)), args)
+                        .next()
+                        .filter(renewed -> renewed == 0)
+                        .doOnNext(renewed -> {
+                            if (ownedRooms.remove(roomId)) {
+                                logger.warn("방 소유권을 잃음: roomId={}", roomId);
+                                lost.emitNext(roomId, RETRY_NON_SERIALIZED);
+                            }
+                        })
+                        .onErrorResume(error -> {
+                            logger.error("방 소유권 갱신 오류: roomId={}, {}", roomId, error.getMessage());
+                            return Mono.empty();
+                        }), 64)
+                .then();
+    }
+
+    private static String ownerKey(final String roomId) {
+        return OWNER_KEY_PREFIX + roomId + OWNER_KEY_SUFFIX;
+    }
+}
@@ -0,0 +1,145 @@
+package com.storywave.core.internal.core.domain.component.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * 키(방 ID, 사용자 ID 등)별로 이벤트를 분배하는 라우터.
+ * 이벤트는 같은 키를 구독 중인 구독자에게만 전달되고, 마지막 구독자가 떠나면 채널이 정리된다.
+ */
+public class KeyedEventRouter<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyedEventRouter.class);
+
+    // 여러 스레드에서 동시에 발행할 때 FAIL_NON_SERIALIZED 만 짧게 재시도
+    private static final Sinks.EmitFailureHandler RETRY_NON_SERIALIZED =
+            Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100));
+
+    private final Map<String, Channel<T>> channels = new ConcurrentHashMap<>();
+    private final int subscriberBufferSize;
+    private final Class<T> eventType;
+    private final UnaryOperator<T> onDeliver;
+    private final Consumer<? super T> onDiscard;
+
+    public KeyedEventRouter(final int subscriberBufferSize) {
+        this(subscriberBufferSize, null, UnaryOperator.identity(), event -> {});
+    }
+
+    /**
+     * 참조 카운트가 있는 이벤트용 생성자.
+     * 구독자마다 버퍼에 넣기 전에 {@code onDeliver} 로 참조를 확보하고,
+     * 버퍼 초과나 구독 취소로 버려지는 이벤트는 {@code onDiscard} 로 해제한다.
+     */
+    public KeyedEventRouter(
+            final int subscriberBufferSize,
+            final Class<T> eventType,
+            final UnaryOperator<T> onDeliver,
+            final Consumer<? super T> onDiscard) {
+        if (subscriberBufferSize <= 0) {
+            throw new IllegalArgumentException("subscriberBufferSize must be positive: " + subscriberBufferSize);
+        }
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.eventType = eventType;
+        this.onDeliver = onDeliver;
+        this.onDiscard = onDiscard;
+    }
+
+    /**
+     * 키에 해당하는 이벤트 스트림을 구독한다.
+     * 구독자마다 버퍼가 제한되며, 느린 구독자는 가장 오래된 이벤트부터 버린다.
+     */
+    public Flux<T> subscribe(final String key) {
+        return Flux.defer(() -> {
+            Channel<T> channel = channels.compute(key, (k, existing) -> {
+                Channel<T> target = existing != null ? existing : new Channel<>();
+                target.subscribers++;
+                return target;
+            });
+
+            Flux<T> events = channel.sink.asFlux()
+                    .map(onDeliver)
+                    .onBackpressureBuffer(
+                            subscriberBufferSize,
+                            dropped -> logger.debug("구독자 버퍼 초과로 이벤트 폐기: key={}", key),
+                            BufferOverflowStrategy.DROP_OLDEST);
+
+            if (eventType != null) {
+                events = events.doOnDiscard(eventType, onDiscard);
+            }
+            return events.doFinally(signal -> release(key, channel));
+        });
+    }
+
+    /**
+     * 키를 구독 중인 구독자에게만 이벤트를 전달한다. 구독자가 없으면 아무 일도 하지 않는다.
+     */
+    public void publish(final String key, final T event) {
+        Channel<T> channel = channels.get(key);
+        if (channel != null) {
+            channel.sink.emitNext(event, RETRY_NON_SERIALIZED);
+        }
+    }
+
+    /**
+     * 채널을 종료하고 모든 구독자에게 완료 신호를 보낸다.
+     */
+    public void complete(final String key) {
+        Channel<T> channel = channels.remove(key);
+        if (channel != null) {
+            channel.sink.emitComplete(RETRY_NON_SERIALIZED);
+        }
+    }
+
+    public boolean hasSubscribers(final String key) {
+        return channels.containsKey(key);
+    }
+
+    public int getChannelCount() {
+        return channels.size();
+    }
+
+    /**
+     * 키를 구독 중인 구독자 수. 지표용 근사값이다.
+     */
+    public int getSubscriberCount(final String key) {
+        Channel<T> channel = channels.get(key);
+        return channel != null ? channel.subscribers : 0;
+    }
+
+    /**
+     * 모든 키의 구독자 수 합계. 채널 수에 비례하므로 지표 수집 주기에만 호출한다.
+     */
+    public int getSubscriberCount() {
+        int total = 0;
+        for (Channel<T> channel : channels.values()) {
+            total += channel.subscribers;
+        }
+        return total;
+    }
+
+    private void release(final String key, final Channel<T> channel) {
+        channels.computeIfPresent(key, (k, current) -> {
+            if (current != channel) {
+                return current;
+            }
+            return --current.subscribers == 0 ? null : current;
+        });
+    }
+
+    private static final class Channel<T> {
+        // 구독자별 버퍼가 수요를 항상 유지하므로 directBestEffort 로도 유실되지 않는다
+        private final Sinks.Many<T> sink = Sinks.many().multicast().directBestEffort();
+        // 변경은 channels 의 compute 안에서만 하고, 지표용으로 밖에서 읽는다
+        private volatile int subscribers;
+    }
+}
@@ -0,0 +1,141 @@
+package com.storywave.core.internal.core.domain.component.lifecycle;
+
+import com.storywave.core.internal.core.domain.component.room.GameRoomManager;
+import com.storywave.core.internal.core.domain.component.story.StoryManager;
+import com.storywave.core.internal.data.redis.RedisWriteBehindQueue;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 끝났거나 방치된 스토리와 방을 주기적으로 메모리에서 내린다.
+ * <p>
+ * 한 번의 정리는 (1) 대상 스토리 키에 보관 기간 설정, (2) 쓰기 지연 큐 플러시, (3) 메모리에서 제거 순서로 진행되어
+ * 내린 스토리는 보관 기간 동안 {@link StoryManager#getStoryByRoomId(String)} 로 다시 올릴 수 있다.
+ * 방은 스토리와 함께, 또는 스토리 없이 idleTtl 이 지나면 내리고 Redis 의 사용자-방 매핑을 지운다.
+ */
+@Component
+public class LifecycleSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(LifecycleSweeper.class);
+
+    private final StoryManager storyManager;
+    private final GameRoomManager gameRoomManager;
+    private final RedisWriteBehindQueue redisWriteBehindQueue;
+    private final Duration sweepInterval;
+    private final Duration completedTtl;
+    private final Duration idleTtl;
+    private final Duration archiveRetention;
+
+    private final AtomicLong archivedStoryCount = new AtomicLong();
+    private final AtomicLong archivedRoomCount = new AtomicLong();
+    private Disposable sweepTask;
+
+    public LifecycleSweeper(
+            final StoryManager storyManager,
+            final GameRoomManager gameRoomManager,
+            final RedisWriteBehindQueue redisWriteBehindQueue,
+            @Value("${storywave.lifecycle.sweep-interval-seconds:60}") final long sweepIntervalSeconds,
+            @Value("${storywave.lifecycle.completed-ttl-seconds:300}") final long completedTtlSeconds,
+            @Value("${storywave.lifecycle.idle-ttl-seconds:3600}") final long idleTtlSeconds,
+            @Value("${storywave.lifecycle.archive-retention-days:7}") final long archiveRetentionDays) {
+        this.storyManager = storyManager;
+        this.gameRoomManager = gameRoomManager;
+        this.redisWriteBehindQueue = redisWriteBehindQueue;
+        this.sweepInterval = Duration.ofSeconds(sweepIntervalSeconds);
+        this.completedTtl = Duration.ofSeconds(completedTtlSeconds);
+        this.idleTtl = Duration.ofSeconds(idleTtlSeconds);
+        this.archiveRetention = Duration.ofDays(archiveRetentionDays);
+    }
+
+    @PostConstruct
+    public void start() {
+        sweepTask = Flux.interval(sweepInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> sweep()
+                        .onErrorResume(error -> {
+                            logger.error("메모리 정리 오류: {}", error.getMessage(), error);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sweepTask != null) {
+            sweepTask.dispose();
+        }
+    }
+
+    public Mono<Void> sweep() {
+        return Mono.defer(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<String> stories = storyManager.findExpiredStories(now, completedTtl, idleTtl);
+            if (stories.isEmpty()) {
+                evictIdleRooms(now);
+                return Mono.empty();
+            }
+
+            return Flux.fromIterable(stories)
+                    .concatMap(storyId -> storyManager.archiveStory(storyId, archiveRetention))
+                    // 메모리에서 내리기 전에 밀린 라인과 보관 설정이 Redis 에 반영되어야 다시 읽을 수 있다
+                    .then(redisWriteBehindQueue.flush())
+                    .thenMany(Flux.fromIterable(stories))
+                    .concatMap(storyId -> storyManager.evictStory(storyId)
+                            .doOnNext(evicted -> {
+                                if (evicted) {
+                                    archivedStoryCount.incrementAndGet();
+                                    // 스토리 ID 는 방 ID 와 같다
+                                    if (gameRoomManager.evictRoom(storyId, archiveRetention)) {
+                                        archivedRoomCount.incrementAndGet();
+                                    }
+                                }
+                            }))
+                    .then(Mono.fromRunnable(() -> evictIdleRooms(now)))
+                    .doOnSuccess(ignored -> logger.info("메모리 정리 완료: 스토리 {}개 보관, 남은 스토리 {}개, 남은 방 {}개",
+                            stories.size(), storyManager.getLoadedStoryCount(), gameRoomManager.getRoomCount()))
+                    .then();
+        });
+    }
+
+    private void evictIdleRooms(final LocalDateTime now) {
+        List<String> rooms = gameRoomManager.findIdleRooms(now, idleTtl, roomId -> storyManager.findLoadedStory(roomId) != null);
+        for (String roomId : rooms) {
+            if (gameRoomManager.evictRoom(roomId, archiveRetention)) {
+                archivedRoomCount.incrementAndGet();
+            }
+        }
+    }
+
+    public int getLiveStoryCount() {
+        return storyManager.getLoadedStoryCount();
+    }
+
+    public int getLiveRoomCount() {
+        return gameRoomManager.getRoomCount();
+    }
+
+    public long getArchivedStoryCount() {
+        return archivedStoryCount.get();
+    }
+
+    public long getArchivedRoomCount() {
+        return archivedRoomCount.get();
+    }
+
+    public long getRehydratedStoryCount() {
+        return storyManager.getRehydratedCount();
+    }
+}
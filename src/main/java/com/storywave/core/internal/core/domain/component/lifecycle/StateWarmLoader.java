@@ -0,0 +1,204 @@
+package com.storywave.core.internal.core.domain.component.lifecycle;
+
+import com.storywave.core.internal.core.domain.component.cluster.ClusterNode;
+import com.storywave.core.internal.core.domain.component.room.GameRoomManager;
+import com.storywave.core.internal.core.domain.component.room.WaitingQueueManager;
+import com.storywave.core.internal.core.domain.component.story.StoryManager;
+import com.storywave.core.internal.core.domain.model.room.GameRoom;
+import com.storywave.core.internal.core.domain.model.story.Story;
+import com.storywave.core.internal.data.journal.StoryJournal;
+import com.storywave.core.internal.data.redis.RedisAvailability;
+import com.storywave.core.internal.data.repository.room.RedisRoomRepository;
+import com.storywave.core.internal.data.repository.story.RedisStoryRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 기동 시 Redis 에 남아 있는 방, 스토리, 대기열을 메모리로 다시 올린다.
+ * <p>
+ * 사용자-방 매핑을 SCAN/MGET 페이지로 흘려보내면서 처음 보는 방마다 멤버와 스토리를 동시에 읽고,
+ * 대기열 목록은 그와 병렬로 읽는다. 읽기는 공유 커넥션에서 파이프라이닝된다.
+ * 애플리케이션 러너로 실행되므로 적재가 끝날 때까지 readiness 가 ACCEPTING_TRAFFIC 으로 바뀌지 않는다.
+ * 이미 내린(보관된) 방은 사용자-방 매핑이 지워져 있으므로 다시 올리지 않는다.
+ * 기동 시 확인에서 Redis 에 닿지 않았으면 빈 상태로 시작한다.
+ * <p>
+ * Redis 없이 로컬 저널을 쓰면 저널이 재생해 둔 스토리를 올린다.
+ */
+@Component
+public class StateWarmLoader implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StateWarmLoader.class);
+
+    private final RedisRoomRepository redisRoomRepository;
+    private final RedisStoryRepository redisStoryRepository;
+    private final GameRoomManager gameRoomManager;
+    private final StoryManager storyManager;
+    private final WaitingQueueManager waitingQueueManager;
+    private final ClusterNode clusterNode;
+    private final RedisAvailability redisAvailability;
+    private final StoryJournal storyJournal;
+    private final boolean enabled;
+    private final boolean loadStories;
+    private final int scanPageSize;
+    private final int concurrency;
+    private final Duration timeout;
+
+    private volatile boolean loaded;
+
+    public StateWarmLoader(
+            final RedisRoomRepository redisRoomRepository,
+            final RedisStoryRepository redisStoryRepository,
+            final GameRoomManager gameRoomManager,
+            final StoryManager storyManager,
+            final WaitingQueueManager waitingQueueManager,
+            final ClusterNode clusterNode,
+            final RedisAvailability redisAvailability,
+            final StoryJournal storyJournal,
+            @Value("${storywave.room.use-redis:true}") final boolean useRedisRooms,
+            @Value("${storywave.story.use-redis:true}") final boolean useRedisStories,
+            @Value("${storywave.warm-load.enabled:true}") final boolean enabled,
+            @Value("${storywave.warm-load.scan-page-size:1000}") final int scanPageSize,
+            @Value("${storywave.warm-load.concurrency:256}") final int concurrency,
+            @Value("${storywave.warm-load.timeout-seconds:60}") final long timeoutSeconds) {
+        this.redisRoomRepository = redisRoomRepository;
+        this.redisStoryRepository = redisStoryRepository;
+        this.gameRoomManager = gameRoomManager;
+        this.storyManager = storyManager;
+        this.waitingQueueManager = waitingQueueManager;
+        this.clusterNode = clusterNode;
+        this.redisAvailability = redisAvailability;
+        this.storyJournal = storyJournal;
+        this.enabled = enabled && useRedisRooms;
+        // 클러스터 모드에서는 스토리를 소유할 노드가 정해지지 않았으므로 처음 찾을 때 읽는다
+        this.loadStories = useRedisStories && !clusterNode.isEnabled();
+        this.scanPageSize = scanPageSize;
+        this.concurrency = concurrency;
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        try {
+            restoreJournaled();
+            if (enabled) {
+                loadFromRedis();
+            }
+        } finally {
+            loaded = true;
+        }
+    }
+
+    private void restoreJournaled() {
+        if (!storyJournal.isEnabled()) {
+            return;
+        }
+        List<Story> stories = storyJournal.takeRecovered();
+        long completed = 0;
+        for (Story story : stories) {
+            storyManager.restoreJournaled(story);
+            if (story.isCompleted()) {
+                completed++;
+            }
+        }
+        logger.info("저널 스토리 적재 완료: 진행 중 {}개, 완료 {}개 (재생 {}ms)",
+                stories.size() - completed, completed, storyJournal.getReplayMillis());
+    }
+
+    private void loadFromRedis() {
+        long startedAt = System.nanoTime();
+        try {
+            if (!Boolean.TRUE.equals(redisAvailability.probe().block(timeout))) {
+                logger.warn("Redis 에 닿지 않아 상태 적재를 건너뜀");
+                return;
+            }
+            WarmLoadResult result = load().block(timeout);
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+            logger.info("Redis 상태 적재 완료: {}ms, 방 {}개, 사용자-방 매핑 {}개, 스토리 {}개, 대기 사용자 {}명",
+                    elapsedMillis, result.rooms(), result.assignments(), result.stories(), result.waiting());
+        } catch (Exception e) {
+            // 적재에 실패해도 기동은 계속한다. 남은 방과 스토리는 찾을 때 Redis 에서 읽는다
+            logger.error("Redis 상태 적재 실패, 적재된 만큼으로 시작: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public Mono<WarmLoadResult> load() {
+        return Mono.defer(() -> {
+            Set<String> seenRooms = ConcurrentHashMap.newKeySet();
+            AtomicLong assignments = new AtomicLong();
+            AtomicLong rooms = new AtomicLong();
+            AtomicLong stories = new AtomicLong();
+
+            Mono<Void> roomsAndStories = redisRoomRepository.scanAssignmentPages(scanPageSize)
+                    .concatMapIterable(page -> page)
+                    .doOnNext(assignment -> {
+                        gameRoomManager.restoreAssignment(assignment.userId(), assignment.roomId());
+                        assignments.incrementAndGet();
+                    })
+                    .filter(assignment -> seenRooms.add(assignment.roomId()))
+                    .flatMap(assignment -> restoreRoom(assignment.roomId(), rooms, stories), concurrency)
+                    .then();
+
+            Mono<List<String>> waitingUsers = clusterNode.isEnabled()
+                    ? Mono.just(List.of())
+                    : redisRoomRepository.getWaitingUsers();
+
+            // 대기열은 방과 동시에 읽고, 방 배정이 끝난 뒤 이미 배정된 사용자를 걸러 다시 넣는다
+            return Mono.zip(roomsAndStories.then(Mono.just(true)), waitingUsers)
+                    .flatMap(tuple -> waitingQueueManager.restoreWaiting(tuple.getT2()))
+                    .map(waiting -> new WarmLoadResult(rooms.get(), assignments.get(), stories.get(), waiting));
+        });
+    }
+
+    private Mono<Void> restoreRoom(final String roomId, final AtomicLong rooms, final AtomicLong stories) {
+        Mono<Void> room = Mono.zip(redisRoomRepository.getMembers(roomId), redisRoomRepository.getMaxRound(roomId))
+                .filter(tuple -> !tuple.getT1().isEmpty())
+                .doOnNext(tuple -> {
+                    // 매칭으로 만들어진 방은 바로 시작되므로 시작된 상태로 복원한다. 생성 시각은 저장하지 않아 지금으로 둔다
+                    GameRoom restored = new GameRoom(roomId, tuple.getT1(), LocalDateTime.now(), tuple.getT2());
+                    restored.setActive(true);
+                    restored.startGame();
+                    gameRoomManager.restoreRoom(restored);
+                    rooms.incrementAndGet();
+                })
+                .then();
+
+        if (!loadStories) {
+            return skipOnError(roomId, room);
+        }
+        // 스토리 ID 는 방 ID 와 같다
+        Mono<Void> story = redisStoryRepository.load(roomId)
+                .doOnNext(loaded -> {
+                    storyManager.restoreStory(loaded);
+                    stories.incrementAndGet();
+                })
+                .then();
+        return skipOnError(roomId, Mono.when(room, story));
+    }
+
+    private static Mono<Void> skipOnError(final String roomId, final Mono<Void> restore) {
+        return restore.onErrorResume(error -> {
+            logger.warn("방 상태 적재 오류, 건너뜀: roomId={}, {}", roomId, error.getMessage());
+            return Mono.empty();
+        });
+    }
+
+    public record WarmLoadResult(long rooms, long assignments, long stories, int waiting) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.storywave.core.internal.core.domain.component.room;
+
+import com.storywave.core.internal.core.domain.component.cluster.ClusterNode;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 클러스터 모드에서 모든 노드가 공유하는 Redis 대기열.
+ * <p>
+ * 참가 순서는 {@code waiting:cluster:seq} 카운터를 점수로 하는 ZSET 에 기록된다.
+ * 참가와 매칭은 Lua 스크립트 하나로 원자적으로 처리되므로, 같은 사용자가 두 방에 들어가거나
+ * 두 노드가 같은 사용자로 방을 만드는 일이 없다. 방은 매칭을 완성한 요청을 받은 노드가 만든다.
+ */
+@Component
+public class ClusterMatchmakingQueue {
+
+    private static final String QUEUE_KEY = "waiting:cluster:queue";
+    private static final String SEQUENCE_KEY = "waiting:cluster:seq";
+
+    // 결과: [추가 여부, 남은 대기 인원, 매칭된 사용자...]
+    private static final RedisScript<List> JOIN_SCRIPT = RedisScript.of("""
+            if redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+              return {'0', tostring(redis.call('ZCARD', KEYS[1]))}
+            end
+            redis.call('ZADD', KEYS[1], redis.call('INCR', KEYS[2]), ARGV[1])
+            local roomSize = tonumber(ARGV[2])
+            local result = {'1'}
+            local matched = {}
+            if redis.call('ZCARD', KEYS[1]) >= roomSize then
+              local popped = redis.call('ZPOPMIN', KEYS[1], roomSize)
+              for i = 1, #popped, 2 do
+                matched[#matched + 1] = popped[i]
+              end
+            end
+            result[2] = tostring(redis.call('ZCARD', KEYS[1]))
+            for i = 1, #matched do
+              result[#result + 1] = matched[i]
+            end
+            return result
+            """, List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ClusterNode clusterNode;
+    private final int roomSize;
+
+    // 이 노드를 통해 참가한 사용자 (다른 노드가 매칭했으면 방 배정 여부로 걸러낸다)
+    private final Set<String> localWaiting = ConcurrentHashMap.newKeySet();
+    private volatile int waitingCount;
+
+    public ClusterMatchmakingQueue(
+            final ReactiveStringRedisTemplate redisTemplate,
+            final ClusterNode clusterNode,
+            @Value("${storywave.room.required-users:4}") final int roomSize) {
+        this.redisTemplate = redisTemplate;
+        this.clusterNode = clusterNode;
+        this.roomSize = roomSize;
+    }
+
+    public boolean isEnabled() {
+        return clusterNode.isEnabled();
+    }
+
+    /**
+     * 사용자를 공유 대기열에 넣고, 인원이 차면 매칭된 사용자 목록을 함께 돌려준다.
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<JoinResult> offer(final String userId) {
+        return redisTemplate.execute(JOIN_SCRIPT, List.of(QUEUE_KEY, SEQUENCE_KEY), List.of(userId, String.valueOf(roomSize)))
+                .next()
+                .map(reply -> {
+                    List<String> values = (List<String>) reply;
+                    boolean added = "1".equals(values.get(0));
+                    waitingCount = Integer.parseInt(values.get(1));
+                    List<String> matched = List.copyOf(values.subList(2, values.size()));
+                    if (added) {
+                        localWaiting.add(userId);
+                    }
+                    matched.forEach(localWaiting::remove);
+                    return new JoinResult(added, matched);
+                });
+    }
+
+    public Mono<Boolean> cancel(final String userId) {
+        localWaiting.remove(userId);
+        return redisTemplate.opsForZSet().remove(QUEUE_KEY, userId)
+                .map(removed -> {
+                    if (removed > 0) {
+                        waitingCount = Math.max(0, waitingCount - 1);
+                    }
+                    return removed > 0;
+                });
+    }
+
+    public boolean isLocallyWaiting(final String userId) {
+        return localWaiting.contains(userId);
+    }
+
+    public void forget(final String userId) {
+        localWaiting.remove(userId);
+    }
+
+    /**
+     * 마지막으로 확인한 클러스터 전체 대기 인원.
+     */
+    public int getWaitingCount() {
+        return waitingCount;
+    }
+
+    public record JoinResult(boolean added, List<String> matched) {
+    }
+}
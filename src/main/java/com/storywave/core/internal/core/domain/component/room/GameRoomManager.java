@@ -1,25 +1,40 @@
 package com.storywave.core.internal.core.domain.component.room;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.ReactiveRedisOperations;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.storywave.core.internal.common.execution.DomainScheduler;
+import com.storywave.core.internal.core.domain.component.cluster.ClusterMessageBus;
+import com.storywave.core.internal.core.domain.component.cluster.ClusterMessages;
+import com.storywave.core.internal.core.domain.component.cluster.ClusterNode;
+import com.storywave.core.internal.core.domain.component.cluster.RoomOwnership;
+import com.storywave.core.internal.core.domain.component.event.KeyedEventRouter;
 import com.storywave.core.internal.core.domain.model.room.GameRoom;
+import com.storywave.core.internal.data.redis.RedisAvailability;
+import com.storywave.core.internal.data.redis.RedisWriteBehindQueue;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 @Component
 public class GameRoomManager {
     
     private static final String ROOM_KEY_PREFIX = "room:";
+    private static final String MAX_ROUND_SUFFIX = ":max-round";
     
     private static final Logger logger = LoggerFactory.getLogger(GameRoomManager.class);
     
@@ -29,20 +44,64 @@ public class GameRoomManager {
     private final Map<String, String> userRoomMap = new ConcurrentHashMap<>();
     
     
-    private final Sinks.Many<GameRoom> roomSink = Sinks.many().multicast().onBackpressureBuffer();
+    // 매칭 이벤트는 사용자 ID 별로 라우팅되어 해당 사용자에게만 전달된다
+    private final KeyedEventRouter<GameRoom> roomEventRouter;
     
-    private final ReactiveRedisOperations<String, Object> redisOperations;
+    private final RedisWriteBehindQueue redisWriteBehindQueue;
+    private final ClusterNode clusterNode;
+    private final ClusterMessageBus clusterMessageBus;
+    private final RoomOwnership roomOwnership;
+    private final DomainScheduler domainScheduler;
+    private final RedisAvailability redisAvailability;
     private final boolean useRedis;
+    private Disposable roomRelay;
     
     public GameRoomManager(
-            final ReactiveRedisOperations<String, Object> redisOperations,
-            @Value("${storywave.room.use-redis:true}") final boolean useRedis) {
-        this.redisOperations = redisOperations;
+            final RedisWriteBehindQueue redisWriteBehindQueue,
+            final ClusterNode clusterNode,
+            final ClusterMessageBus clusterMessageBus,
+            final RoomOwnership roomOwnership,
+            final DomainScheduler domainScheduler,
+            final RedisAvailability redisAvailability,
+            @Value("${storywave.room.use-redis:true}") final boolean useRedis,
+            @Value("${storywave.event.subscriber-buffer-size:256}") final int subscriberBufferSize) {
+        this.redisWriteBehindQueue = redisWriteBehindQueue;
+        this.clusterNode = clusterNode;
+        this.clusterMessageBus = clusterMessageBus;
+        this.roomOwnership = roomOwnership;
+        this.domainScheduler = domainScheduler;
+        this.redisAvailability = redisAvailability;
         this.useRedis = useRedis;
+        this.roomEventRouter = new KeyedEventRouter<>(subscriberBufferSize);
+    }
+    
+    @PostConstruct
+    public void start() {
+        // 다른 노드가 만든 방을 받아 이 노드에 접속한 사용자에게도 매칭을 알린다
+        roomRelay = clusterMessageBus.listen(ClusterMessageBus.ROOMS_CHANNEL, ClusterMessages.RoomAssigned.class)
+            .filter(message -> !clusterNode.isSelf(message.originNodeId()))
+            .subscribe(
+                this::adoptRoom,
+                error -> logger.error("방 릴레이 수신 오류: {}", error.getMessage())
+            );
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (roomRelay != null) {
+            roomRelay.dispose();
+        }
     }
     
     public Mono<GameRoom> createRoom(final Set<String> userIds) {
-        return Mono.fromCallable(() -> {
+        return createRoom(userIds, 0);
+    }
+    
+    /**
+     * 매칭에서 라운드 수가 정해진 방을 만든다. maxRound 가 0 이면 스토리의 기본 라운드 수를 쓴다.
+     */
+    public Mono<GameRoom> createRoom(final Set<String> userIds, final int maxRound) {
+        return domainScheduler.run(Mono.fromCallable(() -> {
             // simulation-user는 방에 포함하지 않음
             Set<String> filteredUserIds = new java.util.HashSet<>();
             for (String id : userIds) {
@@ -50,7 +109,7 @@ public class GameRoomManager {
                     filteredUserIds.add(id);
                 }
             }
-            GameRoom room = new GameRoom(filteredUserIds);
+            GameRoom room = new GameRoom(filteredUserIds, maxRound);
             
             
             gameRooms.put(room.getId(), room);
@@ -61,15 +120,65 @@ public class GameRoomManager {
             }
             
             
-            if (useRedis) {
+            if (useRedis()) {
                 saveRoomToRedis(room);
             }
             
             
-            roomSink.tryEmitNext(room);
+            for (String userId : filteredUserIds) {
+                roomEventRouter.publish(userId, room);
+            }
             
             return room;
-        });
+        })).flatMap(room -> roomOwnership.resolveOwner(room.getId()).thenReturn(room));
+    }
+    
+    /**
+     * 방 상태가 정해진 뒤 다른 노드에 알린다. 클러스터 모드가 아니면 아무것도 하지 않는다.
+     */
+    public void announceRoom(final GameRoom room) {
+        clusterMessageBus.publish(ClusterMessageBus.ROOMS_CHANNEL, ClusterMessages.RoomAssigned.of(clusterNode.getNodeId(), room))
+            .subscribe(
+                result -> {},
+                error -> logger.error("방 릴레이 발행 오류: roomId={}, {}", room.getId(), error.getMessage())
+            );
+    }
+    
+    /**
+     * 다른 노드가 만든 방을 같은 ID 로 메모리에 올린다. Redis 기록은 방을 만든 노드가 이미 했다.
+     */
+    private void adoptRoom(final ClusterMessages.RoomAssigned message) {
+        GameRoom room = new GameRoom(message.roomId(), message.userIds(), message.createdAt(), message.maxRound());
+        room.setActive(message.active());
+        if (message.gameStarted()) {
+            room.startGame();
+        }
+        if (gameRooms.putIfAbsent(room.getId(), room) != null) {
+            return;
+        }
+        for (String userId : room.getUserIds()) {
+            userRoomMap.put(userId, room.getId());
+            roomEventRouter.publish(userId, room);
+        }
+        logger.info("다른 노드의 방을 받음: roomId={}, origin={}", room.getId(), message.originNodeId());
+    }
+    
+    /**
+     * 기동 시 Redis 에서 읽은 방을 메모리에 올린다. Redis 에 다시 쓰거나 이벤트를 발행하지 않는다.
+     */
+    public void restoreRoom(final GameRoom room) {
+        gameRooms.putIfAbsent(room.getId(), room);
+    }
+    
+    /**
+     * 기동 시 Redis 에서 읽은 사용자-방 매핑을 메모리에 올린다.
+     */
+    public void restoreAssignment(final String userId, final String roomId) {
+        userRoomMap.putIfAbsent(userId, roomId);
+    }
+    
+    public boolean isAssigned(final String userId) {
+        return userRoomMap.containsKey(userId);
     }
     
     public Mono<GameRoom> getRoomByUserId(final String userId) {
@@ -93,24 +202,94 @@ public class GameRoomManager {
         return Flux.fromIterable(gameRooms.values());
     }
     
-    public Flux<GameRoom> getRoomEvents() {
-        return roomSink.asFlux();
+    /**
+     * 만든 지 idleTtl 이 지났고 hasLiveStory 가 false 인 방의 ID.
+     */
+    public List<String> findIdleRooms(final LocalDateTime now, final Duration idleTtl, final Predicate<String> hasLiveStory) {
+        List<String> idle = new ArrayList<>();
+        for (GameRoom room : gameRooms.values()) {
+            if (Duration.between(room.getCreatedAt(), now).compareTo(idleTtl) >= 0 && !hasLiveStory.test(room.getId())) {
+                idle.add(room.getId());
+            }
+        }
+        return idle;
+    }
+    
+    public int getRoomCount() {
+        return gameRooms.size();
+    }
+    
+    /**
+     * 방을 메모리에서 내리고 Redis 의 사용자-방 매핑을 지운다. 방 멤버 키에는 보관 기간을 둔다.
+     * 그 사이 다른 방에 배정된 사용자의 매핑은 건드리지 않는다.
+     */
+    public boolean evictRoom(final String roomId, final Duration retention) {
+        GameRoom room = gameRooms.remove(roomId);
+        if (room == null) {
+            return false;
+        }
+        
+        for (String userId : room.getUserIds()) {
+            if (userRoomMap.remove(userId, roomId) && useRedis()) {
+                redisWriteBehindQueue.delete("user:" + userId + ":room")
+                    .subscribe(
+                        result -> {},
+                        error -> logger.error("Redis 사용자-방 매핑 삭제 오류: {}", error.getMessage())
+                    );
+            }
+        }
+        
+        if (useRedis()) {
+            redisWriteBehindQueue.expire(ROOM_KEY_PREFIX + roomId, retention)
+                .then(room.getMaxRound() > 0
+                    ? redisWriteBehindQueue.expire(ROOM_KEY_PREFIX + roomId + MAX_ROUND_SUFFIX, retention)
+                    : Mono.empty())
+                .subscribe(
+                    result -> {},
+                    error -> logger.error("Redis 방 보관 설정 오류: {}", error.getMessage())
+                );
+        }
+        roomOwnership.release(roomId)
+            .subscribe(
+                result -> {},
+                error -> logger.error("방 소유권 반환 오류: {}", error.getMessage())
+            );
+        return true;
+    }
+    
+    public Flux<GameRoom> getRoomEvents(final String userId) {
+        return roomEventRouter.subscribe(userId);
+    }
+    
+    /**
+     * 설정으로 켜져 있고 기동 시 확인에서 Redis 에 닿은 경우에만 Redis 에 기록한다.
+     */
+    private boolean useRedis() {
+        return useRedis && redisAvailability.isAvailable();
     }
     
     private void saveRoomToRedis(final GameRoom room) {
         String key = ROOM_KEY_PREFIX + room.getId();
         
-        
+        // 방 멤버는 SADD 한 번으로, 사용자-방 매핑은 플러시 시 MSET 으로 묶인다
         Set<String> userIds = room.getUserIds();
-        for (String userId : userIds) {
-            redisOperations.opsForSet().add(key, userId)
+        redisWriteBehindQueue.addToSet(key, userIds.toArray())
+            .subscribe(
+                result -> {},
+                error -> logger.error("Redis 방 멤버 추가 오류: {}", error.getMessage())
+            );
+        
+        // 스토리는 첫 구독 때 만들어지므로, 재시작 뒤에도 매칭된 라운드 수로 만들 수 있게 함께 남긴다
+        if (room.getMaxRound() > 0) {
+            redisWriteBehindQueue.set(key + MAX_ROUND_SUFFIX, room.getMaxRound())
                 .subscribe(
                     result -> {},
-                    error -> logger.error("Redis 방 멤버 추가 오류: {}", error.getMessage())
+                    error -> logger.error("Redis 방 라운드 수 기록 오류: {}", error.getMessage())
                 );
-            
-            
-            redisOperations.opsForValue().set("user:" + userId + ":room", room.getId())
+        }
+        
+        for (String userId : userIds) {
+            redisWriteBehindQueue.set("user:" + userId + ":room", room.getId())
                 .subscribe(
                     result -> {},
                     error -> logger.error("Redis 사용자-방 매핑 오류: {}", error.getMessage())
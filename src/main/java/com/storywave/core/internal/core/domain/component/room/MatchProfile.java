@@ -0,0 +1,28 @@
+package com.storywave.core.internal.core.domain.component.room;
+
+import java.util.Locale;
+
+/**
+ * 매칭 조건. 같은 언어, 같은 희망 라운드 수, 비슷한 왕복 지연(RTT)의 사용자끼리 먼저 묶인다.
+ * maxRound 0 은 기본 라운드 수, rttMillis -1 은 알 수 없음을 뜻한다.
+ */
+public record MatchProfile(String locale, int maxRound, int rttMillis) {
+
+    public static final MatchProfile ANY = new MatchProfile("", 0, -1);
+
+    public MatchProfile {
+        locale = locale == null ? "" : locale.trim().replace('_', '-').toLowerCase(Locale.ROOT);
+        maxRound = Math.max(0, maxRound);
+        rttMillis = rttMillis < 0 ? -1 : rttMillis;
+    }
+
+    /**
+     * 요청 파라미터처럼 값이 빠질 수 있는 입력에서 만든다.
+     */
+    public static MatchProfile of(final String locale, final Integer maxRound, final Integer rttMillis) {
+        return new MatchProfile(
+                locale,
+                maxRound != null ? maxRound : 0,
+                rttMillis != null ? rttMillis : -1);
+    }
+}
@@ -0,0 +1,450 @@
+package com.storywave.core.internal.core.domain.component.room;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 단일 작성자(drain loop) 방식의 매칭 엔진.
+ * 여러 스레드가 참가/취소 명령을 MPSC 큐에 넣고, 드레인 권한을 얻은 스레드 하나만 대기열 상태를 변경한다.
+ * 드레인 중에 들어온 명령은 같은 드레인 스레드가 이어서 처리하므로 대기열에 방치되는 사용자가 없다.
+ * <p>
+ * 대기 사용자는 {@link MatchProfile} 로 만든 버킷에 들어간다. 처음에는 언어, 희망 라운드 수, RTT 구간이 모두 같은
+ * 버킷에서만 묶이고, 오래 기다릴수록 RTT, 라운드 수, 언어 순으로 조건을 지운 더 넓은 버킷에도 들어간다.
+ * 넓은 버킷에서는 양쪽 모두 그 단계까지 기다린 사용자끼리만 묶인다.
+ * 버킷은 해시로 찾고 단계별 승격 대기열은 참가 순서대로 앞에서만 꺼내므로, 참가 한 건의 비용은 방 크기와 단계 수에만 비례한다.
+ * <p>
+ * 버킷이 최대 인원에 닿으면 바로 방을 만들고, 최소 인원 이상이 모인 채 가장 오래 기다린 사용자가
+ * {@link Rules#partialRoomAfter()} 를 넘기면 모인 만큼으로 방을 만든다. 시간에 따른 승격과 부분 방은 {@link #tick()} 에서 처리한다.
+ */
+public final class MatchmakingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchmakingEngine.class);
+
+    // 0: 모든 조건, 1: RTT 무시, 2: 라운드 수도 무시, 3: 언어도 무시
+    private static final int LEVELS = 4;
+
+    private final Queue<Command> commands = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    // 드레인 스레드만 변경하는 대기 순서 (삽입 순서 유지, O(1) 삭제)
+    private final LinkedHashMap<String, Ticket> waiting = new LinkedHashMap<>();
+    private long nextTicket;
+
+    // 드레인 스레드만 변경하는 버킷 색인. 최소 인원 이상 모인 버킷은 부분 방 후보로 따로 둔다
+    private final Map<BucketKey, Bucket> buckets = new HashMap<>();
+    private final Set<Bucket> fillable = new LinkedHashSet<>();
+    // 단계별로 아직 승격되지 않은 사용자 (참가 순서). 취소나 매칭으로 빠진 사용자는 꺼낼 때 건너뛴다
+    private final List<ArrayDeque<Ticket>> promotions = new ArrayList<>(LEVELS);
+
+    // 다른 스레드의 조회용 사본 (드레인 스레드만 기록). 사용자별 번호표와 맨 앞 사용자의 번호표
+    private final Map<String, Long> waitingView = new ConcurrentHashMap<>();
+    private volatile long headTicket;
+    private volatile int waitingCount;
+
+    private final Rules rules;
+    private final long[] relaxAfterNanos;
+    private final LongSupplier clock;
+    private final Listener listener;
+
+    public MatchmakingEngine(final int roomSize, final Listener listener) {
+        this(Rules.fixed(roomSize), System::nanoTime, listener);
+    }
+
+    public MatchmakingEngine(final Rules rules, final LongSupplier clock, final Listener listener) {
+        this.rules = rules;
+        this.relaxAfterNanos = new long[] {
+                0L,
+                toNanos(rules.rttRelaxAfter()),
+                toNanos(rules.maxRoundRelaxAfter()),
+                toNanos(rules.localeRelaxAfter())
+        };
+        this.clock = clock;
+        this.listener = listener;
+        for (int level = 0; level < LEVELS; level++) {
+            promotions.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * 조건 없이 사용자를 대기열에 추가한다. 이미 대기 중이면 false 로 완료된다.
+     */
+    public CompletableFuture<Boolean> offer(final String userId) {
+        return offer(userId, MatchProfile.ANY);
+    }
+
+    /**
+     * 매칭 조건과 함께 사용자를 대기열에 추가한다. 이미 대기 중이면 false 로 완료된다.
+     */
+    public CompletableFuture<Boolean> offer(final String userId, final MatchProfile profile) {
+        return submit(Command.Type.JOIN, userId, profile);
+    }
+
+    /**
+     * 대기 중인 사용자를 O(1)로 취소한다. 대기 중이 아니면 false 로 완료된다.
+     */
+    public CompletableFuture<Boolean> cancel(final String userId) {
+        return submit(Command.Type.CANCEL, userId, null);
+    }
+
+    /**
+     * 기다린 시간에 따라 조건을 완화하고 부분 방을 만든다. 주기적으로 호출한다.
+     */
+    public CompletableFuture<Boolean> tick() {
+        return submit(Command.Type.TICK, null, null);
+    }
+
+    public boolean isWaiting(final String userId) {
+        return waitingView.containsKey(userId);
+    }
+
+    /**
+     * 번호표 차이로 O(1)에 계산한 대기 순번(1부터). 앞선 사용자가 취소한 만큼 실제보다 클 수 있으며,
+     * 대기 인원을 넘지는 않는다. 대기 중이 아니면 0.
+     */
+    public int getPosition(final String userId) {
+        Long ticket = waitingView.get(userId);
+        if (ticket == null) {
+            return 0;
+        }
+        long position = ticket - headTicket + 1;
+        return (int) Math.max(1, Math.min(position, waitingCount));
+    }
+
+    public int getWaitingCount() {
+        return waitingCount;
+    }
+
+    public int getRoomSize() {
+        return rules.maxSize();
+    }
+
+    public Rules getRules() {
+        return rules;
+    }
+
+    private CompletableFuture<Boolean> submit(final Command.Type type, final String userId, final MatchProfile profile) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        commands.offer(new Command(type, userId, profile, result));
+        drain();
+        return result;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            List<MatchedRoom> rooms = new ArrayList<>();
+            boolean ticked = false;
+            Command command;
+            while ((command = commands.poll()) != null) {
+                if (command.type() == Command.Type.TICK) {
+                    ticked = true;
+                    command.result().complete(true);
+                } else {
+                    apply(command, rooms);
+                }
+            }
+
+            long now = clock.getAsLong();
+            promote(now, rooms);
+            if (ticked) {
+                formPartialRooms(now, rooms);
+            }
+            waitingCount = waiting.size();
+            headTicket = waiting.isEmpty() ? nextTicket : waiting.values().iterator().next().number;
+            if (!rooms.isEmpty()) {
+                notifyListener(() -> listener.onMatched(rooms));
+            }
+
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void apply(final Command command, final List<MatchedRoom> rooms) {
+        String userId = command.userId();
+        boolean changed;
+        if (command.type() == Command.Type.JOIN) {
+            changed = !waiting.containsKey(userId);
+            if (changed) {
+                Ticket ticket = new Ticket(userId, nextTicket++, clock.getAsLong(), command.profile());
+                waiting.put(userId, ticket);
+                waitingView.put(userId, ticket.number);
+                for (int level = 1; level < LEVELS; level++) {
+                    if (relaxAfterNanos[level] >= 0) {
+                        promotions.get(level).offer(ticket);
+                    }
+                }
+                notifyListener(() -> listener.onJoined(userId));
+                formFullRooms(enter(ticket, 0), rooms);
+            }
+        } else {
+            Ticket ticket = waiting.remove(userId);
+            changed = ticket != null;
+            if (changed) {
+                leaveAll(ticket);
+                waitingView.remove(userId);
+                notifyListener(() -> listener.onCancelled(userId));
+            }
+        }
+        command.result().complete(changed);
+    }
+
+    /**
+     * 단계별 기다림 시간을 넘긴 사용자를 참가 순서대로 더 넓은 버킷에 넣는다.
+     */
+    private void promote(final long now, final List<MatchedRoom> rooms) {
+        for (int level = 1; level < LEVELS; level++) {
+            ArrayDeque<Ticket> pending = promotions.get(level);
+            Ticket ticket;
+            while ((ticket = pending.peek()) != null) {
+                if (!ticket.waiting) {
+                    pending.poll();
+                    continue;
+                }
+                if (now - ticket.joinedAt < relaxAfterNanos[level]) {
+                    break;
+                }
+                pending.poll();
+                formFullRooms(enter(ticket, level), rooms);
+            }
+        }
+    }
+
+    private void formFullRooms(final Bucket bucket, final List<MatchedRoom> rooms) {
+        while (bucket.members.size() >= rules.maxSize()) {
+            rooms.add(take(bucket, rules.maxSize()));
+        }
+    }
+
+    /**
+     * 최소 인원 이상 모였고 가장 오래 기다린 사용자가 partialRoomAfter 를 넘긴 버킷으로 방을 만든다.
+     */
+    private void formPartialRooms(final long now, final List<MatchedRoom> rooms) {
+        long partialAfter = toNanos(rules.partialRoomAfter());
+        if (fillable.isEmpty() || partialAfter < 0) {
+            return;
+        }
+        for (Bucket bucket : List.copyOf(fillable)) {
+            Set<Ticket> members = bucket.members;
+            if (members.size() >= rules.minSize()
+                    && now - members.iterator().next().joinedAt >= partialAfter) {
+                rooms.add(take(bucket, Math.min(members.size(), rules.maxSize())));
+            }
+        }
+    }
+
+    /**
+     * 버킷 앞에서부터 size 명을 꺼내 방 하나로 묶는다. 꺼낸 사용자는 다른 단계의 버킷에서도 빠진다.
+     */
+    private MatchedRoom take(final Bucket bucket, final int size) {
+        List<Ticket> picked = new ArrayList<>(size);
+        Iterator<Ticket> iterator = bucket.members.iterator();
+        for (int i = 0; i < size; i++) {
+            picked.add(iterator.next());
+        }
+
+        long now = clock.getAsLong();
+        Set<String> members = new HashSet<>(size * 2);
+        int maxRound = picked.get(0).profile.maxRound();
+        for (Ticket ticket : picked) {
+            waiting.remove(ticket.userId);
+            waitingView.remove(ticket.userId);
+            leaveAll(ticket);
+            members.add(ticket.userId);
+            if (ticket.profile.maxRound() != maxRound) {
+                // 희망 라운드 수가 갈리면 기본값으로 시작한다
+                maxRound = 0;
+            }
+            notifyWaited(now - ticket.joinedAt);
+        }
+        return new MatchedRoom(members, maxRound);
+    }
+
+    private Bucket enter(final Ticket ticket, final int level) {
+        Bucket bucket = buckets.computeIfAbsent(BucketKey.of(level, ticket.profile, rules.rttBandMillis()), Bucket::new);
+        bucket.members.add(ticket);
+        ticket.buckets[level] = bucket;
+        if (bucket.members.size() >= rules.minSize()) {
+            fillable.add(bucket);
+        }
+        return bucket;
+    }
+
+    private void leaveAll(final Ticket ticket) {
+        ticket.waiting = false;
+        for (int level = 0; level < LEVELS; level++) {
+            Bucket bucket = ticket.buckets[level];
+            if (bucket == null) {
+                continue;
+            }
+            ticket.buckets[level] = null;
+            bucket.members.remove(ticket);
+            if (bucket.members.size() < rules.minSize()) {
+                fillable.remove(bucket);
+            }
+            if (bucket.members.isEmpty()) {
+                buckets.remove(bucket.key);
+            }
+        }
+    }
+
+    /**
+     * 음수 기간은 사용하지 않음을 뜻하며 -1 로 바꾼다.
+     */
+    private static long toNanos(final Duration duration) {
+        return duration.isNegative() ? -1 : duration.toNanos();
+    }
+
+    private void notifyWaited(final long waitedNanos) {
+        try {
+            listener.onWaitCompleted(waitedNanos);
+        } catch (Exception e) {
+            logger.error("매칭 리스너 처리 오류: {}", e.getMessage(), e);
+        }
+    }
+
+    private void notifyListener(final Runnable callback) {
+        try {
+            callback.run();
+        } catch (Exception e) {
+            logger.error("매칭 리스너 처리 오류: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 드레인 스레드에서 순서대로 호출되는 콜백. 빠르게 반환해야 한다.
+     */
+    @FunctionalInterface
+    public interface Listener {
+
+        void onMatched(List<MatchedRoom> rooms);
+
+        default void onJoined(final String userId) {
+        }
+
+        default void onCancelled(final String userId) {
+        }
+
+        /**
+         * 매칭된 사용자 한 명마다 대기열에서 기다린 시간과 함께 호출된다.
+         */
+        default void onWaitCompleted(final long waitedNanos) {
+        }
+    }
+
+    /**
+     * 매칭으로 묶인 사용자와 방의 라운드 수(0 이면 기본값).
+     */
+    public record MatchedRoom(Set<String> userIds, int maxRound) {
+    }
+
+    /**
+     * 방 인원과 조건 완화 시점. 완화 시점은 참가부터 재며, 음수면 그 완화(또는 부분 방)를 하지 않는다.
+     *
+     * @param rttBandMillis RTT 를 이 폭의 구간으로 나눠 같은 구간끼리 먼저 묶는다
+     */
+    public record Rules(
+            int minSize,
+            int maxSize,
+            int rttBandMillis,
+            Duration rttRelaxAfter,
+            Duration maxRoundRelaxAfter,
+            Duration localeRelaxAfter,
+            Duration partialRoomAfter) {
+
+        public Rules {
+            if (minSize <= 0 || maxSize < minSize) {
+                throw new IllegalArgumentException("invalid room size: min=" + minSize + ", max=" + maxSize);
+            }
+            if (rttBandMillis <= 0) {
+                throw new IllegalArgumentException("rttBandMillis must be positive: " + rttBandMillis);
+            }
+            Objects.requireNonNull(rttRelaxAfter);
+            Objects.requireNonNull(maxRoundRelaxAfter);
+            Objects.requireNonNull(localeRelaxAfter);
+            Objects.requireNonNull(partialRoomAfter);
+        }
+
+        /**
+         * 인원이 고정된 방. 조건 없는 사용자만 들어오면 예전처럼 참가 순서대로 묶인다.
+         */
+        public static Rules fixed(final int roomSize) {
+            Duration never = Duration.ofSeconds(-1);
+            return new Rules(roomSize, roomSize, 50, never, never, never, never);
+        }
+    }
+
+    /**
+     * level 보다 넓은 조건은 지운 버킷 키. 지운 조건은 null 또는 Integer.MIN_VALUE 로 둔다.
+     */
+    private record BucketKey(int level, String locale, int maxRound, int rttBand) {
+
+        static BucketKey of(final int level, final MatchProfile profile, final int rttBandMillis) {
+            int rttBand = profile.rttMillis() < 0 ? -1 : profile.rttMillis() / rttBandMillis;
+            return new BucketKey(
+                    level,
+                    level < 3 ? profile.locale() : null,
+                    level < 2 ? profile.maxRound() : Integer.MIN_VALUE,
+                    level < 1 ? rttBand : Integer.MIN_VALUE);
+        }
+    }
+
+    private static final class Bucket {
+
+        final BucketKey key;
+        // 들어온 순서 (넓은 버킷은 승격 순서 = 참가 순서)
+        final LinkedHashSet<Ticket> members = new LinkedHashSet<>();
+
+        Bucket(final BucketKey key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Ticket {
+
+        final String userId;
+        final long number;
+        final long joinedAt;
+        final MatchProfile profile;
+        final Bucket[] buckets = new Bucket[LEVELS];
+        boolean waiting = true;
+
+        Ticket(final String userId, final long number, final long joinedAt, final MatchProfile profile) {
+            this.userId = userId;
+            this.number = number;
+            this.joinedAt = joinedAt;
+            this.profile = profile;
+        }
+    }
+
+    private record Command(Type type, String userId, MatchProfile profile, CompletableFuture<Boolean> result) {
+
+        private enum Type {
+            JOIN,
+            CANCEL,
+            TICK
+        }
+    }
+}
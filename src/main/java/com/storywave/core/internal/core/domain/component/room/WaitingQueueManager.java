@@ -1,150 +1,280 @@
 package com.storywave.core.internal.core.domain.component.room;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.ReactiveRedisOperations;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.storywave.core.internal.common.execution.DomainScheduler;
+import com.storywave.core.internal.data.redis.RedisAvailability;
+import com.storywave.core.internal.data.redis.RedisWriteBehindQueue;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.time.Duration;
 import java.util.List;
-import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component 
 public final class WaitingQueueManager {
 
     private static final Logger logger = LoggerFactory.getLogger(WaitingQueueManager.class);
 
-    private final Queue<String> waitingQueue = new ConcurrentLinkedQueue<>();
-    private final Set<String> waitingSet = ConcurrentHashMap.newKeySet();
-    private final Lock reentrantLock = new ReentrantLock();
+    private final MatchmakingEngine matchmakingEngine;
+    private final ClusterMatchmakingQueue clusterQueue;
     private final GameRoomManager gameRoomManager;
-    private final ReactiveRedisOperations<String, Object> redisOperations;
+    private final RedisWriteBehindQueue redisWriteBehindQueue;
+    private final DomainScheduler domainScheduler;
+    private final RedisAvailability redisAvailability;
     private final int requiredUsersForMatching;
+    private final int maxRoundLimit;
+    private final Duration tickInterval;
     private final boolean useRedis;
+    private final Timer waitTimer;
+    private final Counter roomsFormed;
+    private Disposable tickTask;
 
     private static final String WAITING_QUEUE_KEY = "waiting:queue";
 
     public WaitingQueueManager(
             final GameRoomManager gameRoomManager,
-            final ReactiveRedisOperations<String, Object> redisOperations,
-            @Value("${storywave.room.required-users:4}") final int requiredUsersForMatching,
+            final ClusterMatchmakingQueue clusterQueue,
+            final RedisWriteBehindQueue redisWriteBehindQueue,
+            final MeterRegistry meterRegistry,
+            final DomainScheduler domainScheduler,
+            final RedisAvailability redisAvailability,
+            @Value("${storywave.room.min-users:${storywave.room.required-users:4}}") final int minUsers,
+            @Value("${storywave.room.max-users:${storywave.room.required-users:4}}") final int maxUsers,
+            @Value("${storywave.matchmaking.rtt-band-ms:50}") final int rttBandMillis,
+            @Value("${storywave.matchmaking.relax.rtt-after-seconds:10}") final long rttRelaxSeconds,
+            @Value("${storywave.matchmaking.relax.max-round-after-seconds:20}") final long maxRoundRelaxSeconds,
+            @Value("${storywave.matchmaking.relax.locale-after-seconds:30}") final long localeRelaxSeconds,
+            @Value("${storywave.matchmaking.partial-room-after-seconds:15}") final long partialRoomSeconds,
+            @Value("${storywave.matchmaking.max-round-limit:10}") final int maxRoundLimit,
+            @Value("${storywave.matchmaking.tick-ms:1000}") final long tickMillis,
             @Value("${storywave.room.use-redis:true}") final boolean useRedis) {
         this.gameRoomManager = gameRoomManager;
-        this.redisOperations = redisOperations;
-        this.requiredUsersForMatching = requiredUsersForMatching;
+        this.clusterQueue = clusterQueue;
+        this.redisWriteBehindQueue = redisWriteBehindQueue;
+        this.domainScheduler = domainScheduler;
+        this.redisAvailability = redisAvailability;
+        this.requiredUsersForMatching = minUsers;
+        this.maxRoundLimit = maxRoundLimit;
+        this.tickInterval = Duration.ofMillis(tickMillis);
         this.useRedis = useRedis;
+        this.waitTimer = Timer.builder("storywave.matchmaking.wait")
+                .description("대기열 진입부터 매칭까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.roomsFormed = Counter.builder("storywave.matchmaking.rooms.formed")
+                .description("매칭으로 만들어진 방 수")
+                .register(meterRegistry);
+        MatchmakingEngine.Rules rules = new MatchmakingEngine.Rules(
+                minUsers,
+                maxUsers,
+                rttBandMillis,
+                Duration.ofSeconds(rttRelaxSeconds),
+                Duration.ofSeconds(maxRoundRelaxSeconds),
+                Duration.ofSeconds(localeRelaxSeconds),
+                Duration.ofSeconds(partialRoomSeconds));
+        this.matchmakingEngine = new MatchmakingEngine(rules, System::nanoTime, new QueueListener());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (clusterQueue.isEnabled()) {
+            return;
+        }
+        // 기다린 시간에 따른 조건 완화와 부분 방 구성은 주기적인 틱에서 처리한다
+        tickTask = Flux.interval(tickInterval)
+                .onBackpressureDrop()
+                .subscribe(
+                        tick -> matchmakingEngine.tick(),
+                        error -> logger.error("매칭 틱 오류: {}", error.getMessage(), error)
+                );
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (tickTask != null) {
+            tickTask.dispose();
+        }
     }
 
     public Mono<Boolean> addUser(final String userId) {
+        return addUser(userId, MatchProfile.ANY);
+    }
+
+    /**
+     * 매칭 조건과 함께 대기열에 넣는다. 클러스터 모드의 공유 대기열은 조건 없이 참가 순서대로 묶는다.
+     * 허용 범위를 넘는 희망 라운드 수는 기본값으로 본다.
+     */
+    public Mono<Boolean> addUser(final String userId, final MatchProfile profile) {
         // simulation-user는 무시
         if ("simulation-user".equals(userId)) {
             return Mono.just(false);
         }
-        return Mono.fromCallable(() -> {
-            // O(1) 중복 체크
-            if (!waitingSet.add(userId)) {
+        if (clusterQueue.isEnabled()) {
+            // 클러스터 모드에서는 모든 노드가 공유하는 Redis 대기열에서 원자적으로 매칭한다
+            return clusterQueue.offer(userId)
+                    .map(result -> {
+                        if (!result.matched().isEmpty()) {
+                            openRooms(List.of(new MatchmakingEngine.MatchedRoom(Set.copyOf(result.matched()), 0)));
+                        }
+                        return result.added();
+                    });
+        }
+        MatchProfile accepted = profile.maxRound() > maxRoundLimit
+                ? new MatchProfile(profile.locale(), 0, profile.rttMillis())
+                : profile;
+        return domainScheduler.run(Mono.fromFuture(() -> matchmakingEngine.offer(userId, accepted)));
+    }
+
+    /**
+     * 기동 시 Redis 에 남아 있던 대기열을 순서대로 다시 넣는다. 이미 방에 배정된 사용자는 건너뛴다.
+     * Redis 목록은 지우고 다시 쌓으므로 같은 사용자가 두 번 기록되지 않는다. 다시 넣은 사용자 수를 돌려준다.
+     */
+    public Mono<Integer> restoreWaiting(final List<String> userIds) {
+        if (clusterQueue.isEnabled()) {
+            // 클러스터 대기열은 Redis 에만 있으므로 복원할 것이 없다
+            return Mono.just(0);
+        }
+        Mono<Void> reset = useRedis() ? redisWriteBehindQueue.delete(WAITING_QUEUE_KEY) : Mono.empty();
+        return reset.thenMany(Flux.fromIterable(userIds))
+                .filter(userId -> !gameRoomManager.isAssigned(userId))
+                .concatMap(this::addUser)
+                .filter(Boolean::booleanValue)
+                .count()
+                .map(Long::intValue);
+    }
+
+    public Mono<Boolean> removeUser(final String userId) {
+        if (clusterQueue.isEnabled()) {
+            return clusterQueue.cancel(userId);
+        }
+        return domainScheduler.run(Mono.fromFuture(() -> matchmakingEngine.cancel(userId)));
+    }
+
+    public boolean isWaiting(final String userId) {
+        if (clusterQueue.isEnabled()) {
+            if (!clusterQueue.isLocallyWaiting(userId)) {
                 return false;
             }
-            boolean added = waitingQueue.offer(userId);
-            if (!added) {
-                waitingSet.remove(userId); // offer 실패 시 Set 롤백
+            // 다른 노드에서 매칭되어 이미 방을 받았으면 더 이상 대기 중이 아니다
+            if (gameRoomManager.isAssigned(userId)) {
+                clusterQueue.forget(userId);
                 return false;
             }
-            if (added && useRedis) {
-                redisOperations.opsForList().rightPush(WAITING_QUEUE_KEY, userId)
-                        .subscribe(
-                                result -> {},
-                                error -> logger.error("Redis 대기열 추가 오류: {}", error.getMessage())
-                        );
-            }
-            if (added) {
-                matchUsers();
-            }
             return true;
-        });
+        }
+        return matchmakingEngine.isWaiting(userId);
     }
 
-    public Mono<Boolean> removeUser(final String userId) {
-        return Mono.fromCallable(() -> {
-            boolean removed = waitingQueue.remove(userId);
-            waitingSet.remove(userId); // Set에서도 항상 제거
-            if (removed && useRedis) {
-                redisOperations.opsForList().remove(WAITING_QUEUE_KEY, 0, userId)
-                        .subscribe(
-                                result -> {},
-                                error -> logger.error("Redis 대기열 삭제 오류: {}", error.getMessage())
-                        );
-            }
-            return removed;
-        });
+    public int getWaitingCount() {
+        if (clusterQueue.isEnabled()) {
+            return clusterQueue.getWaitingCount();
+        }
+        return matchmakingEngine.getWaitingCount();
     }
 
-    public int getWaitingCount() {
-        return waitingQueue.size();
+    /**
+     * 대기 순번 추정치(1부터). 대기 중이 아니거나, 순번을 Redis 에서만 알 수 있는 클러스터 모드에서는 0.
+     */
+    public int getQueuePosition(final String userId) {
+        if (clusterQueue.isEnabled()) {
+            return 0;
+        }
+        return matchmakingEngine.getPosition(userId);
     }
 
+    /**
+     * 방을 만들 수 있는 최소 인원.
+     */
     public int getRequiredUsersForMatching() {
         return requiredUsersForMatching;
     }
 
-    private void matchUsers() {
-        // 동시성 제어: 대기열 조작에만 Lock 최소화
-        if (!reentrantLock.tryLock()) {
-            return;
+    /**
+     * 설정으로 켜져 있고 기동 시 확인에서 Redis 에 닿은 경우에만 대기열을 Redis 에 기록한다.
+     */
+    private boolean useRedis() {
+        return useRedis && redisAvailability.isAvailable();
+    }
+
+    /**
+     * 매칭된 사용자로 방을 만들고 게임을 시작한 뒤, 클러스터의 다른 노드에 알린다.
+     */
+    private void openRooms(final List<MatchmakingEngine.MatchedRoom> rooms) {
+        for (MatchmakingEngine.MatchedRoom matched : rooms) {
+            Set<String> userSet = matched.userIds();
+            gameRoomManager.createRoom(userSet, matched.maxRound()).subscribe(room -> {
+                roomsFormed.increment();
+                room.setActive(true);
+                room.startGame();
+                gameRoomManager.announceRoom(room);
+                logger.info("방이 생성되고 게임이 시작되었습니다. ID: {}, 참여자: {}", room.getId(), userSet);
+            });
         }
-        List<String> matchedUsers = new ArrayList<>();
-        try {
-            // 필요한 인원이 모이지 않았으면 리턴
-            if (waitingQueue.size() < requiredUsersForMatching) {
-                return;
-            }
-            // 필요한 인원만큼 대기열에서 추출
-            for (int i = 0; i < requiredUsersForMatching; i++) {
-                String userId = waitingQueue.poll();
-                if (userId == null) {
-                    break;
-                }
-                // simulation-user는 매칭에서 제외
-                if ("simulation-user".equals(userId)) {
-                    continue;
-                }
-                matchedUsers.add(userId);
-                waitingSet.remove(userId); // Set에서도 제거
+    }
+
+    /**
+     * 매칭 엔진의 드레인 스레드에서 순서대로 호출되므로 Redis 대기열 반영 순서가 메모리 상태와 일치한다.
+     * 플러시 전에 매칭된 사용자의 RPUSH/LREM 은 쓰기 지연 큐에서 서로 상쇄된다.
+     */
+    private final class QueueListener implements MatchmakingEngine.Listener {
+
+        @Override
+        public void onJoined(final String userId) {
+            if (useRedis()) {
+                redisWriteBehindQueue.rightPush(WAITING_QUEUE_KEY, userId)
+                        .subscribe(
+                                result -> {},
+                                error -> logger.error("Redis 대기열 추가 오류: {}", error.getMessage())
+                        );
             }
-            // 인원이 부족하면 다시 대기열에 추가
-            if (matchedUsers.size() < requiredUsersForMatching) {
-                waitingQueue.addAll(matchedUsers);
-                waitingSet.addAll(matchedUsers);
-                return;
+        }
+
+        @Override
+        public void onCancelled(final String userId) {
+            if (useRedis()) {
+                redisWriteBehindQueue.removeFromList(WAITING_QUEUE_KEY, userId)
+                        .subscribe(
+                                result -> {},
+                                error -> logger.error("Redis 대기열 삭제 오류: {}", error.getMessage())
+                        );
             }
-        } finally {
-            reentrantLock.unlock();
         }
-        // 방 생성 및 게임 시작(이 부분은 Lock 밖에서 처리)
-        final Set<String> userSet = new HashSet<>(matchedUsers);
-        gameRoomManager.createRoom(userSet).subscribe(room -> {
-            room.setActive(true);
-            room.startGame();
-            logger.info("방이 생성되고 게임이 시작되었습니다. ID: {}, 참여자: {}", room.getId(), userSet);
-            // Redis에서 대기열 삭제
-            if (useRedis) {
-                for (String userId : userSet) {
-                    redisOperations.opsForList().remove(WAITING_QUEUE_KEY, 0, userId)
-                            .subscribe(
-                                    result -> {},
-                                    error -> logger.error("방 생성 후 Redis 대기열 삭제 오류: {}", error.getMessage())
-                            );
+
+        @Override
+        public void onWaitCompleted(final long waitedNanos) {
+            waitTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void onMatched(final List<MatchmakingEngine.MatchedRoom> rooms) {
+            // 방 생성 및 게임 시작
+            openRooms(rooms);
+
+            for (MatchmakingEngine.MatchedRoom matched : rooms) {
+                // Redis에서 대기열 삭제
+                if (useRedis()) {
+                    for (String userId : matched.userIds()) {
+                        redisWriteBehindQueue.removeFromList(WAITING_QUEUE_KEY, userId)
+                                .subscribe(
+                                        result -> {},
+                                        error -> logger.error("방 생성 후 Redis 대기열 삭제 오류: {}", error.getMessage())
+                                );
+                    }
                 }
             }
-        });
+        }
     }
 }
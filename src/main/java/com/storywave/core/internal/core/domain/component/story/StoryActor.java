@@ -0,0 +1,100 @@
+package com.storywave.core.internal.core.domain.component.story;
+
+import com.storywave.core.internal.core.domain.model.story.Story;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 스토리 하나의 모든 변경을 순서대로 처리하는 경량 액터.
+ * <p>
+ * 명령은 MPSC 메일박스에 쌓이고, 처리할 명령이 생기면 공유 스케줄러에 드레인 작업을 한 번만 예약한다.
+ * 한 스토리의 명령은 항상 한 번에 하나씩 실행되므로 {@link Story} 는 잠금 없이 변경되고,
+ * 서로 다른 스토리는 스케줄러의 여러 워커에서 동시에 처리된다.
+ * 읽는 쪽은 액터를 거치지 않고 {@link Story#getSnapshot()} 으로 마지막 스냅샷을 본다.
+ */
+final class StoryActor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoryActor.class);
+
+    private final Story story;
+    private final Scheduler scheduler;
+    private final int batchSize;
+    private final StoryEventLog events;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    StoryActor(final Story story, final Scheduler scheduler, final int batchSize, final int replayBufferSize) {
+        this.story = story;
+        this.scheduler = scheduler;
+        this.batchSize = batchSize;
+        this.events = new StoryEventLog(replayBufferSize, story.getSequence());
+    }
+
+    /**
+     * 읽기 전용으로만 사용해야 한다. 변경은 {@link #ask(Function)} 로 한다.
+     */
+    Story story() {
+        return story;
+    }
+
+    /**
+     * 최근 델타 이벤트. 기록은 액터 안에서만 한다.
+     */
+    StoryEventLog events() {
+        return events;
+    }
+
+    /**
+     * 액터 스레드에서 명령을 실행하고 결과를 돌려준다. 구독 시점에 메일박스에 들어간다.
+     * 명령이 null 을 반환하면 빈 Mono 로 완료된다.
+     */
+    <T> Mono<T> ask(final Function<Story, T> command) {
+        return Mono.create(sink -> tell(() -> {
+            T result;
+            try {
+                result = command.apply(story);
+            } catch (Throwable e) {
+                sink.error(e);
+                return;
+            }
+            sink.success(result);
+        }));
+    }
+
+    private void tell(final Runnable command) {
+        mailbox.offer(command);
+        if (wip.getAndIncrement() == 0) {
+            scheduler.schedule(this::drain);
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            int processed = 0;
+            Runnable command;
+            while ((command = mailbox.poll()) != null) {
+                try {
+                    command.run();
+                } catch (Throwable e) {
+                    logger.error("스토리 명령 처리 오류: storyId={}, {}", story.getId(), e.getMessage(), e);
+                }
+
+                // 한 스토리가 워커를 독점하지 않도록 일정 개수마다 양보한다
+                if (++processed == batchSize) {
+                    scheduler.schedule(this::drain);
+                    return;
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
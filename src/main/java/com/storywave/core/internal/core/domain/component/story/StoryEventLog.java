@@ -0,0 +1,77 @@
+package com.storywave.core.internal.core.domain.component.story;
+
+import com.storywave.core.internal.core.domain.event.story.StoryEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스토리 하나의 최근 델타 이벤트를 시퀀스 순서로 담아 두는 고정 크기 링 버퍼.
+ * <p>
+ * 쓰기는 스토리 액터 안에서만 일어나고(단일 작성자), 읽기는 잠금 없이 아무 스레드에서나 한다.
+ * 슬롯을 먼저 쓰고 volatile {@code last} 를 나중에 갱신하므로, {@code last} 를 읽은 쪽은 그때까지의 슬롯을 본다.
+ * 읽는 사이 슬롯이 덮어써졌는지는 이벤트의 시퀀스로 확인한다.
+ */
+final class StoryEventLog {
+
+    private final StoryEvent[] ring;
+
+    // 버퍼에 남아 있는 가장 오래된 시퀀스와 마지막으로 기록한 시퀀스
+    private volatile long first;
+    private volatile long last;
+
+    StoryEventLog(final int capacity, final long startSequence) {
+        this.ring = new StoryEvent[Math.max(0, capacity)];
+        this.first = startSequence + 1;
+        this.last = startSequence;
+    }
+
+    /**
+     * 델타 이벤트를 기록한다. 액터 안에서만 호출한다.
+     */
+    void append(final StoryEvent event) {
+        long sequence = event.getSequence();
+        if (sequence <= last) {
+            return;
+        }
+        if (sequence != last + 1) {
+            // 건너뛴 구간은 돌려줄 수 없으므로 이전 기록을 버린다
+            first = sequence;
+        }
+        if (ring.length == 0) {
+            first = sequence + 1;
+            last = sequence;
+            return;
+        }
+        ring[slot(sequence)] = event;
+        if (sequence - first >= ring.length) {
+            first = sequence - ring.length + 1;
+        }
+        last = sequence;
+    }
+
+    /**
+     * lastSequence 다음부터 마지막까지의 이벤트. 이미 버퍼에서 밀려났거나 아직 없는 시퀀스면 null.
+     */
+    List<StoryEvent> since(final long lastSequence) {
+        long end = last;
+        long start = first;
+        if (lastSequence > end || lastSequence + 1 < start) {
+            return null;
+        }
+        List<StoryEvent> events = new ArrayList<>((int) (end - lastSequence));
+        for (long sequence = lastSequence + 1; sequence <= end; sequence++) {
+            StoryEvent event = ring[slot(sequence)];
+            if (event == null || event.getSequence() != sequence) {
+                // 읽는 사이 새 이벤트로 덮어써졌다
+                return null;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    private int slot(final long sequence) {
+        return (int) Math.floorMod(sequence, (long) ring.length);
+    }
+}
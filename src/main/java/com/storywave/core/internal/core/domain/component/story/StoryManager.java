@@ -1,52 +1,185 @@
 package com.storywave.core.internal.core.domain.component.story;
 
+import com.storywave.core.internal.common.execution.DomainScheduler;
+import com.storywave.core.internal.core.domain.component.cluster.ClusterMessageBus;
+import com.storywave.core.internal.core.domain.component.cluster.ClusterMessages;
+import com.storywave.core.internal.core.domain.component.cluster.ClusterNode;
+import com.storywave.core.internal.core.domain.component.cluster.RoomOwnership;
+import com.storywave.core.internal.core.domain.component.event.KeyedEventRouter;
+import com.storywave.core.internal.core.domain.event.story.StoryEvent;
 import com.storywave.core.internal.core.domain.model.room.GameRoom;
 import com.storywave.core.internal.core.domain.model.story.Story;
+import com.storywave.core.internal.core.domain.model.story.StorySnapshot;
+import com.storywave.core.internal.data.archive.ArchivedStory;
+import com.storywave.core.internal.data.archive.StoryArchive;
+import com.storywave.core.internal.data.journal.StoryJournal;
+import com.storywave.core.internal.data.redis.RedisAvailability;
+import com.storywave.core.internal.data.redis.RedisWriteBehindQueue;
+import com.storywave.core.internal.data.repository.story.RedisStoryRepository;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.ReactiveRedisOperations;
-import org.springframework.messaging.rsocket.RSocketRequester;
 import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class StoryManager {
     
-    private static final String STORY_KEY_PREFIX = "story:";
+    private static final Logger logger = LoggerFactory.getLogger(StoryManager.class);
     
-    private final Map<String, Story> stories = new ConcurrentHashMap<>();
+    // 스토리마다 하나의 액터가 모든 변경을 순서대로 처리한다
+    private final Map<String, StoryActor> actors = new ConcurrentHashMap<>();
     
-    private final Sinks.Many<Story> storySink = Sinks.many().multicast().onBackpressureBuffer();
+    // 스토리 이벤트(델타)는 방 ID 별로 라우팅되어 해당 방 구독자에게만 전달된다
+    private final KeyedEventRouter<StoryEvent> storyEventRouter;
 
-    private final Map<String, List<RSocketRequester>> rSocketRequesters = new ConcurrentHashMap<>();
+    // 클러스터 모드에서 다른 노드가 소유한 스토리. 소유 노드의 변경을 릴레이로 받아 따라가기만 한다
+    private final Set<String> replicas = ConcurrentHashMap.newKeySet();
     
-    private final ReactiveRedisOperations<String, Object> redisOperations;
+    private final RedisStoryRepository redisStoryRepository;
+    private final RedisWriteBehindQueue redisWriteBehindQueue;
+    private final TurnDeadlineScheduler turnDeadlineScheduler;
+    private final ClusterNode clusterNode;
+    private final ClusterMessageBus clusterMessageBus;
+    private final RoomOwnership roomOwnership;
+    private final DomainScheduler domainScheduler;
+    private final RedisAvailability redisAvailability;
+    private final StoryArchive storyArchive;
+    private final StoryJournal storyJournal;
+    private final Disposable.Composite clusterSubscriptions = Disposables.composite();
+    private final Timer lineLatency;
+    private final Counter linesAccepted;
+    private final Counter linesRejected;
+    private final boolean fillOnTimeout;
+    private final String timeoutFillText;
+    private final Scheduler actorScheduler;
+    private final int actorBatchSize;
+    private final int replayBufferSize;
+    private final AtomicLong rehydratedCount = new AtomicLong();
     private final boolean useRedis;
     private final int defaultMaxRound;
     
     public StoryManager(
-            final ReactiveRedisOperations<String, Object> redisOperations,
+            final RedisStoryRepository redisStoryRepository,
+            final RedisWriteBehindQueue redisWriteBehindQueue,
+            final TurnDeadlineScheduler turnDeadlineScheduler,
+            final ClusterNode clusterNode,
+            final ClusterMessageBus clusterMessageBus,
+            final RoomOwnership roomOwnership,
+            final MeterRegistry meterRegistry,
+            final DomainScheduler domainScheduler,
+            final RedisAvailability redisAvailability,
+            final StoryArchive storyArchive,
+            final StoryJournal storyJournal,
             @Value("${storywave.story.use-redis:true}") final boolean useRedis,
-            @Value("${storywave.story.default-max-round:3}") final int defaultMaxRound) {
-        this.redisOperations = redisOperations;
+            @Value("${storywave.story.default-max-round:3}") final int defaultMaxRound,
+            @Value("${storywave.event.subscriber-buffer-size:256}") final int subscriberBufferSize,
+            @Value("${storywave.story.actor.threads:0}") final int actorThreads,
+            @Value("${storywave.story.actor.batch-size:64}") final int actorBatchSize,
+            @Value("${storywave.story.replay-buffer-size:128}") final int replayBufferSize,
+            @Value("${storywave.story.turn-timeout.action:skip}") final String timeoutAction,
+            @Value("${storywave.story.turn-timeout.fill-text:...}") final String timeoutFillText) {
+        this.redisStoryRepository = redisStoryRepository;
+        this.redisWriteBehindQueue = redisWriteBehindQueue;
+        this.turnDeadlineScheduler = turnDeadlineScheduler;
+        this.clusterNode = clusterNode;
+        this.clusterMessageBus = clusterMessageBus;
+        this.roomOwnership = roomOwnership;
+        this.domainScheduler = domainScheduler;
+        this.redisAvailability = redisAvailability;
+        this.storyArchive = storyArchive;
+        this.storyJournal = storyJournal;
+        this.fillOnTimeout = "fill".equalsIgnoreCase(timeoutAction);
+        this.timeoutFillText = timeoutFillText;
         this.useRedis = useRedis;
         this.defaultMaxRound = defaultMaxRound;
+        this.storyEventRouter = new KeyedEventRouter<>(subscriberBufferSize);
+        // 0 이면 코어 수만큼의 워커를 모든 스토리 액터가 공유한다
+        int threads = actorThreads > 0 ? actorThreads : Runtime.getRuntime().availableProcessors();
+        this.actorScheduler = Schedulers.newParallel("story-actor", threads);
+        this.actorBatchSize = actorBatchSize;
+        this.replayBufferSize = replayBufferSize;
+        this.lineLatency = Timer.builder("storywave.story.line.latency")
+                .description("라인 추가 요청부터 반영(또는 거절)까지 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.linesAccepted = Counter.builder("storywave.story.lines")
+                .tag("result", "accepted")
+                .register(meterRegistry);
+        this.linesRejected = Counter.builder("storywave.story.lines")
+                .tag("result", "rejected")
+                .register(meterRegistry);
     }
     
+    @PostConstruct
+    public void start() {
+        if (!clusterNode.isEnabled()) {
+            return;
+        }
+        clusterSubscriptions.add(clusterMessageBus.listen(ClusterMessageBus.STORY_EVENTS_CHANNEL, ClusterMessages.StoryRelayed.class)
+                .filter(message -> !clusterNode.isSelf(message.originNodeId()))
+                .subscribe(
+                        this::applyRelayed,
+                        error -> logger.error("스토리 릴레이 수신 오류: {}", error.getMessage())
+                ));
+        clusterSubscriptions.add(clusterMessageBus.listen(ClusterMessageBus.commandsChannel(clusterNode.getNodeId()), ClusterMessages.StoryCommand.class)
+                .flatMap(command -> handleCommand(command)
+                        .onErrorResume(error -> {
+                            logger.error("클러스터 스토리 명령 처리 오류: type={}, roomId={}, {}",
+                                    command.type(), command.roomId(), error.getMessage());
+                            return Mono.just(false);
+                        })
+                        .flatMap(success -> clusterMessageBus.reply(command, success)))
+                .subscribe(
+                        unused -> {},
+                        error -> logger.error("클러스터 스토리 명령 수신 오류: {}", error.getMessage())
+                ));
+        clusterSubscriptions.add(roomOwnership.lostOwnerships().subscribe(this::demote));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        clusterSubscriptions.dispose();
+        actorScheduler.dispose();
+    }
+    
+    /**
+     * 방의 스토리를 만든다. 클러스터 모드에서 다른 노드가 방을 소유하고 있으면 그 노드에 생성을 맡기고 복제본을 읽어 온다.
+     */
     public Mono<Story> createStory(final GameRoom room) {
-        return Mono.fromCallable(() -> {
+        return roomOwnership.resolveOwner(room.getId())
+                .flatMap(owner -> clusterNode.isSelf(owner) ? createOwnedStory(room) : createRemoteStory(owner, room));
+    }
+    
+    private Mono<Story> createOwnedStory(final GameRoom room) {
+        return domainScheduler.run(Mono.fromCallable(() -> {
             String roomId = room.getId();
 
             
-            if (stories.containsKey(roomId)) {
-                return stories.get(roomId);
+            StoryActor existing = actors.get(roomId);
+            if (existing != null) {
+                return existing.story();
             }
             
             
@@ -60,69 +193,441 @@ public class StoryManager {
                     filteredUserIds.add(id);
                 }
             }
-            Story story = new Story(roomId, filteredUserIds, startingPrompt, defaultMaxRound);
-            
-            
-            stories.put(roomId, story);
-            
+            int maxRound = room.getMaxRound() > 0 ? room.getMaxRound() : defaultMaxRound;
+            Story story = new Story(roomId, filteredUserIds, startingPrompt, maxRound);
             
-            if (useRedis) {
-                saveStoryToRedis(story);
-            }
             
-            return story;
-        });
+            return register(story, true).story();
+        })).flatMap(story -> saveNewStory(story).thenReturn(story));
+    }
+    
+    private Mono<Story> createRemoteStory(final String owner, final GameRoom room) {
+        return clusterMessageBus.request(owner, ClusterMessages.StoryCommand.create(clusterNode.getNodeId(), room))
+                .filter(Boolean::booleanValue)
+                .flatMap(created -> findActor(room.getId()))
+                .map(StoryActor::story);
     }
     
     public Mono<Story> getStoryByRoomId(final String roomId) {
-        Story story = stories.get(roomId);
-        return story != null ? Mono.just(story) : Mono.empty();
+        return findActor(roomId).map(StoryActor::story);
+    }
+    
+    private Mono<StoryActor> findActor(final String roomId) {
+        StoryActor actor = actors.get(roomId);
+        if (actor != null) {
+            return Mono.just(actor);
+        }
+        if (!useRedis()) {
+            return Mono.empty();
+        }
+        // 메모리에 없으면 (보관된 스토리 포함) Redis 에 기록된 조각으로 복원한다
+        // 다른 노드가 소유한 스토리는 복제본으로 올린다
+        return roomOwnership.isLocal(roomId)
+                .flatMap(owned -> redisStoryRepository.load(roomId)
+                        .doOnNext(loaded -> rehydratedCount.incrementAndGet())
+                        .map(loaded -> register(loaded, owned))
+                        // 없는 스토리의 소유권은 잡아 두지 않는다
+                        .switchIfEmpty(owned ? roomOwnership.release(roomId).then(Mono.<StoryActor>empty()) : Mono.<StoryActor>empty()));
+    }
+    
+    /**
+     * 메모리에 올라와 있는 스토리를 즉시 반환한다. 없으면 null.
+     */
+    public Story findLoadedStory(final String roomId) {
+        StoryActor actor = actors.get(roomId);
+        return actor != null ? actor.story() : null;
     }
     
     public Mono<Story> getStoryById(final String storyId) {
         return getStoryByRoomId(storyId); 
     }
+
+    /**
+     * 메모리에서 내려 보관소에 담긴 완료 스토리. 메모리에 올라와 있거나 보관소에 없으면 null.
+     * 조회만 할 때는 이쪽을 먼저 보면 Redis 에서 스토리를 다시 올리지 않아도 된다.
+     */
+    public ArchivedStory findArchivedStory(final String storyId) {
+        if (actors.containsKey(storyId)) {
+            return null;
+        }
+        return storyArchive.find(storyId);
+    }
     
+    /**
+     * 라인을 추가한다. 클러스터 모드에서 다른 노드가 스토리를 소유하고 있으면 그 노드로 전달한다.
+     */
     public Mono<Boolean> addStoryLine(final String storyId, final String userId, final String content) {
-        return Mono.fromCallable(() -> {
-            Story story = stories.get(storyId);
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return routeLine(storyId, userId, content)
+                    .doOnNext(added -> {
+                        lineLatency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                        (added ? linesAccepted : linesRejected).increment();
+                    });
+        });
+    }
 
-            if (story == null) {
-                return false;
-            }
-            
-            boolean success = story.addLine(userId, content);
-            
-            if (success) {
-                
-                if (useRedis) {
-                    saveStoryToRedis(story);
-                }
+    /**
+     * 소유 노드를 찾아 라인을 추가한다. 다른 노드에서 전달된 요청은 요청한 노드에서 이미 측정했으므로 여기로 바로 들어온다.
+     */
+    private Mono<Boolean> routeLine(final String storyId, final String userId, final String content) {
+        // 보관된 스토리는 이미 완료됐으므로 다시 올리지 않고 거절한다
+        if (!actors.containsKey(storyId) && storyArchive.contains(storyId)) {
+            return Mono.just(false);
+        }
+        return roomOwnership.resolveOwner(storyId)
+                .flatMap(owner -> clusterNode.isSelf(owner)
+                        ? findActor(storyId).map(this::promote).flatMap(actor -> addLine(actor, userId, content))
+                        : clusterMessageBus.request(owner,
+                                ClusterMessages.StoryCommand.addLine(clusterNode.getNodeId(), storyId, userId, content)))
+                .defaultIfEmpty(false);
+    }
 
-                List<RSocketRequester> requesters = rSocketRequesters.get(storyId);
+    /**
+     * 기동 시 Redis 에서 읽은 스토리를 소유 스토리로 등록한다. 진행 중이면 현재 턴의 마감을 새로 잡는다.
+     */
+    public void restoreStory(final Story story) {
+        register(story, true);
+    }
 
-                storySink.tryEmitNext(story);
+    /**
+     * 기동 시 로컬 저널에서 되살린 스토리를 올린다. 완료된 스토리는 메모리 대신 보관소에 담고,
+     * 보관소에 담지 못하면 메모리에 올려 메모리 정리 때 내린다.
+     */
+    public void restoreJournaled(final Story story) {
+        if (story.isCompleted() && storyArchive.put(story)) {
+            return;
+        }
+        register(story, true);
+    }
 
-                Flux.fromIterable(requesters)
-                        .doOnNext(requester -> {
-                            requester.route("story.update")
-                                    .data(story)
-                                    .send()
-                                    .subscribe();
-                        })
-                        .subscribe();
+    public int getLoadedStoryCount() {
+        return actors.size();
+    }
+    
+    public long getRehydratedCount() {
+        return rehydratedCount.get();
+    }
+    
+    /**
+     * 완료된 뒤 completedTtl, 또는 마지막 변경 뒤 idleTtl 이 지난 스토리의 ID.
+     */
+    public List<String> findExpiredStories(final LocalDateTime now, final Duration completedTtl, final Duration idleTtl) {
+        List<String> expired = new ArrayList<>();
+        for (StoryActor actor : actors.values()) {
+            StorySnapshot snapshot = actor.story().getSnapshot();
+            Duration idle = Duration.between(snapshot.lastUpdatedAt(), now);
+            if (idle.compareTo(snapshot.completed() ? completedTtl : idleTtl) >= 0) {
+                expired.add(actor.story().getId());
             }
-            
-            return success;
+        }
+        return expired;
+    }
+    
+    /**
+     * 스토리의 Redis 키에 보관 기간을 설정한다. 실제 반영은 쓰기 지연 큐가 플러시될 때 이루어진다.
+     */
+    public Mono<Void> archiveStory(final String storyId, final Duration retention) {
+        // 복제본의 Redis 키는 소유 노드가 정리한다
+        if (!useRedis() || replicas.contains(storyId)) {
+            return Mono.empty();
+        }
+        return redisStoryRepository.archive(storyId, retention);
+    }
+    
+    /**
+     * 스토리를 메모리에서 내린다. 액터 안에서 처리해 이미 접수된 명령이 먼저 끝나게 하고,
+     * 턴 마감과 구독 채널도 함께 정리한다. 완료된 스토리는 보관소에 담아 조회에 쓰고,
+     * 그 밖의 이후 요청은 Redis 에서 다시 읽어 온다.
+     */
+    public Mono<Boolean> evictStory(final String storyId) {
+        StoryActor actor = actors.get(storyId);
+        if (actor == null) {
+            return Mono.just(false);
+        }
+        return actor.ask(story -> {
+            // 내리기 전에 보관해 두어 그 사이 조회가 Redis 로 넘어가지 않게 한다
+            if (story.isCompleted()) {
+                storyArchive.put(story);
+            }
+            boolean removed = actors.remove(storyId, actor);
+            if (removed) {
+                turnDeadlineScheduler.cancel(storyId);
+                storyEventRouter.complete(story.getRoomId());
+                if (!replicas.remove(storyId)) {
+                    roomOwnership.release(storyId).subscribe(
+                            result -> {},
+                            error -> logger.error("스토리 소유권 반환 오류: storyId={}, {}", storyId, error.getMessage())
+                    );
+                }
+            }
+            return removed;
+        }).defaultIfEmpty(false);
+    }
+    
+    /**
+     * 같은 방에 이미 등록된 스토리가 있으면 그 스토리를 사용한다. 소유하지 않은 스토리는 복제본으로 등록하고 턴 마감을 잡지 않는다.
+     */
+    private StoryActor register(final Story story, final boolean owned) {
+        boolean[] created = new boolean[1];
+        StoryActor actor = actors.computeIfAbsent(story.getRoomId(), roomId -> {
+            created[0] = true;
+            if (!owned) {
+                replicas.add(roomId);
+            }
+            return new StoryActor(story, actorScheduler, actorBatchSize, replayBufferSize);
         });
+        if (created[0] && owned) {
+            // 첫 턴의 마감도 액터 안에서 등록해 이후 턴 변경과 순서가 섞이지 않게 한다
+            actor.ask(registered -> {
+                scheduleTurnDeadline(actor, registered);
+                return null;
+            }).subscribe();
+        }
+        return actor;
+    }
+
+    /**
+     * 라인 추가, 이벤트 발행, 저장 요청까지 스토리 액터 안에서 처리해 시퀀스 순서가 그대로 유지되게 한다.
+     */
+    private Mono<Boolean> addLine(final StoryActor actor, final String userId, final String content) {
+        return actor.ask(story -> {
+                    if (!story.addLine(userId, content)) {
+                        return null;
+                    }
+
+                    // 전체 스토리 대신 새 라인과 턴 변화만 전달한다
+                    Story.StoryLine line = story.getLastLine();
+                    StoryEvent event = StoryEvent.lineAdded(story, line);
+                    publish(actor, event);
+                    relay(event);
+                    scheduleTurnDeadline(actor, story);
+
+                    // 쓰기 지연 큐(또는 로컬 저널)에도 액터 안에서 넣어 기록 순서가 라인 순서와 같게 한다
+                    Mono<Void> persisted = saveLine(story, line).cache();
+                    persisted.subscribe(
+                            result -> {},
+                            error -> logger.error("스토리 라인 저장 오류: storyId={}, {}", story.getId(), error.getMessage())
+                    );
+                    return persisted;
+                })
+                .flatMap(persisted -> persisted.thenReturn(true))
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * 현재 턴의 마감을 다시 잡는다. 마감 콜백은 등록 당시의 시퀀스를 기억하고, 그 사이 턴이 바뀌었으면 아무것도 하지 않는다.
+     * 스토리가 끝났으면 마감을 취소한다. 액터 안에서만 호출한다.
+     */
+    private void scheduleTurnDeadline(final StoryActor actor, final Story story) {
+        if (story.isCompleted()) {
+            turnDeadlineScheduler.cancel(story.getId());
+            return;
+        }
+        long expectedSequence = story.getSequence();
+        turnDeadlineScheduler.schedule(story.getId(), () -> actor.ask(current -> {
+                    if (current.getSequence() != expectedSequence) {
+                        return null;
+                    }
+                    onTurnTimeout(actor, current);
+                    return null;
+                })
+                .subscribe(
+                        result -> {},
+                        error -> logger.error("턴 마감 처리 오류: storyId={}, {}", story.getId(), error.getMessage())
+                ));
+    }
+
+    /**
+     * 마감이 지난 플레이어의 차례를 건너뛰거나(skip) 정해진 문장으로 채우고(fill) TURN_TIMEOUT 이벤트를 발행한다.
+     */
+    private void onTurnTimeout(final StoryActor actor, final Story story) {
+        String timedOutPlayerId = story.getCurrentPlayerId();
+        Story.StoryLine filledLine = null;
+        if (fillOnTimeout && timedOutPlayerId != null && story.addLine(timedOutPlayerId, timeoutFillText)) {
+            filledLine = story.getLastLine();
+        } else if (!story.skipTurn()) {
+            return;
+        }
+        logger.info("턴 마감 초과: storyId={}, userId={}, action={}", story.getId(), timedOutPlayerId,
+                filledLine != null ? "fill" : "skip");
+
+        StoryEvent event = StoryEvent.turnTimeout(story, timedOutPlayerId, filledLine);
+        publish(actor, event);
+        relay(event);
+        scheduleTurnDeadline(actor, story);
+
+        Mono<Void> persisted = filledLine != null ? saveLine(story, filledLine) : saveSkippedTurn(story);
+        persisted.subscribe(
+                result -> {},
+                error -> logger.error("턴 마감 상태 저장 오류: storyId={}, {}", story.getId(), error.getMessage())
+        );
+    }
+
+    /**
+     * 델타 이벤트를 재전송 버퍼에 남기고 구독자에게 발행한다. 액터 안에서만 호출한다.
+     */
+    private void publish(final StoryActor actor, final StoryEvent event) {
+        actor.events().append(event);
+        storyEventRouter.publish(event.getRoomId(), event);
+    }
+
+    /**
+     * 소유 노드의 변경을 다른 노드로 보낸다. 액터 안에서 호출해 발행 순서가 시퀀스 순서와 같게 한다.
+     */
+    private void relay(final StoryEvent event) {
+        if (!clusterNode.isEnabled()) {
+            return;
+        }
+        clusterMessageBus.publish(ClusterMessageBus.STORY_EVENTS_CHANNEL, ClusterMessages.StoryRelayed.of(clusterNode.getNodeId(), event))
+                .subscribe(
+                        result -> {},
+                        error -> logger.error("스토리 릴레이 발행 오류: storyId={}, {}", event.getStoryId(), error.getMessage())
+                );
+    }
+
+    /**
+     * 다른 노드에서 온 변경을 복제본에 적용하고 이 노드의 구독자에게 전달한다.
+     * 이미 반영된 변경은 무시하고, 누락이 있으면 복제본을 버리고 Redis 에서 다시 읽는다.
+     */
+    private void applyRelayed(final ClusterMessages.StoryRelayed message) {
+        String roomId = message.roomId();
+        StoryActor actor = actors.get(roomId);
+        if (actor == null || !replicas.contains(roomId)) {
+            // 이 노드에 올라와 있지 않으면 나중에 필요할 때 Redis 에서 읽는다
+            return;
+        }
+        actor.ask(story -> {
+                    long current = story.getSequence();
+                    if (message.sequence() <= current) {
+                        return null;
+                    }
+                    boolean applied = message.sequence() == current + 1 && (message.lineUserId() != null
+                            ? story.addLine(message.lineUserId(), message.lineContent())
+                            : story.skipTurn());
+                    if (!applied || story.getSequence() != message.sequence()) {
+                        resyncReplica(actor);
+                        return null;
+                    }
+
+                    Story.StoryLine line = message.lineUserId() != null ? story.getLastLine() : null;
+                    StoryEvent event = message.type() == StoryEvent.EventType.TURN_TIMEOUT
+                            ? StoryEvent.turnTimeout(story, message.timedOutPlayerId(), line)
+                            : StoryEvent.lineAdded(story, line);
+                    publish(actor, event);
+                    return null;
+                })
+                .subscribe(
+                        result -> {},
+                        error -> logger.error("스토리 릴레이 적용 오류: roomId={}, {}", roomId, error.getMessage())
+                );
+    }
+
+    /**
+     * 복제본을 내리고 Redis 에서 다시 읽은 뒤 스냅샷 이벤트를 보내 구독자가 다시 맞추게 한다. 액터 안에서 호출한다.
+     * 소유 노드의 쓰기 지연 큐가 아직 비워지지 않았으면 다시 읽은 상태도 뒤처질 수 있으며, 다음 릴레이에서 한 번 더 맞춘다.
+     */
+    private void resyncReplica(final StoryActor actor) {
+        String roomId = actor.story().getRoomId();
+        if (!actors.remove(roomId, actor)) {
+            return;
+        }
+        replicas.remove(roomId);
+        logger.info("복제본 시퀀스 누락, Redis 에서 다시 읽음: roomId={}, seq={}", roomId, actor.story().getSequence());
+        findActor(roomId)
+                .subscribe(
+                        reloaded -> storyEventRouter.publish(roomId,
+                                StoryEvent.snapshot(StoryEvent.EventType.SNAPSHOT, reloaded.story())),
+                        error -> logger.error("복제본 재동기화 오류: roomId={}, {}", roomId, error.getMessage())
+                );
+    }
+
+    /**
+     * 소유권을 새로 얻은 복제본을 소유 스토리로 바꾸고 턴 마감을 잡는다.
+     */
+    private StoryActor promote(final StoryActor actor) {
+        if (replicas.remove(actor.story().getRoomId())) {
+            actor.ask(story -> {
+                scheduleTurnDeadline(actor, story);
+                return null;
+            }).subscribe();
+        }
+        return actor;
+    }
+
+    /**
+     * 소유권을 잃은 스토리를 복제본으로 바꾼다. 이후 변경은 새 소유 노드에서 릴레이로 받는다.
+     */
+    private void demote(final String roomId) {
+        StoryActor actor = actors.get(roomId);
+        if (actor == null) {
+            return;
+        }
+        actor.ask(story -> {
+            replicas.add(roomId);
+            turnDeadlineScheduler.cancel(story.getId());
+            return null;
+        }).subscribe();
+    }
+
+    private Mono<Boolean> handleCommand(final ClusterMessages.StoryCommand command) {
+        return switch (command.type()) {
+            case CREATE -> createStory(new GameRoom(command.roomId(), Set.copyOf(command.userIds()), LocalDateTime.now(), command.maxRound()))
+                    // 요청한 노드가 바로 Redis 에서 읽을 수 있도록 쓰기 지연 큐를 비운다
+                    .flatMap(story -> redisWriteBehindQueue.flush().thenReturn(true))
+                    .defaultIfEmpty(false);
+            case ADD_LINE -> routeLine(command.roomId(), command.userId(), command.content());
+        };
+    }
+
+    public Flux<StoryEvent> getStoryEvents(final String roomId) {
+        return storyEventRouter.subscribe(roomId);
+    }
+
+    public int getEventSubscriberCount() {
+        return storyEventRouter.getSubscriberCount();
+    }
+
+    /**
+     * lastSequence 이후에 발행된 델타 이벤트를 순서대로 돌려준다.
+     * 스토리가 메모리에 없거나 lastSequence 가 재전송 버퍼 범위를 벗어나면 null 이며, 이때는 스냅샷으로 맞춰야 한다.
+     */
+    public List<StoryEvent> getEventsSince(final String roomId, final long lastSequence) {
+        StoryActor actor = actors.get(roomId);
+        return actor != null ? actor.events().since(lastSequence) : null;
+    }
+    
+    /**
+     * 설정으로 켜져 있고 기동 시 확인에서 Redis 에 닿은 경우에만 Redis 에서 읽고 쓴다.
+     */
+    private boolean useRedis() {
+        return useRedis && redisAvailability.isAvailable();
+    }
+    
+    /**
+     * Redis 를 쓰지 않으면 로컬 저널에 기록한다. 저널이 꺼져 있으면 아무것도 하지 않는다.
+     */
+    private Mono<Void> saveNewStory(final Story story) {
+        if (!useRedis()) {
+            return storyJournal.appendCreated(story);
+        }
+        return redisStoryRepository.saveNew(story);
     }
     
-    public Flux<Story> getStoryEvents() {
-        return storySink.asFlux();
+    private Mono<Void> saveSkippedTurn(final Story story) {
+        if (!useRedis()) {
+            return storyJournal.appendTurnSkipped(story);
+        }
+        return redisStoryRepository.appendSkip(story);
     }
     
-    private void saveStoryToRedis(final Story story) {
-        String key = STORY_KEY_PREFIX + story.getId();
-        redisOperations.opsForValue().set(key, story).subscribe();
+    /**
+     * 스토리 전체가 아니라 새 라인과 턴 상태만 기록한다.
+     */
+    private Mono<Void> saveLine(final Story story, final Story.StoryLine line) {
+        if (!useRedis()) {
+            return storyJournal.appendLine(story, line);
+        }
+        return redisStoryRepository.appendLine(story, line);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,93 @@
+package com.storywave.core.internal.core.domain.component.story;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스토리별 턴 마감 시각을 해시드 타이머 휠 하나로 관리한다.
+ * <p>
+ * 방마다 타이머 작업을 만들지 않고 휠 스레드 하나가 모든 마감을 처리하므로 등록과 취소가 O(1)이며
+ * 10만 개 이상의 마감을 동시에 유지할 수 있다. 정밀도는 tick 간격만큼이다.
+ * 만료 콜백은 휠 스레드에서 실행되므로 작업을 넘기기만 하고 바로 반환해야 한다.
+ */
+@Component
+public class TurnDeadlineScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TurnDeadlineScheduler.class);
+
+    private final Map<String, Timeout> deadlines = new ConcurrentHashMap<>();
+    private final HashedWheelTimer timer;
+    private final Duration turnTimeout;
+
+    public TurnDeadlineScheduler(
+            @Value("${storywave.story.turn-timeout.seconds:60}") final long turnTimeoutSeconds,
+            @Value("${storywave.story.turn-timeout.tick-ms:100}") final long tickMillis,
+            @Value("${storywave.story.turn-timeout.wheel-size:512}") final int wheelSize) {
+        this.turnTimeout = Duration.ofSeconds(turnTimeoutSeconds);
+        this.timer = new HashedWheelTimer(
+                runnable -> {
+                    Thread thread = new Thread(runnable, "turn-deadline-timer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                tickMillis, TimeUnit.MILLISECONDS, wheelSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.stop();
+        deadlines.clear();
+    }
+
+    public boolean isEnabled() {
+        return !turnTimeout.isZero() && !turnTimeout.isNegative();
+    }
+
+    /**
+     * 스토리의 현재 턴 마감을 (다시) 등록한다. 이전 마감은 취소된다.
+     * 한 스토리에 대한 호출은 그 스토리의 액터 안에서만 이루어져야 한다.
+     */
+    public void schedule(final String storyId, final Runnable onExpired) {
+        if (!isEnabled()) {
+            return;
+        }
+        Timeout timeout = timer.newTimeout(expired -> {
+            deadlines.remove(storyId, expired);
+            try {
+                onExpired.run();
+            } catch (Exception e) {
+                logger.error("턴 마감 처리 오류: storyId={}, {}", storyId, e.getMessage(), e);
+            }
+        }, turnTimeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        Timeout previous = deadlines.put(storyId, timeout);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    public void cancel(final String storyId) {
+        Timeout timeout = deadlines.remove(storyId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    public int getPendingCount() {
+        return deadlines.size();
+    }
+
+    public Duration getTurnTimeout() {
+        return turnTimeout;
+    }
+}
@@ -1,71 +1,144 @@
 package com.storywave.core.internal.core.domain.event.story;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 import com.storywave.core.internal.core.domain.model.story.Story;
+import com.storywave.core.internal.core.domain.model.story.StorySnapshot;
 
+/**
+ * 스토리 이벤트. 스냅샷 이벤트는 스토리 전체를, 델타 이벤트는 새 라인과 턴 변화만 담는다.
+ * 모든 이벤트는 스토리별로 단조 증가하는 시퀀스 번호를 가진다.
+ */
 public class StoryEvent {
-    
+
     public enum EventType {
-        STORY_CREATED,   
-        LINE_ADDED,      
-        STORY_COMPLETED  
-    }
-    
-    private final EventType type;         
-    private final Story story;            
-    private final LocalDateTime eventTime; 
-    
+        STORY_CREATED,
+        LINE_ADDED,
+        STORY_COMPLETED,
+        SNAPSHOT,
+        TURN_TIMEOUT
+    }
+
+    private final EventType type;
+    private final String storyId;
+    private final String roomId;
+    private final long sequence;
+    private final Story story;            // 스냅샷 이벤트에만 포함
+    private final StorySnapshot snapshot; // 이벤트 시점의 스토리 상태
+    private final Story.StoryLine line;   // 델타 이벤트에만 포함
+    private final int lineIndex;
+    private final String timedOutPlayerId; // TURN_TIMEOUT 이벤트에만 포함
+    private final String currentPlayerId;
+    private final int currentRound;
+    private final boolean completed;
+    private final LocalDateTime eventTime;
+    private final long createdNanos;       // 전달 지연 측정용 (System.nanoTime)
+
     public StoryEvent(EventType type, Story story) {
+        this(type, story, story.getSnapshot(), true, null, null);
+    }
+
+    private StoryEvent(EventType type, Story story, StorySnapshot snapshot, boolean includeStory,
+                       Story.StoryLine line, String timedOutPlayerId) {
         this.type = type;
-        this.story = story;
+        this.storyId = story.getId();
+        this.roomId = story.getRoomId();
+        this.sequence = snapshot.sequence();
+        this.story = includeStory ? story : null;
+        this.snapshot = snapshot;
+        this.line = line;
+        this.lineIndex = line != null ? snapshot.lines().size() - 1 : -1;
+        this.timedOutPlayerId = timedOutPlayerId;
+        this.currentPlayerId = snapshot.currentPlayerId();
+        this.currentRound = snapshot.currentRound();
+        this.completed = snapshot.completed();
         this.eventTime = LocalDateTime.now();
+        this.createdNanos = System.nanoTime();
+    }
+
+    /**
+     * 구독 시작이나 재동기화 때 보내는 전체 스냅샷 이벤트.
+     */
+    public static StoryEvent snapshot(final EventType type, final Story story) {
+        return new StoryEvent(type, story);
+    }
+
+    /**
+     * 라인 추가 직후의 변경분만 담은 델타 이벤트. 이 라인으로 스토리가 끝나면 STORY_COMPLETED 가 된다.
+     */
+    public static StoryEvent lineAdded(final Story story, final Story.StoryLine line) {
+        StorySnapshot snapshot = story.getSnapshot();
+        EventType type = snapshot.completed() ? EventType.STORY_COMPLETED : EventType.LINE_ADDED;
+        return new StoryEvent(type, story, snapshot, false, line, null);
     }
 
+    /**
+     * 턴 마감이 지나 차례가 넘어갔음을 알리는 델타 이벤트. 자동으로 채운 라인이 있으면 함께 담는다.
+     */
+    public static StoryEvent turnTimeout(final Story story, final String timedOutPlayerId, final Story.StoryLine filledLine) {
+        return new StoryEvent(EventType.TURN_TIMEOUT, story, story.getSnapshot(), false, filledLine, timedOutPlayerId);
+    }
 
-    private StoryEvent(Story story) {
-        this(
-                story.isCompleted()
-                        ? StoryEvent.EventType.STORY_COMPLETED
-                        : StoryEvent.EventType.STORY_CREATED,
-                story
-        );
+    public boolean isSnapshot() {
+        return story != null;
     }
-    
+
     public EventType getType() {
         return type;
     }
-    
+
+    public String getStoryId() {
+        return storyId;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
     public Story getStory() {
         return story;
     }
-    
+
+    /**
+     * 이벤트를 만든 시점의 스토리 스냅샷. 직렬화가 늦어져도 이벤트의 시퀀스와 같은 상태를 본다.
+     */
+    public StorySnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Story.StoryLine getLine() {
+        return line;
+    }
+
+    public int getLineIndex() {
+        return lineIndex;
+    }
+
+    public String getTimedOutPlayerId() {
+        return timedOutPlayerId;
+    }
+
     public LocalDateTime getEventTime() {
         return eventTime;
     }
-    
+
+    public long getCreatedNanos() {
+        return createdNanos;
+    }
+
     public String getCurrentTurnUserId() {
-        return story.getCurrentPlayerId();
+        return currentPlayerId;
     }
-    
+
     public boolean isStoryCompleted() {
-        return story.isCompleted();
+        return completed;
     }
-    
-    public List<Story.StoryLine> getStoryLines() {
-        return story.getLines();
-    }
-    
-    public String getStartingPrompt() {
-        return story.getStartingPrompt();
-    }
-    
+
     public int getCurrentRound() {
-        return story.getCurrentRound();
-    }
-    
-    public String getFullStory() {
-        return story.getCompletedStory();
+        return currentRound;
     }
-} 
\ No newline at end of file
+}
@@ -10,16 +10,41 @@ public class GameRoom {
     
     private final String id;
     private final Set<String> userIds;
+    private final Set<String> visibleUserIds;  // simulation-user 를 제외한 멤버 (생성 시 한 번 계산)
     private final LocalDateTime createdAt;
-    private boolean isActive;
-    private boolean gameStarted = false;
-    private LocalDateTime gameStartedAt;
+    private final int maxRound;  // 매칭에서 정해진 라운드 수 (0 이면 기본값)
+    private volatile boolean isActive;
+    private volatile boolean gameStarted = false;
+    private volatile LocalDateTime gameStartedAt;
 
     // 생성자에서 초기화
     public GameRoom(Set<String> userIds) {
-        this.id = UUID.randomUUID().toString();
-        this.userIds = new HashSet<>(userIds);
-        this.createdAt = LocalDateTime.now();
+        this(userIds, 0);
+    }
+
+    public GameRoom(Set<String> userIds, int maxRound) {
+        this(UUID.randomUUID().toString(), userIds, LocalDateTime.now(), maxRound);
+    }
+
+    /**
+     * 이미 ID 가 정해진 방 (다른 노드가 만든 방이나 Redis 에서 복원한 방).
+     */
+    public GameRoom(String id, Set<String> userIds, LocalDateTime createdAt) {
+        this(id, userIds, createdAt, 0);
+    }
+
+    public GameRoom(String id, Set<String> userIds, LocalDateTime createdAt, int maxRound) {
+        this.id = id;
+        this.userIds = Set.copyOf(userIds);
+        Set<String> filtered = new HashSet<>();
+        for (String userId : this.userIds) {
+            if (!"simulation-user".equals(userId)) {
+                filtered.add(userId);
+            }
+        }
+        this.visibleUserIds = Collections.unmodifiableSet(filtered);
+        this.createdAt = createdAt;
+        this.maxRound = Math.max(0, maxRound);
         this.gameStarted = false; // 초기에는 게임이 시작되지 않음
     }
 
@@ -43,20 +68,18 @@ public class GameRoom {
     }
     
     public Set<String> getUserIds() {
-        // simulation-user는 반환하지 않음
-        Set<String> filtered = new HashSet<>();
-        for (String id : userIds) {
-            if (!"simulation-user".equals(id)) {
-                filtered.add(id);
-            }
-        }
-        return Collections.unmodifiableSet(filtered);
+        // simulation-user는 반환하지 않음 (멤버는 바뀌지 않으므로 매번 복사하지 않는다)
+        return visibleUserIds;
     }
     
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
     
+    public int getMaxRound() {
+        return maxRound;
+    }
+    
     public boolean isActive() {
         return isActive;
     }
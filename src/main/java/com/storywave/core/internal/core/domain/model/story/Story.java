@@ -2,35 +2,70 @@ package com.storywave.core.internal.core.domain.model.story;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class Story {
     
+    private static final String SIMULATION_USER_ID = "simulation-user";
+    
     private final String id;                  
     private final String roomId;              
     private final List<String> playerIds;     
+    private final List<String> visiblePlayerIds;  // simulation-user 를 제외한 플레이어 (생성 시 한 번 계산)
     private final String startingPrompt;      
-    private final List<StoryLine> lines;      
     private final int maxRound;               
+    private final LocalDateTime createdAt;    
+    
+    // 아래 상태는 스토리를 변경하는 한 스레드만 다루고, 읽는 쪽은 snapshot 만 본다
+    private final StoryLineLog lines;
+    private final String[] roundTexts;        // 라운드별로 이어 붙인 문장 (인덱스 = 라운드)
     private boolean completed;                
     private int currentPlayerIndex;           
     private int currentRound;                 
-    private final LocalDateTime createdAt;    
+    private long sequence;                    
     private LocalDateTime lastUpdatedAt;      
     
+    private volatile StorySnapshot snapshot;
+    
     public Story(String roomId, List<String> playerIds, String startingPrompt, int maxRound) {
-        this.id = roomId;  
+        this(roomId, playerIds, startingPrompt, maxRound, List.of(), 0, 1, false, 0L,
+                LocalDateTime.now(), null);
+    }
+    
+    /**
+     * 저장소에 기록된 메타데이터, 라인, 턴 상태로 스토리를 복원한다.
+     */
+    public static Story restore(String roomId, List<String> playerIds, String startingPrompt, int maxRound,
+                                List<StoryLine> lines, int currentPlayerIndex, int currentRound, boolean completed,
+                                long sequence, LocalDateTime createdAt, LocalDateTime lastUpdatedAt) {
+        return new Story(roomId, playerIds, startingPrompt, maxRound, lines,
+                currentPlayerIndex, currentRound, completed, sequence, createdAt, lastUpdatedAt);
+    }
+
+    private Story(String roomId, List<String> playerIds, String startingPrompt, int maxRound,
+                  List<StoryLine> lines, int currentPlayerIndex, int currentRound, boolean completed,
+                  long sequence, LocalDateTime createdAt, LocalDateTime lastUpdatedAt) {
+        this.id = roomId;
         this.roomId = roomId;
-        this.playerIds = new ArrayList<>(playerIds);
+        this.playerIds = List.copyOf(playerIds);
+        this.visiblePlayerIds = this.playerIds.stream()
+                .filter(playerId -> !SIMULATION_USER_ID.equals(playerId))
+                .toList();
         this.startingPrompt = startingPrompt;
-        this.lines = new ArrayList<>();
         this.maxRound = maxRound;
-        this.completed = false;
-        this.currentPlayerIndex = 0;
-        this.currentRound = 1;
-        this.createdAt = LocalDateTime.now();
-        this.lastUpdatedAt = this.createdAt;
+        this.lines = new StoryLineLog(Math.max(this.playerIds.size() * maxRound, lines.size()));
+        this.roundTexts = new String[maxRound + 1];
+        for (StoryLine line : lines) {
+            appendLine(line);
+        }
+        this.completed = completed;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.currentRound = currentRound;
+        this.sequence = sequence;
+        this.createdAt = createdAt;
+        this.lastUpdatedAt = lastUpdatedAt != null ? lastUpdatedAt : createdAt;
+        publishSnapshot();
     }
     
     public boolean addLine(String userId, String content) {
@@ -38,7 +73,7 @@ public class Story {
             return false;
         }
         
-        if (!getCurrentPlayerId().equals(userId)) {
+        if (!userId.equals(getCurrentPlayerIdInternal())) {
             return false;
         }
         
@@ -46,9 +81,24 @@ public class Story {
             content = content.substring(0, 15);
         }
         
-        StoryLine line = new StoryLine(userId, content, currentRound);
-        lines.add(line);
+        appendLine(new StoryLine(userId, content, currentRound));
+        advanceTurn();
+        return true;
+    }
+    
+    /**
+     * 라인 없이 현재 플레이어의 차례를 넘긴다. 턴 마감이 지났을 때 사용한다.
+     */
+    public boolean skipTurn() {
+        if (completed) {
+            return false;
+        }
         
+        advanceTurn();
+        return true;
+    }
+    
+    private void advanceTurn() {
         moveToNextPlayer();
         
         if (currentPlayerIndex == 0) {
@@ -59,49 +109,62 @@ public class Story {
             }
         }
         
+        sequence++;
         lastUpdatedAt = LocalDateTime.now();
-        return true;
+        publishSnapshot();
+    }
+    
+    private void appendLine(StoryLine line) {
+        lines.append(line);
+        int round = line.getRound();
+        if (round >= 0 && round < roundTexts.length) {
+            roundTexts[round] = roundTexts[round] == null ? line.getContent() : roundTexts[round] + " " + line.getContent();
+        }
     }
     
     private void moveToNextPlayer() {
         currentPlayerIndex = (currentPlayerIndex + 1) % playerIds.size();
     }
     
-    public String getCurrentPlayerId() {
+    private String getCurrentPlayerIdInternal() {
         if (playerIds.isEmpty() || currentPlayerIndex >= playerIds.size()) {
             return null;
         }
         return playerIds.get(currentPlayerIndex);
     }
     
-    public String getCompletedStory() {
-        StringBuilder story = new StringBuilder(startingPrompt);
-        
-        for (StoryLine line : lines) {
-            story.append(" ").append(line.getContent());
+    /**
+     * 변경이 끝날 때마다 한 번 불변 스냅샷을 만들어 공개한다.
+     */
+    private void publishSnapshot() {
+        List<String> storyByRounds = new ArrayList<>(maxRound + 1);
+        storyByRounds.add(startingPrompt);
+        for (int round = 1; round <= maxRound; round++) {
+            if (roundTexts[round] != null) {
+                storyByRounds.add(roundTexts[round]);
+            }
         }
-        
-        return story.toString();
+        snapshot = new StorySnapshot(sequence, lines.view(), Collections.unmodifiableList(storyByRounds),
+                currentPlayerIndex, getCurrentPlayerIdInternal(), currentRound, completed, lastUpdatedAt);
+    }
+    
+    /**
+     * 현재 상태의 불변 스냅샷. 한 스냅샷 안의 값들은 같은 시퀀스 시점으로 서로 일치한다.
+     */
+    public StorySnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    public String getCurrentPlayerId() {
+        return snapshot.currentPlayerId();
+    }
+    
+    public String getCompletedStory() {
+        return String.join(" ", snapshot.storyByRounds());
     }
     
     public List<String> getStoryByRounds() {
-        List<String> roundStories = new ArrayList<>();
-        
-        roundStories.add(startingPrompt);
-        
-        for (int round = 1; round <= maxRound; round++) {
-            final int currentRound = round;
-            String roundStory = lines.stream()
-                    .filter(line -> line.getRound() == currentRound)
-                    .map(StoryLine::getContent)
-                    .collect(Collectors.joining(" "));
-            
-            if (!roundStory.isEmpty()) {
-                roundStories.add(roundStory);
-            }
-        }
-        
-        return roundStories;
+        return snapshot.storyByRounds();
     }
     
     public String getId() {
@@ -113,21 +176,26 @@ public class Story {
     }
     
     public List<String> getPlayerIds() {
-        List<String> filtered = new ArrayList<>();
-        for (String id : playerIds) {
-            if (!"simulation-user".equals(id)) {
-                filtered.add(id);
-            }
-        }
-        return filtered;
+        return visiblePlayerIds;
     }
     
     public String getStartingPrompt() {
         return startingPrompt;
     }
     
+    /**
+     * 현재까지의 라인. 복사하지 않은 불변 목록이다.
+     */
     public List<StoryLine> getLines() {
-        return new ArrayList<>(lines);
+        return snapshot.lines();
+    }
+    
+    public StoryLine getLastLine() {
+        return snapshot.lastLine();
+    }
+    
+    public int getLineCount() {
+        return snapshot.lines().size();
     }
     
     public int getMaxRound() {
@@ -135,15 +203,22 @@ public class Story {
     }
     
     public boolean isCompleted() {
-        return completed;
+        return snapshot.completed();
     }
     
     public int getCurrentPlayerIndex() {
-        return currentPlayerIndex;
+        return snapshot.currentPlayerIndex();
     }
     
     public int getCurrentRound() {
-        return currentRound;
+        return snapshot.currentRound();
+    }
+    
+    /**
+     * 변경될 때마다 1씩 증가하는 버전 번호.
+     */
+    public long getSequence() {
+        return snapshot.sequence();
     }
     
     public LocalDateTime getCreatedAt() {
@@ -151,7 +226,7 @@ public class Story {
     }
     
     public LocalDateTime getLastUpdatedAt() {
-        return lastUpdatedAt;
+        return snapshot.lastUpdatedAt();
     }
     
     public static class StoryLine {
@@ -161,10 +236,14 @@ public class Story {
         private final LocalDateTime createdAt;
         
         public StoryLine(String userId, String content, int round) {
+            this(userId, content, round, LocalDateTime.now());
+        }
+        
+        public StoryLine(String userId, String content, int round, LocalDateTime createdAt) {
             this.userId = userId;
             this.content = content;
             this.round = round;
-            this.createdAt = LocalDateTime.now();
+            this.createdAt = createdAt;
         }
         
         public String getUserId() {
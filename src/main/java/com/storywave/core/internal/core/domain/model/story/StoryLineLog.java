@@ -0,0 +1,61 @@
+package com.storywave.core.internal.core.domain.model.story;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 배열 기반의 추가 전용 라인 로그.
+ * 한 번 기록된 칸은 바뀌지 않으므로 {@link #view()} 가 돌려주는 목록은 복사 없이 그 시점의 라인들을 계속 보여준다.
+ * 추가는 한 스레드(스토리의 작성자)만 해야 하며, 뷰는 스냅샷을 통해 안전하게 공개된다.
+ */
+final class StoryLineLog {
+
+    private Story.StoryLine[] items;
+    private int size;
+
+    StoryLineLog(final int initialCapacity) {
+        this.items = new Story.StoryLine[Math.max(initialCapacity, 4)];
+    }
+
+    void append(final Story.StoryLine line) {
+        if (size == items.length) {
+            // 이전 뷰는 예전 배열을 계속 참조하므로 영향이 없다
+            items = Arrays.copyOf(items, size * 2);
+        }
+        items[size++] = line;
+    }
+
+    int size() {
+        return size;
+    }
+
+    List<Story.StoryLine> view() {
+        return size == 0 ? List.of() : new View(items, size);
+    }
+
+    private static final class View extends AbstractList<Story.StoryLine> implements RandomAccess {
+
+        private final Story.StoryLine[] items;
+        private final int size;
+
+        private View(final Story.StoryLine[] items, final int size) {
+            this.items = items;
+            this.size = size;
+        }
+
+        @Override
+        public Story.StoryLine get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return items[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.storywave.core.internal.core.domain.model.story;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 변경마다 한 번 만들어지는 스토리의 불변 상태. 읽는 쪽과 직렬화는 복사 없이 같은 스냅샷을 공유한다.
+ *
+ * @param sequence       스냅샷 버전 (스토리 시퀀스 번호)
+ * @param lines          지금까지의 라인 (불변, 복사 없음)
+ * @param storyByRounds  시작 문장과 라운드별로 이어 붙인 문장 (라인이 추가될 때 해당 라운드만 갱신)
+ */
+public record StorySnapshot(
+        long sequence,
+        List<Story.StoryLine> lines,
+        List<String> storyByRounds,
+        int currentPlayerIndex,
+        String currentPlayerId,
+        int currentRound,
+        boolean completed,
+        LocalDateTime lastUpdatedAt
+) {
+
+    public Story.StoryLine lastLine() {
+        return lines.isEmpty() ? null : lines.get(lines.size() - 1);
+    }
+}
@@ -1,6 +1,8 @@
 package com.storywave.core.internal.core.domain.service.auth;
 
+import com.storywave.core.internal.common.auth.GuestSessionCache;
 import com.storywave.core.internal.core.usecase.auth.LoginUseCase;
+import com.storywave.core.internal.data.redis.RedisAvailability;
 import com.storywave.core.internal.data.repository.auth.GuestRepository;
 import com.storywave.core.internal.data.repository.auth.RedisGuestRepository;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,22 +16,30 @@ class GuestLoginService implements LoginUseCase {
 
     private final GuestRepository memoryGuestRepository;
     private final RedisGuestRepository redisGuestRepository;
+    private final GuestSessionCache guestSessionCache;
+    private final RedisAvailability redisAvailability;
     private final boolean useRedis;
 
     GuestLoginService(
             final GuestRepository memoryGuestRepository,
             final RedisGuestRepository redisGuestRepository,
+            final GuestSessionCache guestSessionCache,
+            final RedisAvailability redisAvailability,
             @Value("${storywave.auth.use-redis:true}") final boolean useRedis) {
         this.memoryGuestRepository = memoryGuestRepository;
         this.redisGuestRepository = redisGuestRepository;
+        this.guestSessionCache = guestSessionCache;
+        this.redisAvailability = redisAvailability;
         this.useRedis = useRedis;
     }
 
     public Mono<String> login() {
         String guestId = UUID.randomUUID().toString();
         
-        if (useRedis) {
-            return redisGuestRepository.saveGuest(guestId);
+        // Redis 에 닿지 않으면 메모리에만 발급한다
+        if (useRedis && redisAvailability.isAvailable()) {
+            return redisGuestRepository.saveGuest(guestId)
+                    .doOnNext(guestSessionCache::markValid);
         } else {
             return memoryGuestRepository.saveGuest(guestId);
         }
@@ -0,0 +1,146 @@
+package com.storywave.core.internal.data.archive;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보관소에서 꺼낸 완료 스토리 한 편. {@code Story} 로 되살리지 않고 레코드 바이트에서 필요한 값만 읽는다.
+ * 헤더와 사용자 목록은 만들 때 한 번 읽고, 라인은 요청한 범위만 그때그때 디코딩한다.
+ */
+public final class ArchivedStory {
+
+    private static final int LINE_USER_OFFSET = 0;
+    private static final int LINE_ROUND_OFFSET = Integer.BYTES;
+    private static final int LINE_CREATED_AT_OFFSET = Integer.BYTES * 2;
+    private static final int LINE_CONTENT_OFFSET = Integer.BYTES * 2 + Long.BYTES;
+
+    private final ByteBuffer record;
+
+    private final String id;
+    private final int maxRound;
+    private final int currentRound;
+    private final int currentPlayerIndex;
+    private final int currentPlayer;
+    private final boolean completed;
+    private final long sequence;
+    private final long createdAtMillis;
+    private final long lastUpdatedAtMillis;
+    private final int promptOffset;
+    private final int playerCount;
+    private final String[] users;
+    private final int lineTableOffset;
+    private final int lineCount;
+
+    ArchivedStory(final ByteBuffer record) {
+        this.record = record;
+
+        int position = StoryArchiveCodec.ID_OFFSET;
+        this.id = StoryArchiveCodec.readShortString(record, position);
+        position += Short.BYTES + Short.toUnsignedInt(record.getShort(position));
+        this.maxRound = record.getInt(position);
+        this.currentRound = record.getInt(position + Integer.BYTES);
+        this.currentPlayerIndex = record.getInt(position + Integer.BYTES * 2);
+        this.currentPlayer = record.getInt(position + Integer.BYTES * 3);
+        position += Integer.BYTES * 4;
+        this.completed = record.get(position) != 0;
+        position += 1;
+        this.sequence = record.getLong(position);
+        this.createdAtMillis = record.getLong(position + Long.BYTES);
+        this.lastUpdatedAtMillis = record.getLong(position + Long.BYTES * 2);
+        position += Long.BYTES * 3;
+        this.promptOffset = position;
+        position += Integer.BYTES + record.getInt(position);
+        this.playerCount = record.getInt(position);
+        this.users = new String[record.getInt(position + Integer.BYTES)];
+        position += Integer.BYTES * 2;
+        for (int i = 0; i < users.length; i++) {
+            users[i] = StoryArchiveCodec.readShortString(record, position);
+            position += Short.BYTES + Short.toUnsignedInt(record.getShort(position));
+        }
+        this.lineCount = record.getInt(position);
+        this.lineTableOffset = position + Integer.BYTES;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 스토리 ID 는 방 ID 와 같다.
+     */
+    public String getRoomId() {
+        return id;
+    }
+
+    public int getMaxRound() {
+        return maxRound;
+    }
+
+    public int getCurrentRound() {
+        return currentRound;
+    }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    public String getCurrentPlayerId() {
+        return userOf(currentPlayer);
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return StoryArchiveCodec.fromMillis(createdAtMillis);
+    }
+
+    public LocalDateTime getLastUpdatedAt() {
+        return StoryArchiveCodec.fromMillis(lastUpdatedAtMillis);
+    }
+
+    public String getStartingPrompt() {
+        return StoryArchiveCodec.readString(record, promptOffset + Integer.BYTES, record.getInt(promptOffset));
+    }
+
+    public List<String> getPlayerIds() {
+        return List.of(users).subList(0, playerCount);
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public String getLineUserId(final int index) {
+        return userOf(record.getInt(lineOffset(index) + LINE_USER_OFFSET));
+    }
+
+    public String getLineContent(final int index) {
+        return StoryArchiveCodec.readShortString(record, lineOffset(index) + LINE_CONTENT_OFFSET);
+    }
+
+    public int getLineRound(final int index) {
+        return record.getInt(lineOffset(index) + LINE_ROUND_OFFSET);
+    }
+
+    public LocalDateTime getLineCreatedAt(final int index) {
+        return StoryArchiveCodec.fromMillis(record.getLong(lineOffset(index) + LINE_CREATED_AT_OFFSET));
+    }
+
+    private String userOf(final int user) {
+        return user >= 0 && user < users.length ? users[user] : null;
+    }
+
+    private int lineOffset(final int index) {
+        if (index < 0 || index >= lineCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + lineCount);
+        }
+        return record.getInt(lineTableOffset + Integer.BYTES * index);
+    }
+}
@@ -0,0 +1,192 @@
+package com.storywave.core.internal.data.archive;
+
+import com.storywave.core.internal.core.domain.model.story.Story;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리에서 내린 완료 스토리를 힙 밖(direct buffer) 세그먼트에 압축 레코드로 담아 두는 보관소.
+ * <p>
+ * 레코드는 현재 세그먼트 뒤에 덧붙이고, 스토리 ID 에서 (세그먼트 세대, 오프셋) 으로 가는 색인만 힙에 둔다.
+ * 세그먼트가 max-segments 개 다 차면 가장 오래된 세그먼트를 비워 다시 쓰며, 그 안의 스토리는 보관소에서 빠진다
+ * (Redis 를 쓰면 보관 기간 동안 Redis 에서 다시 읽는다).
+ * <p>
+ * 쓰기는 잠금 하나로 직렬화하고 읽기는 잠금 없이 한다. 읽는 쪽은 레코드 바이트를 힙으로 복사한 뒤
+ * 세그먼트 세대가 복사 전후로 같은지 확인해, 그 사이 세그먼트가 재사용됐으면 없는 것으로 본다.
+ */
+@Component
+public class StoryArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoryArchive.class);
+
+    private final boolean enabled;
+    private final int segmentSize;
+    private final Segment[] segments;
+    private final Map<String, Long> index = new ConcurrentHashMap<>();
+
+    private final Object writeLock = new Object();
+    private long currentGeneration = -1;
+
+    private final AtomicLong archivedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile long usedBytes;
+
+    public StoryArchive(
+            @Value("${storywave.archive.enabled:true}") final boolean enabled,
+            @Value("${storywave.archive.segment-size-kb:4096}") final int segmentSizeKb,
+            @Value("${storywave.archive.max-segments:64}") final int maxSegments) {
+        this.enabled = enabled && maxSegments > 0;
+        this.segmentSize = segmentSizeKb * 1024;
+        this.segments = new Segment[Math.max(maxSegments, 1)];
+    }
+
+    /**
+     * 완료된 스토리를 보관한다. 같은 ID 가 이미 있으면 새 레코드로 바꾼다.
+     * 꺼져 있거나 레코드가 세그먼트보다 크면 false.
+     */
+    public boolean put(final Story story) {
+        if (!enabled) {
+            return false;
+        }
+        synchronized (writeLock) {
+            byte[] record = StoryArchiveCodec.encode(story);
+            if (record.length > segmentSize) {
+                logger.warn("보관 레코드가 세그먼트보다 커서 건너뜀: storyId={}, {}바이트", story.getId(), record.length);
+                return false;
+            }
+            Segment segment = currentGeneration >= 0 ? segmentOf(currentGeneration) : null;
+            if (segment == null || segment.writeOffset + record.length > segmentSize) {
+                segment = nextSegment();
+            }
+
+            int offset = segment.writeOffset;
+            segment.buffer.put(offset, record);
+            segment.writeOffset += record.length;
+            segment.storyIds.add(story.getId());
+            usedBytes += record.length;
+            // 바이트를 다 쓴 뒤 색인을 공개한다
+            index.put(story.getId(), location(currentGeneration, offset));
+            archivedCount.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * 보관된 스토리. 없거나 읽는 사이 세그먼트가 재사용됐으면 null.
+     */
+    public ArchivedStory find(final String storyId) {
+        Long location = index.get(storyId);
+        if (location == null) {
+            return null;
+        }
+        long generation = location >>> 32;
+        int offset = (int) (location & 0xFFFFFFFFL);
+        Segment segment = segmentOf(generation);
+        if (segment == null || segment.generation != generation) {
+            return null;
+        }
+
+        int length = segment.buffer.getInt(offset + StoryArchiveCodec.LENGTH_OFFSET);
+        if (length <= 0 || offset + length > segmentSize) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        segment.buffer.get(offset, bytes);
+        // 일반 읽기인 복사가 세대 재확인 뒤로 밀리지 않게 막는다
+        VarHandle.acquireFence();
+        if (segment.generation != generation) {
+            return null;
+        }
+        return new ArchivedStory(ByteBuffer.wrap(bytes));
+    }
+
+    public boolean contains(final String storyId) {
+        return index.containsKey(storyId);
+    }
+
+    public int getStoryCount() {
+        return index.size();
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getArchivedCount() {
+        return archivedCount.get();
+    }
+
+    /**
+     * 세그먼트 재사용으로 보관소에서 빠진 스토리 수.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private Segment nextSegment() {
+        long generation = currentGeneration + 1;
+        int slot = (int) (generation % segments.length);
+        Segment segment = segments[slot];
+        if (segment == null) {
+            segment = new Segment(ByteBuffer.allocateDirect(segmentSize));
+            segments[slot] = segment;
+            segment.generation = generation;
+        } else {
+            // 세대를 먼저 바꿔 읽는 쪽이 덮어쓰는 중인 레코드를 쓰지 않게 한다
+            long previous = segment.generation;
+            segment.generation = generation;
+            // 세대 변경이 이후의 덮어쓰기보다 먼저 보이게 한다. 읽는 쪽은 복사 뒤 acquireFence 를 두고 세대를 다시 읽으므로,
+            // 덮어쓴 바이트를 하나라도 복사했다면 바뀐 세대도 보게 되어 그 레코드를 버린다
+            VarHandle.storeStoreFence();
+            for (String storyId : segment.storyIds) {
+                if (removeAt(storyId, previous)) {
+                    droppedCount.incrementAndGet();
+                }
+            }
+            usedBytes -= segment.writeOffset;
+            segment.storyIds.clear();
+            segment.writeOffset = 0;
+        }
+        currentGeneration = generation;
+        return segment;
+    }
+
+    /**
+     * 색인이 아직 그 세대의 세그먼트를 가리킬 때만 지운다. 이후 다른 세그먼트에 다시 보관된 스토리는 남긴다.
+     */
+    private boolean removeAt(final String storyId, final long generation) {
+        Long location = index.get(storyId);
+        return location != null && location >>> 32 == generation && index.remove(storyId, location);
+    }
+
+    private Segment segmentOf(final long generation) {
+        return segments[(int) (generation % segments.length)];
+    }
+
+    private static long location(final long generation, final int offset) {
+        return generation << 32 | (offset & 0xFFFFFFFFL);
+    }
+
+    private static final class Segment {
+
+        final ByteBuffer buffer;
+        final List<String> storyIds = new ArrayList<>();
+        volatile long generation = -1;
+        int writeOffset;
+
+        Segment(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
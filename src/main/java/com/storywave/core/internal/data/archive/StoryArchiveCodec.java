@@ -0,0 +1,149 @@
+package com.storywave.core.internal.data.archive;
+
+import com.storywave.core.internal.core.domain.model.story.Story;
+import com.storywave.core.internal.core.domain.model.story.StorySnapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 완료된 스토리 한 편의 압축 레코드 형식. 모든 정수는 빅 엔디언이다.
+ * <pre>
+ * int    레코드 길이 (이 필드 포함)
+ * short  ID 길이, UTF-8 ID
+ * int    maxRound, currentRound, currentPlayerIndex
+ * int    현재 플레이어의 사용자 번호 (-1 이면 없음)
+ * byte   완료 여부
+ * long   sequence, createdAt, lastUpdatedAt (epoch millis)
+ * int    시작 문장 길이, UTF-8 시작 문장
+ * int    플레이어 수, int 사용자 수, 사용자마다 short 길이와 UTF-8 사용자 ID
+ * int    라인 수, 라인별 레코드 내 오프셋 목록
+ * 라인마다: int 사용자 번호, int 라운드, long createdAt, short 내용 길이, UTF-8 내용
+ * </pre>
+ * 사용자 번호는 레코드 안의 사용자 목록 위치이다. 앞쪽 플레이어 수만큼이 플레이어 목록이고,
+ * 플레이어가 아닌 라인 작성자가 있으면 그 뒤에 붙는다. 사용자 ID 를 레코드 밖에 두지 않으므로
+ * 세그먼트를 재사용하면 그 안의 사용자 ID 도 함께 사라진다.
+ * 라인 오프셋 목록이 있어 페이지 조회는 필요한 라인만 읽는다.
+ * 시각은 LocalDateTime 을 UTC 로 본 epoch millis 로 저장해 읽을 때 같은 값으로 돌아온다(밀리초 아래는 버린다).
+ */
+final class StoryArchiveCodec {
+
+    static final int LENGTH_OFFSET = 0;
+    static final int ID_OFFSET = Integer.BYTES;
+
+    private static final int LINE_HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES + Short.BYTES;
+
+    private StoryArchiveCodec() {
+    }
+
+    static byte[] encode(final Story story) {
+        StorySnapshot snapshot = story.getSnapshot();
+        byte[] id = utf8(story.getId());
+        byte[] prompt = utf8(story.getStartingPrompt());
+        List<String> players = story.getPlayerIds();
+        List<Story.StoryLine> lines = snapshot.lines();
+        byte[][] contents = new byte[lines.size()][];
+
+        Map<String, Integer> users = new LinkedHashMap<>();
+        for (String player : players) {
+            users.putIfAbsent(player, users.size());
+        }
+        int[] lineUsers = new int[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            lineUsers[i] = users.computeIfAbsent(lines.get(i).getUserId(), userId -> users.size());
+        }
+        byte[][] userIds = new byte[users.size()][];
+
+        int size = Integer.BYTES
+                + Short.BYTES + id.length
+                + Integer.BYTES * 4
+                + 1
+                + Long.BYTES * 3
+                + Integer.BYTES + prompt.length
+                + Integer.BYTES * 2
+                + Integer.BYTES + Integer.BYTES * lines.size();
+        int user = 0;
+        for (String userId : users.keySet()) {
+            userIds[user] = utf8(userId);
+            size += Short.BYTES + userIds[user++].length;
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            contents[i] = utf8(lines.get(i).getContent());
+            size += LINE_HEADER_BYTES + contents[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(size);
+        putShortString(buffer, id);
+        buffer.putInt(story.getMaxRound());
+        buffer.putInt(snapshot.currentRound());
+        buffer.putInt(snapshot.currentPlayerIndex());
+        buffer.putInt(snapshot.currentPlayerId() != null ? users.getOrDefault(snapshot.currentPlayerId(), -1) : -1);
+        buffer.put((byte) (snapshot.completed() ? 1 : 0));
+        buffer.putLong(snapshot.sequence());
+        buffer.putLong(toMillis(story.getCreatedAt()));
+        buffer.putLong(toMillis(snapshot.lastUpdatedAt()));
+        buffer.putInt(prompt.length);
+        buffer.put(prompt);
+        // 중복 없는 플레이어 목록이 사용자 목록의 앞쪽을 이룬다
+        buffer.putInt(Math.min(players.size(), users.size()));
+        buffer.putInt(users.size());
+        for (byte[] userId : userIds) {
+            putShortString(buffer, userId);
+        }
+
+        buffer.putInt(lines.size());
+        int lineTable = buffer.position();
+        int lineOffset = lineTable + Integer.BYTES * lines.size();
+        for (int i = 0; i < lines.size(); i++) {
+            buffer.putInt(lineTable + Integer.BYTES * i, lineOffset);
+            lineOffset += LINE_HEADER_BYTES + contents[i].length;
+        }
+        buffer.position(lineTable + Integer.BYTES * lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            Story.StoryLine line = lines.get(i);
+            buffer.putInt(lineUsers[i]);
+            buffer.putInt(line.getRound());
+            buffer.putLong(toMillis(line.getCreatedAt()));
+            putShortString(buffer, contents[i]);
+        }
+        return buffer.array();
+    }
+
+    static String readShortString(final ByteBuffer buffer, final int offset) {
+        int length = Short.toUnsignedInt(buffer.getShort(offset));
+        return readString(buffer, offset + Short.BYTES, length);
+    }
+
+    static String readString(final ByteBuffer buffer, final int offset, final int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static LocalDateTime fromMillis(final long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static long toMillis(final LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private static void putShortString(final ByteBuffer buffer, final byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] utf8(final String value) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        // ID 와 라인 내용은 짧다. 길이 필드를 넘는 값은 잘라 레코드가 깨지지 않게 한다
+        return bytes.length <= 0xFFFF ? bytes : Arrays.copyOf(bytes, 0xFFFF);
+    }
+}
@@ -0,0 +1,78 @@
+package com.storywave.core.internal.data.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 메모리 매핑된 저널 세그먼트 파일 하나. 만들 때 크기만큼 매핑해 두고 앞에서부터 레코드를 덧붙인다.
+ * 매핑은 채널을 닫아도 유지되며, 파일을 지운 뒤에는 버퍼가 수거될 때 풀린다.
+ */
+final class JournalSegment {
+
+    static final String SUFFIX = ".journal";
+
+    final long id;
+    final Path path;
+    final MappedByteBuffer buffer;
+
+    // 아래는 저널의 쓰기 잠금 안에서만 다룬다
+    int writePosition;
+    long liveBytes;
+    long openBytes;
+    final Set<String> storyIds = new HashSet<>();
+
+    // 동기화 스레드만 다룬다
+    int syncedPosition;
+
+    private JournalSegment(final long id, final Path path, final MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(final Path directory, final long id, final int size) throws IOException {
+        Path path = directory.resolve(String.format("%016d%s", id, SUFFIX));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new JournalSegment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    static JournalSegment open(final Path path) throws IOException {
+        String name = path.getFileName().toString();
+        long id = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new JournalSegment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+    }
+
+    static boolean isSegment(final Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(SUFFIX) && name.length() > SUFFIX.length()
+                && name.chars().limit(name.length() - SUFFIX.length()).allMatch(Character::isDigit);
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * end 까지 기록된 내용을 디스크에 내린다. 이미 내린 구간은 다시 내리지 않는다.
+     */
+    void force(final int end) {
+        if (end > syncedPosition) {
+            buffer.force(syncedPosition, end - syncedPosition);
+            syncedPosition = end;
+        }
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
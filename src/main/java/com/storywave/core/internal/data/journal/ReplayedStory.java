@@ -0,0 +1,43 @@
+package com.storywave.core.internal.data.journal;
+
+import com.storywave.core.internal.core.domain.model.story.Story;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 저널을 재생하는 동안 레코드를 차례로 적용받는 스토리 상태. 재생이 끝나면 {@link Story} 로 만든다.
+ */
+final class ReplayedStory {
+
+    final String id;
+    List<String> playerIds = List.of();
+    String startingPrompt;
+    int maxRound;
+    long createdAtMillis;
+    final List<Story.StoryLine> lines = new ArrayList<>();
+    int currentPlayerIndex;
+    int currentRound;
+    boolean completed;
+    long sequence;
+    long lastUpdatedAtMillis;
+
+    ReplayedStory(final String id) {
+        this.id = id;
+    }
+
+    Story toStory() {
+        return Story.restore(
+                id,
+                playerIds,
+                startingPrompt,
+                maxRound,
+                lines,
+                currentPlayerIndex,
+                currentRound,
+                completed,
+                sequence,
+                StoryJournalCodec.fromMillis(createdAtMillis),
+                StoryJournalCodec.fromMillis(lastUpdatedAtMillis));
+    }
+}
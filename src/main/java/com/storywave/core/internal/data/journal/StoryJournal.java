@@ -0,0 +1,515 @@
+package com.storywave.core.internal.data.journal;
+
+import com.storywave.core.internal.core.domain.model.story.Story;
+import com.storywave.core.internal.core.domain.model.story.StorySnapshot;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Redis 없이 쓰는 단일 노드용 스토리 저널. {@code storywave.story.use-redis=false} 일 때만 켜진다.
+ * <p>
+ * 스토리 생성, 라인 추가, 턴 건너뜀, 완료를 메모리 매핑된 세그먼트 파일에 차례로 덧붙인다.
+ * 기록은 잠금 하나로 직렬화하고, 디스크에 내리는(fsync) 일은 동기화 스레드 하나가 맡는다.
+ * 동기화 스레드는 한 번 내리는 동안 쌓인 기록을 다음 번에 한꺼번에 내리므로(그룹 커밋)
+ * 동시에 기록하는 스토리가 많을수록 기록 하나당 fsync 비용이 줄어든다. 기록의 Mono 는 그 기록이 디스크에 내려간 뒤 끝난다.
+ * <p>
+ * 기동 시 세그먼트를 앞에서부터 재생해 스토리를 되살린다. 생성과 완료 레코드는 스토리 전체를 담아 그 앞의 레코드를 대신하므로,
+ * 스토리가 끝나면 그 전 레코드는 모두 필요 없어진다. 정리 주기마다 필요 없는 레코드만 남은 세그먼트를 지우고,
+ * 완료 레코드만 조금 남은 세그먼트는 그 레코드를 활성 세그먼트로 옮긴 뒤 지운다.
+ * 보관 기간이 지난 완료 스토리와 idle-ttl 보다 오래 멈춘 스토리는 재생하지 않는다(메모리 정리 기준과 같다).
+ */
+@Component
+public class StoryJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoryJournal.class);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final long compactIntervalNanos;
+    private final long idleTtlMillis;
+    private final long retentionMillis;
+
+    // 아래 상태는 쓰기 잠금 안에서만 다룬다
+    private final Object writeLock = new Object();
+    private final NavigableMap<Long, JournalSegment> segments = new TreeMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private JournalSegment active;
+    private boolean closed;
+
+    private final Object syncLock = new Object();
+    private List<PendingSync> pending = new ArrayList<>();
+    private Thread syncThread;
+    private volatile boolean running;
+
+    private List<Story> recovered = List.of();
+    private final AtomicLong appendedCount = new AtomicLong();
+    private final AtomicLong syncCount = new AtomicLong();
+    private final AtomicLong compactedSegmentCount = new AtomicLong();
+    private volatile int segmentCount;
+    private volatile long replayMillis;
+
+    public StoryJournal(
+            @Value("${storywave.story.use-redis:true}") final boolean useRedis,
+            @Value("${storywave.journal.enabled:true}") final boolean enabled,
+            @Value("${storywave.journal.dir:data/journal}") final String directory,
+            @Value("${storywave.journal.segment-size-kb:65536}") final int segmentSizeKb,
+            @Value("${storywave.journal.fsync:true}") final boolean fsync,
+            @Value("${storywave.journal.compact-interval-seconds:60}") final long compactIntervalSeconds,
+            @Value("${storywave.lifecycle.idle-ttl-seconds:3600}") final long idleTtlSeconds,
+            @Value("${storywave.lifecycle.archive-retention-days:7}") final long retentionDays) {
+        this.enabled = enabled && !useRedis;
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSizeKb * 1024;
+        this.fsync = fsync;
+        this.compactIntervalNanos = compactIntervalSeconds > 0 ? TimeUnit.SECONDS.toNanos(compactIntervalSeconds) : Long.MAX_VALUE;
+        this.idleTtlMillis = idleTtlSeconds > 0 ? TimeUnit.SECONDS.toMillis(idleTtlSeconds) : Long.MAX_VALUE;
+        this.retentionMillis = retentionDays > 0 ? Duration.ofDays(retentionDays).toMillis() : Long.MAX_VALUE;
+    }
+
+    /**
+     * 세그먼트를 재생해 스토리를 되살리고 새 활성 세그먼트를 연다. 기록보다 먼저 끝나야 하므로 빈 생성 시점에 실행한다.
+     * 되살린 스토리는 {@link #takeRecovered()} 로 가져간다.
+     */
+    @PostConstruct
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        long records = 0;
+        Map<String, ReplayedStory> stories = new HashMap<>();
+        synchronized (writeLock) {
+            try {
+                Files.createDirectories(directory);
+                for (Path path : listSegments()) {
+                    JournalSegment segment = JournalSegment.open(path);
+                    segments.put(segment.id, segment);
+                    records += replay(segment, stories);
+                }
+                active = JournalSegment.create(directory, segments.isEmpty() ? 0 : segments.lastKey() + 1, segmentSize);
+                segments.put(active.id, active);
+                segmentCount = segments.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException("스토리 저널을 열 수 없음: " + directory, e);
+            }
+            expire(nowMillis());
+            List<Story> restored = new ArrayList<>(entries.size());
+            for (ReplayedStory story : stories.values()) {
+                if (entries.containsKey(story.id)) {
+                    restored.add(story.toStory());
+                }
+            }
+            recovered = restored;
+        }
+        compact();
+
+        running = true;
+        // fsync 를 끄더라도 세그먼트 정리는 이 스레드가 맡는다
+        syncThread = new Thread(this::runSync, "story-journal-sync");
+        syncThread.setDaemon(true);
+        syncThread.start();
+        replayMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        logger.info("스토리 저널 재생 완료: {}ms, 레코드 {}개, 스토리 {}개, 세그먼트 {}개, 경로={}",
+                replayMillis, records, recovered.size(), segmentCount, directory.toAbsolutePath());
+    }
+
+    /**
+     * 기동 시 재생으로 되살린 스토리. 한 번만 넘겨주고 비운다.
+     */
+    public List<Story> takeRecovered() {
+        synchronized (writeLock) {
+            List<Story> stories = recovered;
+            recovered = List.of();
+            return stories;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 새 스토리 전체를 기록한다.
+     */
+    public Mono<Void> appendCreated(final Story story) {
+        return append(story, null, true);
+    }
+
+    /**
+     * 새 라인과 턴 상태를 기록한다. 라인으로 스토리가 끝났으면 완료 레코드로 스토리 전체를 기록한다.
+     */
+    public Mono<Void> appendLine(final Story story, final Story.StoryLine line) {
+        return append(story, line, false);
+    }
+
+    /**
+     * 라인 없이 넘어간 턴 상태를 기록한다.
+     */
+    public Mono<Void> appendTurnSkipped(final Story story) {
+        return append(story, null, false);
+    }
+
+    /**
+     * 같은 스토리의 기록은 그 스토리의 액터 안에서 호출되므로 스토리별 순서는 호출 순서와 같다.
+     * 저널이 모르는 스토리(아직 생성 레코드가 없거나 정리된 스토리)의 변경은 스토리 전체로 기록한다.
+     */
+    private Mono<Void> append(final Story story, final Story.StoryLine line, final boolean created) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        String storyId = story.getId();
+        // 한 스냅샷에서 읽어 레코드의 값들이 같은 시퀀스 시점을 가리키게 한다
+        StorySnapshot snapshot = story.getSnapshot();
+        boolean full = created || snapshot.completed();
+        // 인코딩은 잠금 밖에서 한다. 저널이 모르는 스토리로 밝혀지면 잠금 안에서 스토리 전체로 다시 만든다
+        byte[] record;
+        try {
+            record = full ? StoryJournalCodec.snapshot(story, snapshot)
+                    : line != null ? StoryJournalCodec.lineAdded(story, snapshot, line)
+                    : StoryJournalCodec.turnSkipped(story, snapshot);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+
+        JournalSegment segment;
+        int end;
+        synchronized (writeLock) {
+            if (closed) {
+                // 기록하지 않은 변경을 저장된 것으로 알리지 않도록 실패로 돌려준다
+                return Mono.error(new IllegalStateException("스토리 저널이 닫혀 있음: storyId=" + storyId));
+            }
+            if (!full && !entries.containsKey(storyId)) {
+                full = true;
+                try {
+                    record = StoryJournalCodec.snapshot(story, snapshot);
+                } catch (IllegalArgumentException e) {
+                    return Mono.error(e);
+                }
+            }
+            if (record.length > segmentSize) {
+                // 기록하지 못한 변경을 저장된 것으로 알리지 않도록 실패로 돌려준다
+                return Mono.error(new IllegalStateException(
+                        "저널 레코드가 세그먼트보다 큼: storyId=" + storyId + ", " + record.length + "바이트"));
+            }
+            try {
+                write(storyId, record, full, snapshot.completed(), StoryJournalCodec.toMillis(snapshot.lastUpdatedAt()));
+            } catch (IOException e) {
+                return Mono.error(e);
+            }
+            segment = active;
+            end = active.writePosition;
+        }
+        appendedCount.incrementAndGet();
+        if (!fsync) {
+            return Mono.empty();
+        }
+
+        CompletableFuture<Void> synced = new CompletableFuture<>();
+        synchronized (syncLock) {
+            pending.add(new PendingSync(segment, end, synced));
+            syncLock.notifyAll();
+        }
+        return Mono.fromFuture(synced);
+    }
+
+    /**
+     * 활성 세그먼트 뒤에 레코드를 덧붙이고 색인을 갱신한다. 쓰기 잠금 안에서 호출한다.
+     */
+    private void write(final String storyId, final byte[] record, final boolean full, final boolean completed,
+                       final long lastUpdatedMillis) throws IOException {
+        if (active.writePosition + record.length > active.capacity()) {
+            active = JournalSegment.create(directory, active.id + 1, segmentSize);
+            segments.put(active.id, active);
+            segmentCount = segments.size();
+        }
+        int offset = active.writePosition;
+        active.buffer.put(offset, record);
+        active.writePosition += record.length;
+        if (full) {
+            retire(storyId);
+        }
+        track(storyId, active, offset, record.length, completed, lastUpdatedMillis);
+    }
+
+    /**
+     * 세그먼트 하나를 앞에서부터 재생한다. 깨진 레코드를 만나면 그 자리를 세그먼트의 끝으로 본다.
+     */
+    private long replay(final JournalSegment segment, final Map<String, ReplayedStory> stories) {
+        ByteBuffer buffer = segment.buffer;
+        int offset = 0;
+        long records = 0;
+        int length;
+        while ((length = StoryJournalCodec.readLength(buffer, offset)) > 0) {
+            ByteBuffer payload = buffer.slice(offset + StoryJournalCodec.HEADER_BYTES, length);
+            int recordBytes = StoryJournalCodec.HEADER_BYTES + length;
+            byte type = StoryJournalCodec.type(payload);
+            if (type == StoryJournalCodec.CREATED || type == StoryJournalCodec.COMPLETED) {
+                ReplayedStory story = StoryJournalCodec.readSnapshot(payload);
+                stories.put(story.id, story);
+                retire(story.id);
+                track(story.id, segment, offset, recordBytes, story.completed, story.lastUpdatedAtMillis);
+            } else {
+                ReplayedStory story = stories.get(StoryJournalCodec.storyId(payload));
+                // 정리로 앞선 레코드가 지워진 스토리의 레코드는 버린다
+                if (story != null) {
+                    StoryJournalCodec.apply(payload, story);
+                    track(story.id, segment, offset, recordBytes, false, story.lastUpdatedAtMillis);
+                }
+            }
+            offset += recordBytes;
+            records++;
+        }
+        segment.writePosition = offset;
+        segment.syncedPosition = offset;
+        return records;
+    }
+
+    private void track(final String storyId, final JournalSegment segment, final int offset, final int length,
+                       final boolean completed, final long lastUpdatedMillis) {
+        Entry entry = entries.computeIfAbsent(storyId, id -> new Entry());
+        entry.bytes.merge(segment, length, Integer::sum);
+        entry.completed = completed;
+        entry.lastUpdatedMillis = lastUpdatedMillis;
+        segment.liveBytes += length;
+        segment.storyIds.add(storyId);
+        if (completed) {
+            entry.completedOffset = offset;
+            entry.completedLength = length;
+        } else {
+            segment.openBytes += length;
+        }
+    }
+
+    /**
+     * 스토리의 레코드를 모두 필요 없는 것으로 돌린다.
+     */
+    private void retire(final String storyId) {
+        Entry entry = entries.remove(storyId);
+        if (entry == null) {
+            return;
+        }
+        for (Map.Entry<JournalSegment, Integer> bytes : entry.bytes.entrySet()) {
+            JournalSegment segment = bytes.getKey();
+            segment.liveBytes -= bytes.getValue();
+            if (!entry.completed) {
+                segment.openBytes -= bytes.getValue();
+            }
+            segment.storyIds.remove(storyId);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 완료 스토리와 idle-ttl 보다 오래 멈춘 스토리를 정리한다.
+     */
+    private void expire(final long now) {
+        List<String> expired = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            long ttl = entry.getValue().completed ? retentionMillis : idleTtlMillis;
+            if (now - entry.getValue().lastUpdatedMillis >= ttl) {
+                expired.add(entry.getKey());
+            }
+        }
+        expired.forEach(this::retire);
+    }
+
+    /**
+     * 진행 중인 스토리의 레코드가 없는 봉인된 세그먼트를 정리한다.
+     * 남은 레코드가 없으면 지우고, 남은 완료 레코드가 절반 이하이면 활성 세그먼트로 옮긴 뒤 지운다.
+     * 옮긴 레코드를 디스크에 내린 다음에 파일을 지운다. 동기화 스레드에서 실행한다.
+     */
+    void compact() {
+        List<JournalSegment> removed = new ArrayList<>();
+        Map<JournalSegment, Integer> copiedUpTo = new IdentityHashMap<>();
+        synchronized (writeLock) {
+            if (closed) {
+                return;
+            }
+            expire(nowMillis());
+            for (JournalSegment segment : List.copyOf(segments.values())) {
+                if (segment == active || segment.openBytes > 0 || segment.liveBytes * 2 > segment.writePosition) {
+                    continue;
+                }
+                try {
+                    for (String storyId : List.copyOf(segment.storyIds)) {
+                        Entry entry = entries.get(storyId);
+                        byte[] record = new byte[entry.completedLength];
+                        segment.buffer.get(entry.completedOffset, record);
+                        write(storyId, record, true, true, entry.lastUpdatedMillis);
+                        copiedUpTo.put(active, active.writePosition);
+                    }
+                } catch (IOException e) {
+                    logger.error("저널 세그먼트 정리 오류: segment={}, {}", segment.path, e.getMessage());
+                    break;
+                }
+                segments.remove(segment.id);
+                removed.add(segment);
+            }
+            segmentCount = segments.size();
+        }
+        if (removed.isEmpty()) {
+            return;
+        }
+
+        copiedUpTo.forEach(JournalSegment::force);
+        for (JournalSegment segment : removed) {
+            try {
+                segment.delete();
+                compactedSegmentCount.incrementAndGet();
+            } catch (IOException e) {
+                logger.error("저널 세그먼트 삭제 오류: segment={}, {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 쌓인 기록을 한꺼번에 디스크에 내리고 기다리던 기록을 끝낸다. 정리 주기가 되면 세그먼트를 정리한다.
+     */
+    private void runSync() {
+        long nextCompaction = System.nanoTime() + compactIntervalNanos;
+        while (true) {
+            List<PendingSync> batch;
+            synchronized (syncLock) {
+                while (running && pending.isEmpty() && System.nanoTime() - nextCompaction < 0) {
+                    long waitMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextCompaction - System.nanoTime()));
+                    try {
+                        syncLock.wait(waitMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            if (!batch.isEmpty()) {
+                sync(batch);
+            } else if (!running) {
+                return;
+            }
+            if (running && System.nanoTime() - nextCompaction >= 0) {
+                try {
+                    compact();
+                } catch (RuntimeException e) {
+                    logger.error("저널 정리 오류: {}", e.getMessage(), e);
+                }
+                nextCompaction = System.nanoTime() + compactIntervalNanos;
+            }
+        }
+    }
+
+    private void sync(final List<PendingSync> batch) {
+        Map<JournalSegment, Integer> ends = new IdentityHashMap<>();
+        for (PendingSync sync : batch) {
+            ends.merge(sync.segment(), sync.end(), Math::max);
+        }
+        try {
+            ends.forEach(JournalSegment::force);
+            syncCount.incrementAndGet();
+            batch.forEach(sync -> sync.future().complete(null));
+        } catch (UncheckedIOException e) {
+            logger.error("저널 동기화 오류: {}", e.getMessage());
+            batch.forEach(sync -> sync.future().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * 남은 기록을 모두 디스크에 내리고 닫는다.
+     */
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (writeLock) {
+            closed = true;
+        }
+        running = false;
+        synchronized (syncLock) {
+            syncLock.notifyAll();
+        }
+        if (syncThread != null) {
+            try {
+                syncThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public long getAppendedCount() {
+        return appendedCount.get();
+    }
+
+    /**
+     * fsync 묶음 수. 기록 수와의 비율이 그룹 커밋으로 묶인 정도다.
+     */
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+
+    public long getCompactedSegmentCount() {
+        return compactedSegmentCount.get();
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    public long getReplayMillis() {
+        return replayMillis;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            // 파일 이름이 0 으로 채운 세그먼트 번호이므로 이름 순서가 기록 순서다
+            return files.filter(JournalSegment::isSegment).sorted().toList();
+        }
+    }
+
+    private static long nowMillis() {
+        return StoryJournalCodec.toMillis(LocalDateTime.now());
+    }
+
+    /**
+     * 스토리별로 아직 필요한 레코드가 세그먼트마다 몇 바이트인지. 완료된 스토리는 완료 레코드 하나만 남는다.
+     */
+    private static final class Entry {
+
+        final Map<JournalSegment, Integer> bytes = new IdentityHashMap<>(2);
+        boolean completed;
+        long lastUpdatedMillis;
+        int completedOffset;
+        int completedLength;
+    }
+
+    private record PendingSync(JournalSegment segment, int end, CompletableFuture<Void> future) {
+    }
+}
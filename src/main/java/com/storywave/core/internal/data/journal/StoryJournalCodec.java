@@ -0,0 +1,248 @@
+package com.storywave.core.internal.data.journal;
+
+import com.storywave.core.internal.core.domain.model.story.Story;
+import com.storywave.core.internal.core.domain.model.story.StorySnapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * 저널 레코드 형식. 모든 정수는 빅 엔디언이다.
+ * <pre>
+ * int    본문 길이
+ * int    본문 CRC32C
+ * 본문:
+ *   byte   종류 (CREATED, LINE_ADDED, TURN_SKIPPED, COMPLETED)
+ *   short  ID 길이, UTF-8 스토리 ID
+ *   int    currentPlayerIndex, currentRound
+ *   long   sequence, lastUpdatedAt (epoch millis)
+ *   CREATED, COMPLETED:
+ *     int maxRound, long createdAt, int 시작 문장 길이와 UTF-8 시작 문장, int 플레이어 수와 플레이어 ID 목록,
+ *     int 라인 수와 라인 목록
+ *   LINE_ADDED: 라인 하나
+ *   TURN_SKIPPED: 없음
+ * 라인: short 사용자 ID, short 내용, int 라운드, long createdAt
+ * </pre>
+ * CREATED 와 COMPLETED 는 스토리 전체를 담아 그 앞의 레코드를 모두 대신한다.
+ * short 길이 필드에 담기지 않는 ID 나 라인 내용은 잘라 넣지 않고 인코딩을 거부한다(IllegalArgumentException).
+ * 길이가 0 이거나 CRC 가 맞지 않는 곳을 세그먼트의 끝으로 본다(기록 도중 멈춘 마지막 레코드 포함).
+ */
+final class StoryJournalCodec {
+
+    static final byte CREATED = 1;
+    static final byte LINE_ADDED = 2;
+    static final byte TURN_SKIPPED = 3;
+    static final byte COMPLETED = 4;
+
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private static final int TYPE_OFFSET = 0;
+    private static final int ID_OFFSET = 1;
+
+    private StoryJournalCodec() {
+    }
+
+    /**
+     * 스토리 전체를 담는 레코드. 완료된 스토리면 COMPLETED, 아니면 CREATED 이다.
+     */
+    static byte[] snapshot(final Story story, final StorySnapshot snapshot) {
+        byte[] id = utf8(story.getId());
+        byte[] prompt = utf8Unbounded(story.getStartingPrompt());
+        List<String> players = story.getPlayerIds();
+        List<Story.StoryLine> lines = snapshot.lines();
+        byte[][] playerBytes = new byte[players.size()][];
+        byte[][][] lineBytes = new byte[lines.size()][][];
+
+        int size = stateBytes(id) + Integer.BYTES + Long.BYTES + Integer.BYTES + prompt.length
+                + Integer.BYTES + Integer.BYTES;
+        for (int i = 0; i < players.size(); i++) {
+            playerBytes[i] = utf8(players.get(i));
+            size += Short.BYTES + playerBytes[i].length;
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            lineBytes[i] = lineBytes(lines.get(i));
+            size += lineSize(lineBytes[i]);
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(HEADER_BYTES + size).position(HEADER_BYTES);
+        putState(payload, snapshot.completed() ? COMPLETED : CREATED, id, snapshot);
+        payload.putInt(story.getMaxRound());
+        payload.putLong(toMillis(story.getCreatedAt()));
+        payload.putInt(prompt.length);
+        payload.put(prompt);
+        payload.putInt(players.size());
+        for (byte[] player : playerBytes) {
+            putShortString(payload, player);
+        }
+        payload.putInt(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            putLine(payload, lineBytes[i], lines.get(i));
+        }
+        return seal(payload);
+    }
+
+    static byte[] lineAdded(final Story story, final StorySnapshot snapshot, final Story.StoryLine line) {
+        byte[] id = utf8(story.getId());
+        byte[][] bytes = lineBytes(line);
+        ByteBuffer payload = ByteBuffer.allocate(HEADER_BYTES + stateBytes(id) + lineSize(bytes)).position(HEADER_BYTES);
+        putState(payload, LINE_ADDED, id, snapshot);
+        putLine(payload, bytes, line);
+        return seal(payload);
+    }
+
+    static byte[] turnSkipped(final Story story, final StorySnapshot snapshot) {
+        byte[] id = utf8(story.getId());
+        ByteBuffer payload = ByteBuffer.allocate(HEADER_BYTES + stateBytes(id)).position(HEADER_BYTES);
+        putState(payload, TURN_SKIPPED, id, snapshot);
+        return seal(payload);
+    }
+
+    /**
+     * offset 에서 시작하는 온전한 레코드의 본문 길이. 세그먼트의 끝이거나 레코드가 깨졌으면 -1.
+     */
+    static int readLength(final ByteBuffer segment, final int offset) {
+        if (offset + HEADER_BYTES > segment.capacity()) {
+            return -1;
+        }
+        int length = segment.getInt(offset);
+        if (length <= 0 || length > segment.capacity() - offset - HEADER_BYTES) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(offset + HEADER_BYTES, length));
+        return (int) crc.getValue() == segment.getInt(offset + Integer.BYTES) ? length : -1;
+    }
+
+    static byte type(final ByteBuffer payload) {
+        return payload.get(TYPE_OFFSET);
+    }
+
+    static String storyId(final ByteBuffer payload) {
+        return readShortString(payload.position(ID_OFFSET));
+    }
+
+    /**
+     * CREATED, COMPLETED 레코드로 스토리를 새로 만든다.
+     */
+    static ReplayedStory readSnapshot(final ByteBuffer payload) {
+        ReplayedStory story = new ReplayedStory(storyId(payload));
+        readState(payload, story);
+        story.completed = type(payload) == COMPLETED;
+        story.maxRound = payload.getInt();
+        story.createdAtMillis = payload.getLong();
+        byte[] prompt = new byte[payload.getInt()];
+        payload.get(prompt);
+        story.startingPrompt = new String(prompt, StandardCharsets.UTF_8);
+        int playerCount = payload.getInt();
+        List<String> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(readShortString(payload));
+        }
+        story.playerIds = players;
+        int lineCount = payload.getInt();
+        for (int i = 0; i < lineCount; i++) {
+            story.lines.add(readLine(payload));
+        }
+        return story;
+    }
+
+    /**
+     * LINE_ADDED, TURN_SKIPPED 레코드를 스토리에 적용한다.
+     */
+    static void apply(final ByteBuffer payload, final ReplayedStory story) {
+        storyId(payload);
+        readState(payload, story);
+        if (type(payload) == LINE_ADDED) {
+            story.lines.add(readLine(payload));
+        }
+    }
+
+    static long toMillis(final LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    static LocalDateTime fromMillis(final long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static int stateBytes(final byte[] id) {
+        return 1 + Short.BYTES + id.length + Integer.BYTES * 2 + Long.BYTES * 2;
+    }
+
+    private static void putState(final ByteBuffer payload, final byte type, final byte[] id, final StorySnapshot snapshot) {
+        payload.put(type);
+        putShortString(payload, id);
+        payload.putInt(snapshot.currentPlayerIndex());
+        payload.putInt(snapshot.currentRound());
+        payload.putLong(snapshot.sequence());
+        payload.putLong(toMillis(snapshot.lastUpdatedAt()));
+    }
+
+    private static void readState(final ByteBuffer payload, final ReplayedStory story) {
+        story.currentPlayerIndex = payload.getInt();
+        story.currentRound = payload.getInt();
+        story.sequence = payload.getLong();
+        story.lastUpdatedAtMillis = payload.getLong();
+    }
+
+    private static byte[][] lineBytes(final Story.StoryLine line) {
+        return new byte[][]{utf8(line.getUserId()), utf8(line.getContent())};
+    }
+
+    private static int lineSize(final byte[][] bytes) {
+        return Short.BYTES * 2 + bytes[0].length + bytes[1].length + Integer.BYTES + Long.BYTES;
+    }
+
+    private static void putLine(final ByteBuffer payload, final byte[][] bytes, final Story.StoryLine line) {
+        putShortString(payload, bytes[0]);
+        putShortString(payload, bytes[1]);
+        payload.putInt(line.getRound());
+        payload.putLong(toMillis(line.getCreatedAt()));
+    }
+
+    private static Story.StoryLine readLine(final ByteBuffer payload) {
+        String userId = readShortString(payload);
+        String content = readShortString(payload);
+        int round = payload.getInt();
+        return new Story.StoryLine(userId, content, round, fromMillis(payload.getLong()));
+    }
+
+    private static byte[] seal(final ByteBuffer record) {
+        int length = record.capacity() - HEADER_BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), HEADER_BYTES, length);
+        record.putInt(0, length);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        return record.array();
+    }
+
+    private static void putShortString(final ByteBuffer buffer, final byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String readShortString(final ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(final String value) {
+        byte[] bytes = utf8Unbounded(value);
+        // 자르면 UTF-8 문자가 중간에서 끊겨 재생 시 내용이 조용히 바뀌므로 기록하지 않는다
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("저널 필드가 길이 제한(65535바이트)을 넘음: " + bytes.length + "바이트");
+        }
+        return bytes;
+    }
+
+    private static byte[] utf8Unbounded(final String value) {
+        return (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+    }
+}
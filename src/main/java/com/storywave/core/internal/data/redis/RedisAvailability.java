@@ -0,0 +1,76 @@
+package com.storywave.core.internal.data.redis;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * 기동 시 Redis 에 한 번 PING 을 보내 쓸 수 있는지 확인한다.
+ * <p>
+ * 확인은 기동 스레드를 막지 않고 제한 시간 안에 끝난다. 답이 오기 전에는 쓸 수 있다고 보고,
+ * 실패하면 이 프로세스가 끝날 때까지 각 매니저가 Redis 를 건너뛰고 메모리만으로 동작한다.
+ * 한 번 로컬 모드로 내려간 뒤에는 메모리 상태와 Redis 가 어긋나므로 다시 올라가지 않는다.
+ */
+@Component
+public class RedisAvailability {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisAvailability.class);
+
+    private final Mono<Boolean> probe;
+
+    private volatile boolean available = true;
+
+    public RedisAvailability(
+            final ReactiveRedisConnectionFactory factory,
+            @Value("${storywave.redis.probe-timeout-ms:2000}") final long probeTimeoutMillis) {
+        this.probe = Mono.usingWhen(
+                        // 커넥션을 처음 얻을 때 연결을 맺느라 막힐 수 있으므로 이벤트 루프 밖에서 구독한다
+                        Mono.fromSupplier(factory::getReactiveConnection),
+                        ReactiveRedisConnection::ping,
+                        ReactiveRedisConnection::closeLater)
+                .subscribeOn(Schedulers.boundedElastic())
+                .timeout(Duration.ofMillis(probeTimeoutMillis))
+                .map(pong -> true)
+                .defaultIfEmpty(false)
+                .onErrorResume(error -> {
+                    logger.error("Redis 서버 연결 실패: {}", error.getMessage());
+                    return Mono.just(false);
+                })
+                .doOnNext(this::onProbed)
+                .cache();
+    }
+
+    @PostConstruct
+    public void start() {
+        probe.subscribe();
+    }
+
+    /**
+     * 기동 시 확인 결과. 이미 끝났으면 바로 돌려준다.
+     */
+    public Mono<Boolean> probe() {
+        return probe;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    private void onProbed(final boolean reachable) {
+        available = reachable;
+        if (reachable) {
+            logger.info("Redis 서버에 성공적으로 연결되었습니다.");
+        } else {
+            logger.warn("Redis 를 쓸 수 없어 로컬 메모리 모드로 작동합니다.");
+        }
+    }
+}
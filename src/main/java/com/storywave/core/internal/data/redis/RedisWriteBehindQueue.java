@@ -0,0 +1,405 @@
+package com.storywave.core.internal.data.redis;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis 쓰기 지연(write-behind) 큐.
+ * 플러시 주기 안에서 같은 키에 대한 덮어쓰기(SET/DEL)는 마지막 값만 남기고,
+ * 모인 명령은 MSET 과 공유 커넥션 파이프라이닝으로 한 번에 내보낸다.
+ */
+@Component
+public class RedisWriteBehindQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisWriteBehindQueue.class);
+
+    private static final Sinks.EmitFailureHandler RETRY_NON_SERIALIZED =
+            Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100));
+
+    private final ReactiveRedisOperations<String, Object> redisOperations;
+    private final int maxPending;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration shutdownTimeout;
+
+    private final Object lock = new Object();
+    private LinkedHashMap<String, Deque<WriteOp>> pending = new LinkedHashMap<>();
+    private int pendingCount;
+
+    // 플러시는 한 번에 하나씩 직렬로 처리되어 같은 키의 쓰기 순서가 뒤바뀌지 않는다
+    private final Sinks.Many<Sinks.Empty<Void>> flushRequests = Sinks.many().unicast().onBackpressureBuffer();
+    private Disposable flushTask;
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private final Timer flushTimer;
+
+    public RedisWriteBehindQueue(
+            final ReactiveRedisOperations<String, Object> redisOperations,
+            final MeterRegistry meterRegistry,
+            @Value("${storywave.redis.write-behind.max-pending:10000}") final int maxPending,
+            @Value("${storywave.redis.write-behind.batch-size:512}") final int batchSize,
+            @Value("${storywave.redis.write-behind.flush-interval-ms:50}") final long flushIntervalMillis,
+            @Value("${storywave.redis.write-behind.shutdown-timeout-ms:5000}") final long shutdownTimeoutMillis) {
+        this.redisOperations = redisOperations;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.flushInterval = Duration.ofMillis(flushIntervalMillis);
+        this.shutdownTimeout = Duration.ofMillis(shutdownTimeoutMillis);
+        this.flushTimer = Timer.builder("storywave.redis.write-behind.flush")
+                .description("모인 쓰기를 Redis 로 내보내는 데 걸린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        Flux<Sinks.Empty<Void>> ticks = Flux.interval(flushInterval)
+                .onBackpressureDrop()
+                .map(tick -> Sinks.<Void>empty());
+
+        flushTask = Flux.merge(ticks, flushRequests.asFlux())
+                .concatMap(waiter -> drainPending()
+                        .doFinally(signal -> waiter.tryEmitEmpty()))
+                .subscribe(
+                        unused -> {},
+                        error -> logger.error("Redis 쓰기 지연 플러시 중단: {}", error.getMessage())
+                );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushTask != null && !flushTask.isDisposed()) {
+            try {
+                // 진행 중인 플러시는 이미 pending 에서 배치를 떼어 갔으므로 취소하지 않고 마지막 플러시 뒤에 끝날 때까지 기다린다
+                flush().block(shutdownTimeout);
+            } catch (Exception e) {
+                logger.error("종료 중 Redis 쓰기 지연 플러시 대기 실패: {}", e.getMessage());
+            }
+            flushTask.dispose();
+        }
+        try {
+            // 마지막 플러시 이후에 들어온 쓰기를 모두 내보낸다
+            drainPending().block(shutdownTimeout);
+        } catch (Exception e) {
+            logger.error("종료 중 Redis 쓰기 지연 플러시 실패: {}", e.getMessage());
+        }
+    }
+
+    public Mono<Void> set(final String key, final Object value) {
+        return submit(key, new SetOp(value, null));
+    }
+
+    public Mono<Void> set(final String key, final Object value, final Duration ttl) {
+        return submit(key, new SetOp(value, ttl));
+    }
+
+    public Mono<Void> delete(final String key) {
+        return submit(key, new DeleteOp());
+    }
+
+    public Mono<Void> addToSet(final String key, final Object... members) {
+        return submit(key, new SetAddOp(members));
+    }
+
+    public Mono<Void> rightPush(final String key, final Object value) {
+        return submit(key, new ListPushOp(value));
+    }
+
+    public Mono<Void> removeFromList(final String key, final Object value) {
+        return submit(key, new ListRemoveOp(value));
+    }
+
+    public Mono<Void> expire(final String key, final Duration ttl) {
+        return submit(key, new ExpireOp(ttl));
+    }
+
+    /**
+     * 대기 중인 쓰기를 즉시 내보내고, 완료되면 신호를 보낸다.
+     */
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> waiter = Sinks.empty();
+            flushRequests.emitNext(waiter, RETRY_NON_SERIALIZED);
+            return waiter.asMono();
+        });
+    }
+
+    /**
+     * 큐가 가득 차면 다음 플러시가 끝날 때까지 완료를 미뤄 생산자에게 배압을 전달한다.
+     */
+    private Mono<Void> submit(final String key, final WriteOp op) {
+        return Mono.defer(() -> {
+            if (offer(key, op)) {
+                return Mono.empty();
+            }
+            overflowCount.incrementAndGet();
+            return flush().then(submit(key, op));
+        });
+    }
+
+    private boolean offer(final String key, final WriteOp op) {
+        synchronized (lock) {
+            Deque<WriteOp> ops = pending.get(key);
+
+            if (op.overwrites()) {
+                // 덮어쓰기는 같은 키의 이전 쓰기를 모두 대체하므로 큐 크기를 늘리지 않는 경우 항상 수용한다
+                int removed = ops != null ? ops.size() : 0;
+                if (removed == 0 && pendingCount >= maxPending) {
+                    return false;
+                }
+                Deque<WriteOp> replaced = new ArrayDeque<>(2);
+                replaced.add(op);
+                pending.put(key, replaced);
+                pendingCount += 1 - removed;
+                coalescedCount.addAndGet(removed);
+                enqueuedCount.incrementAndGet();
+                return true;
+            }
+
+            if (op instanceof ListRemoveOp remove && ops != null && cancelPendingPush(ops, remove.value())) {
+                // 아직 내보내지 않은 RPUSH 와 LREM 은 서로 상쇄된다
+                pendingCount--;
+                coalescedCount.addAndGet(2);
+                enqueuedCount.incrementAndGet();
+                if (ops.isEmpty()) {
+                    pending.remove(key);
+                }
+                return true;
+            }
+
+            if (pendingCount >= maxPending) {
+                return false;
+            }
+            if (ops == null) {
+                ops = new ArrayDeque<>(2);
+                pending.put(key, ops);
+            }
+            ops.add(op);
+            pendingCount++;
+            enqueuedCount.incrementAndGet();
+            return true;
+        }
+    }
+
+    private boolean cancelPendingPush(final Deque<WriteOp> ops, final Object value) {
+        Iterator<WriteOp> iterator = ops.descendingIterator();
+        while (iterator.hasNext()) {
+            WriteOp op = iterator.next();
+            if (op instanceof ListPushOp push && Objects.equals(push.value(), value)) {
+                iterator.remove();
+                return true;
+            }
+            if (!(op instanceof ListPushOp)) {
+                // 다른 종류의 명령을 넘어서 상쇄하면 순서가 바뀌므로 중단
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private Mono<Void> drainPending() {
+        return Mono.defer(() -> {
+            Map<String, Deque<WriteOp>> batch;
+            int count;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return Mono.empty();
+                }
+                batch = pending;
+                count = pendingCount;
+                pending = new LinkedHashMap<>();
+                pendingCount = 0;
+            }
+
+            long startedAt = System.nanoTime();
+            return Flux.fromIterable(partition(batch))
+                    .concatMap(this::writeChunk)
+                    .then()
+                    .doOnSuccess(unused -> flushedCount.addAndGet(count))
+                    .doFinally(signal -> {
+                        lastFlushNanos = System.nanoTime() - startedAt;
+                        flushTimer.record(lastFlushNanos, TimeUnit.NANOSECONDS);
+                    });
+        });
+    }
+
+    private List<Map<String, Deque<WriteOp>>> partition(final Map<String, Deque<WriteOp>> batch) {
+        List<Map<String, Deque<WriteOp>>> chunks = new ArrayList<>();
+        Map<String, Deque<WriteOp>> chunk = new LinkedHashMap<>();
+        int size = 0;
+        for (Map.Entry<String, Deque<WriteOp>> entry : batch.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            size += entry.getValue().size();
+            if (size >= batchSize) {
+                chunks.add(chunk);
+                chunk = new LinkedHashMap<>();
+                size = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * TTL 없는 단일 SET 은 MSET 한 번으로 묶고, 나머지는 순서대로 발행해 공유 커넥션에서 파이프라이닝되게 한다.
+     */
+    private Mono<Void> writeChunk(final Map<String, Deque<WriteOp>> chunk) {
+        Map<String, Object> multiSet = new LinkedHashMap<>();
+        List<Mono<?>> commands = new ArrayList<>();
+
+        for (Map.Entry<String, Deque<WriteOp>> entry : chunk.entrySet()) {
+            String key = entry.getKey();
+            Deque<WriteOp> ops = entry.getValue();
+            if (ops.size() == 1 && ops.peekFirst() instanceof SetOp set && set.ttl() == null) {
+                multiSet.put(key, set.value());
+                continue;
+            }
+            for (WriteOp op : ops) {
+                commands.add(op.execute(redisOperations, key));
+            }
+        }
+
+        if (!multiSet.isEmpty()) {
+            commands.add(redisOperations.opsForValue().multiSet(multiSet));
+        }
+
+        return Flux.fromIterable(commands)
+                .flatMapSequential(command -> command
+                        .onErrorResume(error -> {
+                            failedCount.incrementAndGet();
+                            logger.error("Redis 쓰기 지연 명령 실패: {}", error.getMessage());
+                            return Mono.empty();
+                        }), Math.max(1, commands.size()))
+                .then();
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pendingCount;
+        }
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    public long getFlushedCount() {
+        return flushedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    public long getLastFlushNanos() {
+        return lastFlushNanos;
+    }
+
+    private sealed interface WriteOp permits SetOp, DeleteOp, SetAddOp, ListPushOp, ListRemoveOp, ExpireOp {
+
+        Mono<?> execute(ReactiveRedisOperations<String, Object> redisOperations, String key);
+
+        default boolean overwrites() {
+            return false;
+        }
+    }
+
+    private record SetOp(Object value, Duration ttl) implements WriteOp {
+
+        @Override
+        public Mono<?> execute(final ReactiveRedisOperations<String, Object> redisOperations, final String key) {
+            return ttl == null
+                    ? redisOperations.opsForValue().set(key, value)
+                    : redisOperations.opsForValue().set(key, value, ttl);
+        }
+
+        @Override
+        public boolean overwrites() {
+            return true;
+        }
+    }
+
+    private record DeleteOp() implements WriteOp {
+
+        @Override
+        public Mono<?> execute(final ReactiveRedisOperations<String, Object> redisOperations, final String key) {
+            return redisOperations.delete(key);
+        }
+
+        @Override
+        public boolean overwrites() {
+            return true;
+        }
+    }
+
+    private record SetAddOp(Object[] members) implements WriteOp {
+
+        @Override
+        public Mono<?> execute(final ReactiveRedisOperations<String, Object> redisOperations, final String key) {
+            return redisOperations.opsForSet().add(key, members);
+        }
+    }
+
+    private record ListPushOp(Object value) implements WriteOp {
+
+        @Override
+        public Mono<?> execute(final ReactiveRedisOperations<String, Object> redisOperations, final String key) {
+            return redisOperations.opsForList().rightPush(key, value);
+        }
+    }
+
+    private record ListRemoveOp(Object value) implements WriteOp {
+
+        @Override
+        public Mono<?> execute(final ReactiveRedisOperations<String, Object> redisOperations, final String key) {
+            return redisOperations.opsForList().remove(key, 0, value);
+        }
+    }
+
+    private record ExpireOp(Duration ttl) implements WriteOp {
+
+        @Override
+        public Mono<?> execute(final ReactiveRedisOperations<String, Object> redisOperations, final String key) {
+            return redisOperations.expire(key, ttl);
+        }
+    }
+}
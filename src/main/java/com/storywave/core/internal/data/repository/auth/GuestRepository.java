@@ -4,11 +4,12 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Repository
-public class GuestRepository {
+public class GuestRepository implements GuestScanRepository {
 
     private final Map<String, Boolean> guestIds = new ConcurrentHashMap<>();
 
@@ -26,5 +27,11 @@ public class GuestRepository {
     public Flux<String> getAllGuests() {
         return Flux.fromIterable(guestIds.keySet());
     }
-    
+
+    @Override
+    public Flux<List<String>> scanGuestPages(final int pageSize) {
+        return Flux.fromIterable(guestIds.keySet())
+                .buffer(pageSize);
+    }
+
 }
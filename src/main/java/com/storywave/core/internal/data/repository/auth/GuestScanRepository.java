@@ -0,0 +1,21 @@
+package com.storywave.core.internal.data.repository.auth;
+
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * 게스트 ID 를 한 번에 불러오지 않고 페이지 단위로 흘려보내는 조회 계약.
+ * 다음 페이지는 구독자가 요청할 때만 가져오므로 소비 속도가 저장소 조회 속도를 제한한다.
+ */
+public interface GuestScanRepository {
+
+    /**
+     * 최대 {@code pageSize} 개씩 게스트 ID 페이지를 스트리밍한다. 순서와 페이지 크기는 보장하지 않는다.
+     */
+    Flux<List<String>> scanGuestPages(int pageSize);
+
+    default Flux<String> scanGuests(final int pageSize) {
+        return scanGuestPages(pageSize).concatMapIterable(page -> page);
+    }
+}
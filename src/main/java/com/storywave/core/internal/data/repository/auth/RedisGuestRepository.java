@@ -1,24 +1,32 @@
 package com.storywave.core.internal.data.repository.auth;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Repository
 @Primary
-public class RedisGuestRepository {
+public class RedisGuestRepository implements GuestScanRepository {
 
     private static final String GUEST_KEY_PREFIX = "guest:";
     private static final Duration GUEST_EXPIRE_TIME = Duration.ofDays(7); 
 
     private final ReactiveRedisOperations<String, Object> redisOperations;
+    private final int scanPageSize;
 
-    public RedisGuestRepository(final ReactiveRedisOperations<String, Object> redisOperations) {
+    public RedisGuestRepository(
+            final ReactiveRedisOperations<String, Object> redisOperations,
+            @Value("${storywave.auth.guest-scan.page-size:500}") final int scanPageSize) {
         this.redisOperations = redisOperations;
+        this.scanPageSize = scanPageSize;
     }
 
     public Mono<String> saveGuest(final String guestId) {
@@ -32,9 +40,44 @@ public class RedisGuestRepository {
         return redisOperations.hasKey(key);
     }
 
+    /**
+     * 게스트 키의 남은 수명을 조회한다. 존재하지 않으면 비어 있고, 만료 시간이 없으면 {@link Duration#ZERO} 다.
+     */
+    public Mono<Duration> getGuestTtl(final String guestId) {
+        String key = GUEST_KEY_PREFIX + guestId;
+        return redisOperations.getExpire(key);
+    }
+
     public Flux<String> getAllGuests() {
-        return redisOperations.keys(GUEST_KEY_PREFIX + "*")
-                .flatMap(key -> redisOperations.opsForValue().get(key)
-                        .cast(String.class));
+        return scanGuests(scanPageSize);
+    }
+
+    /**
+     * KEYS 대신 SCAN 커서로 게스트 키를 훑고, 한 페이지의 값은 MGET 한 번으로 가져온다.
+     * 커서는 다음 페이지 요청이 있을 때만 진행한다.
+     */
+    @Override
+    public Flux<List<String>> scanGuestPages(final int pageSize) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(GUEST_KEY_PREFIX + "*")
+                .count(pageSize)
+                .build();
+
+        return redisOperations.scan(options)
+                .buffer(pageSize)
+                .concatMap(keys -> redisOperations.opsForValue().multiGet(keys), 1)
+                .map(RedisGuestRepository::toGuestIds)
+                .filter(page -> !page.isEmpty());
+    }
+
+    private static List<String> toGuestIds(final List<Object> values) {
+        List<String> guestIds = new ArrayList<>(values.size());
+        for (Object value : values) {
+            // SCAN 과 MGET 사이에 만료된 키는 null 로 돌아온다
+            if (value instanceof String guestId) {
+                guestIds.add(guestId);
+            }
+        }
+        return guestIds;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+package com.storywave.core.internal.data.repository.room;
+
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 방 매칭 상태를 Redis 에서 다시 읽는 저장소. 쓰기는 각 매니저가 쓰기 지연 큐로 한다.
+ * <ul>
+ *     <li>{@code user:{userId}:room} - 사용자가 배정된 방 ID</li>
+ *     <li>{@code room:{roomId}} - 방 멤버 SET</li>
+ *     <li>{@code room:{roomId}:max-round} - 매칭에서 정해진 라운드 수 (기본값을 쓰는 방은 없음)</li>
+ *     <li>{@code waiting:queue} - 대기 순서대로 쌓인 사용자 목록</li>
+ * </ul>
+ */
+@Repository
+public class RedisRoomRepository {
+
+    private static final String ROOM_KEY_PREFIX = "room:";
+    private static final String MAX_ROUND_SUFFIX = ":max-round";
+    private static final String USER_KEY_PREFIX = "user:";
+    private static final String USER_ROOM_SUFFIX = ":room";
+    private static final String WAITING_QUEUE_KEY = "waiting:queue";
+
+    private final ReactiveRedisOperations<String, Object> redisOperations;
+
+    public RedisRoomRepository(final ReactiveRedisOperations<String, Object> redisOperations) {
+        this.redisOperations = redisOperations;
+    }
+
+    /**
+     * SCAN 커서로 사용자-방 매핑 키를 훑고, 한 페이지의 값은 MGET 한 번으로 가져온다.
+     */
+    public Flux<List<RoomAssignment>> scanAssignmentPages(final int pageSize) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(USER_KEY_PREFIX + "*" + USER_ROOM_SUFFIX)
+                .count(pageSize)
+                .build();
+
+        return redisOperations.scan(options)
+                .buffer(pageSize)
+                .concatMap(keys -> redisOperations.opsForValue().multiGet(keys)
+                        .map(values -> toAssignments(keys, values)), 1)
+                .filter(page -> !page.isEmpty());
+    }
+
+    public Mono<Set<String>> getMembers(final String roomId) {
+        return redisOperations.opsForSet().members(ROOM_KEY_PREFIX + roomId)
+                .ofType(String.class)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 매칭에서 정해진 라운드 수. 기록이 없으면 기본값을 뜻하는 0.
+     */
+    public Mono<Integer> getMaxRound(final String roomId) {
+        return redisOperations.opsForValue().get(ROOM_KEY_PREFIX + roomId + MAX_ROUND_SUFFIX)
+                .ofType(Number.class)
+                .map(Number::intValue)
+                .defaultIfEmpty(0);
+    }
+
+    /**
+     * 대기열에 들어간 순서대로 사용자 ID 를 읽는다.
+     */
+    public Mono<List<String>> getWaitingUsers() {
+        return redisOperations.opsForList().range(WAITING_QUEUE_KEY, 0, -1)
+                .ofType(String.class)
+                .collectList();
+    }
+
+    private static List<RoomAssignment> toAssignments(final List<String> keys, final List<Object> values) {
+        List<RoomAssignment> assignments = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            // SCAN 과 MGET 사이에 지워진 키는 null 로 돌아온다
+            if (values.get(i) instanceof String roomId) {
+                String key = keys.get(i);
+                String userId = key.substring(USER_KEY_PREFIX.length(), key.length() - USER_ROOM_SUFFIX.length());
+                assignments.add(new RoomAssignment(userId, roomId));
+            }
+        }
+        return assignments;
+    }
+
+    public record RoomAssignment(String userId, String roomId) {
+    }
+}
@@ -0,0 +1,227 @@
+package com.storywave.core.internal.data.repository.story;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.storywave.core.internal.core.domain.model.story.Story;
+import com.storywave.core.internal.core.domain.model.story.StorySnapshot;
+import com.storywave.core.internal.data.redis.RedisWriteBehindQueue;
+
+import org.springframework.data.redis.core.ReactiveRedisOperations;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스토리를 추가 전용(append-only) 형식으로 저장하는 저장소.
+ * <ul>
+ *     <li>{@code story:{id}:meta} - 생성 시 한 번만 기록하는 불변 메타데이터</li>
+ *     <li>{@code story:{id}:lines} - 라인과 건너뛴 턴마다 RPUSH 되는 목록</li>
+ *     <li>{@code story:{id}:state} - 턴마다 덮어쓰는 작은 턴 상태</li>
+ * </ul>
+ * 라인 하나를 저장하는 비용은 스토리 길이와 무관하다.
+ */
+@Repository
+public class RedisStoryRepository {
+
+    private static final String STORY_KEY_PREFIX = "story:";
+    private static final String META_SUFFIX = ":meta";
+    private static final String LINES_SUFFIX = ":lines";
+    private static final String STATE_SUFFIX = ":state";
+
+    // Redis 직렬화기는 타입 정보 없이 Map 으로 읽어오므로 레코드로 변환할 때 사용
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final ReactiveRedisOperations<String, Object> redisOperations;
+    private final RedisWriteBehindQueue redisWriteBehindQueue;
+
+    public RedisStoryRepository(
+            final ReactiveRedisOperations<String, Object> redisOperations,
+            final RedisWriteBehindQueue redisWriteBehindQueue) {
+        this.redisOperations = redisOperations;
+        this.redisWriteBehindQueue = redisWriteBehindQueue;
+    }
+
+    /**
+     * 새 스토리의 메타데이터와 초기 턴 상태를 기록한다.
+     */
+    public Mono<Void> saveNew(final Story story) {
+        StoryMetadata metadata = new StoryMetadata(
+                story.getId(),
+                story.getRoomId(),
+                story.getPlayerIds(),
+                story.getStartingPrompt(),
+                story.getMaxRound(),
+                toEpochMillis(story.getCreatedAt()));
+
+        return redisWriteBehindQueue.set(metaKey(story.getId()), metadata)
+                .then(saveState(story));
+    }
+
+    /**
+     * 새 라인 하나와 턴 상태만 기록한다.
+     */
+    public Mono<Void> appendLine(final Story story, final Story.StoryLine line) {
+        StoryLineRecord record = new StoryLineRecord(
+                line.getUserId(),
+                line.getContent(),
+                line.getRound(),
+                toEpochMillis(line.getCreatedAt()),
+                false);
+
+        return redisWriteBehindQueue.rightPush(linesKey(story.getId()), record)
+                .then(saveState(story));
+    }
+
+    /**
+     * 건너뛴 턴 표시와 턴 상태를 기록한다. 라인 없이 턴과 시퀀스가 넘어가므로 다시 읽을 때 함께 센다.
+     */
+    public Mono<Void> appendSkip(final Story story) {
+        StorySnapshot snapshot = story.getSnapshot();
+        StoryLineRecord record = new StoryLineRecord(
+                null,
+                null,
+                snapshot.currentRound(),
+                toEpochMillis(snapshot.lastUpdatedAt()),
+                true);
+
+        return redisWriteBehindQueue.rightPush(linesKey(story.getId()), record)
+                .then(saveState(story));
+    }
+
+    public Mono<Void> saveState(final Story story) {
+        // 한 스냅샷에서 읽어 턴 상태의 값들이 같은 시퀀스 시점을 가리키게 한다
+        StorySnapshot snapshot = story.getSnapshot();
+        StoryTurnState state = new StoryTurnState(
+                snapshot.currentPlayerIndex(),
+                snapshot.currentRound(),
+                snapshot.completed(),
+                snapshot.lines().size(),
+                // 시퀀스는 턴마다 하나씩 오르므로 라인이 없는 턴은 건너뛴 턴이다
+                (int) (snapshot.sequence() - snapshot.lines().size()),
+                snapshot.sequence(),
+                toEpochMillis(snapshot.lastUpdatedAt()));
+
+        return redisWriteBehindQueue.set(stateKey(story.getId()), state);
+    }
+
+    /**
+     * 메모리에서 내린 스토리의 키들에 보관 기간을 설정한다. 보관 기간 안에는 {@link #load(String)} 로 다시 올릴 수 있다.
+     */
+    public Mono<Void> archive(final String storyId, final Duration retention) {
+        return redisWriteBehindQueue.expire(metaKey(storyId), retention)
+                .then(redisWriteBehindQueue.expire(linesKey(storyId), retention))
+                .then(redisWriteBehindQueue.expire(stateKey(storyId), retention));
+    }
+
+    /**
+     * 메타데이터, 라인 목록, 턴 상태를 읽어 메모리 상의 스토리를 다시 구성한다.
+     */
+    public Mono<Story> load(final String storyId) {
+        Mono<StoryMetadata> metadata = redisOperations.opsForValue().get(metaKey(storyId))
+                .map(value -> objectMapper.convertValue(value, StoryMetadata.class));
+
+        Mono<List<StoryLineRecord>> records = redisOperations.opsForList().range(linesKey(storyId), 0, -1)
+                .map(value -> objectMapper.convertValue(value, StoryLineRecord.class))
+                .collectList();
+
+        Mono<StoryTurnState> state = redisOperations.opsForValue().get(stateKey(storyId))
+                .map(value -> objectMapper.convertValue(value, StoryTurnState.class))
+                .defaultIfEmpty(StoryTurnState.EMPTY);
+
+        return Mono.zip(metadata, records, state)
+                .map(tuple -> rebuild(tuple.getT1(), tuple.getT2(), tuple.getT3()));
+    }
+
+    private Story rebuild(final StoryMetadata metadata, final List<StoryLineRecord> records, final StoryTurnState state) {
+        List<Story.StoryLine> lines = new ArrayList<>(records.size());
+        int skippedTurns = 0;
+        for (StoryLineRecord record : records) {
+            if (record.skipped()) {
+                skippedTurns++;
+            } else {
+                lines.add(new Story.StoryLine(
+                        record.userId(), record.content(), record.round(), toLocalDateTime(record.createdAt())));
+            }
+        }
+
+        int playerCount = Math.max(1, metadata.playerIds().size());
+        int currentPlayerIndex = state.currentPlayerIndex();
+        int currentRound = state.currentRound();
+        boolean completed = state.completed();
+        long sequence = state.sequence();
+        long lastUpdatedAt = state.lastUpdatedAt();
+
+        // 목록과 턴 상태가 서로 다른 플러시에 걸쳐 기록되었다면 라인과 건너뛴 턴을 합친 턴 수로 다시 계산한다
+        if (state.lineCount() != lines.size() || state.skippedTurns() != skippedTurns) {
+            int turns = lines.size() + skippedTurns;
+            currentPlayerIndex = turns % playerCount;
+            currentRound = turns / playerCount + 1;
+            completed = currentRound > metadata.maxRound();
+            // 이미 발행된 시퀀스보다 뒤로 가면 클라이언트의 재개 위치가 어긋나므로 기록된 값 아래로 내리지 않는다
+            sequence = Math.max(state.sequence(), turns);
+            lastUpdatedAt = records.isEmpty()
+                    ? metadata.createdAt()
+                    : Math.max(state.lastUpdatedAt(), records.get(records.size() - 1).createdAt());
+        }
+
+        return Story.restore(
+                metadata.roomId(),
+                metadata.playerIds(),
+                metadata.startingPrompt(),
+                metadata.maxRound(),
+                lines,
+                currentPlayerIndex,
+                currentRound,
+                completed,
+                sequence,
+                toLocalDateTime(metadata.createdAt()),
+                toLocalDateTime(lastUpdatedAt));
+    }
+
+    private static String metaKey(final String storyId) {
+        return STORY_KEY_PREFIX + storyId + META_SUFFIX;
+    }
+
+    private static String linesKey(final String storyId) {
+        return STORY_KEY_PREFIX + storyId + LINES_SUFFIX;
+    }
+
+    private static String stateKey(final String storyId) {
+        return STORY_KEY_PREFIX + storyId + STATE_SUFFIX;
+    }
+
+    private static long toEpochMillis(final LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(final long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    record StoryMetadata(
+            String id,
+            String roomId,
+            List<String> playerIds,
+            String startingPrompt,
+            int maxRound,
+            long createdAt) {
+    }
+
+    // skipped 가 true 이면 라인이 아니라 건너뛴 턴 표시이며 userId 와 content 는 비어 있다
+    record StoryLineRecord(String userId, String content, int round, long createdAt, boolean skipped) {
+    }
+
+    record StoryTurnState(int currentPlayerIndex, int currentRound, boolean completed, int lineCount,
+                          int skippedTurns, long sequence, long lastUpdatedAt) {
+
+        // 상태가 아직 기록되지 않았으면 목록으로 다시 계산하도록 lineCount 를 -1 로 둔다
+        static final StoryTurnState EMPTY = new StoryTurnState(0, 1, false, -1, 0, 0L, 0L);
+    }
+}
@@ -0,0 +1,119 @@
+package com.storywave.core;
+
+import com.storywave.core.internal.core.domain.component.room.GameRoomManager;
+import com.storywave.core.internal.core.domain.component.room.WaitingQueueManager;
+import com.storywave.core.internal.core.domain.component.story.StoryManager;
+import com.storywave.core.internal.core.domain.event.story.StoryEvent;
+import com.storywave.core.internal.core.domain.model.room.GameRoom;
+import com.storywave.core.internal.core.domain.model.story.Story;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 같은 JVM 에 클러스터 모드 인스턴스 두 개를 띄워 로컬 Redis(localhost:6379) 를 통한 매칭과 스토리 릴레이를 확인한다.
+ * Redis 가 없으면 건너뛴다.
+ */
+class ClusterModeTests {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        Assumptions.assumeTrue(redisAvailable(), "localhost:6379 에 Redis 가 없어 클러스터 테스트를 건너뜀");
+        nodeA = start("node-a");
+        nodeB = start("node-b");
+        nodeA.getBean(ReactiveStringRedisTemplate.class).delete("waiting:cluster:queue").block();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    @Test
+    void usersOnDifferentNodesAreMatchedAndSeeEachOthersLines() {
+        String userA = "cluster-a-" + UUID.randomUUID();
+        String userB = "cluster-b-" + UUID.randomUUID();
+
+        assertThat(nodeA.getBean(WaitingQueueManager.class).addUser(userA).block()).isTrue();
+        assertThat(nodeB.getBean(WaitingQueueManager.class).addUser(userB).block()).isTrue();
+
+        // 매칭을 완성한 노드 B 가 방을 만들고, 노드 A 는 릴레이로 같은 방을 받는다
+        GameRoomManager roomsOnA = nodeA.getBean(GameRoomManager.class);
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> roomsOnA.getRoomByUserId(userA).blockOptional().isPresent());
+        GameRoom room = roomsOnA.getRoomByUserId(userA).block();
+        assertThat(room.getUserIds()).containsExactlyInAnyOrder(userA, userB);
+        assertThat(nodeB.getBean(GameRoomManager.class).getRoomById(room.getId()).block()).isNotNull();
+
+        // 노드 A 의 스토리는 소유 노드 B 가 만든 스토리의 복제본이다
+        StoryManager storiesOnA = nodeA.getBean(StoryManager.class);
+        Story replica = storiesOnA.createStory(room).block(Duration.ofSeconds(5));
+        assertThat(replica).isNotNull();
+
+        List<StoryEvent> eventsOnA = new CopyOnWriteArrayList<>();
+        Disposable subscription = storiesOnA.getStoryEvents(room.getId()).subscribe(eventsOnA::add);
+        try {
+            String firstPlayer = replica.getCurrentPlayerId();
+            Boolean added = storiesOnA.addStoryLine(room.getId(), firstPlayer, "노드 A 에서 쓴 첫 줄")
+                    .block(Duration.ofSeconds(5));
+            assertThat(added).isTrue();
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> !eventsOnA.isEmpty());
+            StoryEvent event = eventsOnA.get(0);
+            assertThat(event.getType()).isEqualTo(StoryEvent.EventType.LINE_ADDED);
+            assertThat(event.getLine().getUserId()).isEqualTo(firstPlayer);
+            assertThat(storiesOnA.findLoadedStory(room.getId()).getSequence())
+                    .isEqualTo(nodeB.getBean(StoryManager.class).findLoadedStory(room.getId()).getSequence());
+        } finally {
+            subscription.dispose();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(final String nodeId) {
+        return new SpringApplicationBuilder(Application.class)
+                .properties(
+                        "server.port=0",
+                        "spring.rsocket.server.port=0",
+                        "storywave.cluster.enabled=true",
+                        "storywave.cluster.node-id=" + nodeId,
+                        "storywave.room.required-users=2",
+                        "storywave.story.turn-timeout.seconds=0")
+                .run();
+    }
+
+    private static boolean redisAvailable() {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory("localhost", 6379);
+        factory.afterPropertiesSet();
+        try {
+            factory.getConnection().ping();
+            return true;
+        } catch (Exception e) {
+            return false;
+        } finally {
+            factory.destroy();
+        }
+    }
+}
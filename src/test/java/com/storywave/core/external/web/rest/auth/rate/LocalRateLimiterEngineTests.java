@@ -0,0 +1,60 @@
+package com.storywave.core.external.web.rest.auth.rate;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterEngineTests {
+
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void tokenBucketAllowsBurstThenRefillsAtSteadyRate() {
+        LocalRateLimiterEngine engine = new LocalRateLimiterEngine(RateLimitStrategy.TOKEN_BUCKET, 5, WINDOW, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(engine.acquire("ip")).isTrue();
+        }
+        assertThat(engine.acquire("ip")).isFalse();
+
+        // 토큰 하나가 채워지는 간격 = 2초
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertThat(engine.acquire("ip")).isTrue();
+        assertThat(engine.acquire("ip")).isFalse();
+    }
+
+    @Test
+    void slidingWindowLogNeverExceedsLimitAcrossWindowBoundary() {
+        LocalRateLimiterEngine engine = new LocalRateLimiterEngine(RateLimitStrategy.SLIDING_WINDOW_LOG, 3, WINDOW, clock::get);
+
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        for (int i = 0; i < 3; i++) {
+            assertThat(engine.acquire("ip")).isTrue();
+        }
+
+        // 고정 윈도우라면 경계를 넘는 순간 다시 3건이 허용되지만, 슬라이딩 윈도우는 10초가 지나야 한다
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertThat(engine.acquire("ip")).isFalse();
+
+        clock.addAndGet(Duration.ofSeconds(8).toNanos());
+        assertThat(engine.acquire("ip")).isTrue();
+    }
+
+    @Test
+    void sweepRemovesOnlyIdleEntries() {
+        LocalRateLimiterEngine engine = new LocalRateLimiterEngine(RateLimitStrategy.TOKEN_BUCKET, 2, WINDOW, clock::get);
+
+        engine.acquire("idle");
+        clock.addAndGet(WINDOW.toNanos());
+        engine.acquire("active");
+
+        engine.sweep();
+
+        assertThat(engine.size()).isEqualTo(1);
+    }
+}
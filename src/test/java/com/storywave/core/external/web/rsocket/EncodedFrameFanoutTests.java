@@ -0,0 +1,121 @@
+package com.storywave.core.external.web.rsocket;
+
+import com.storywave.core.internal.core.domain.component.event.KeyedEventRouter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncodedFrameFanoutTests {
+
+    private static final byte[] PAYLOAD = "{\"seq\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private static ResourceLeakDetector.Level previousLevel;
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    @BeforeAll
+    static void enableLeakDetection() {
+        previousLevel = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+    }
+
+    @AfterAll
+    static void restoreLeakDetection() {
+        ResourceLeakDetector.setLevel(previousLevel);
+    }
+
+    @Test
+    void sharedFrameIsReleasedOnceEverySubscriberReleasesItsDuplicate() {
+        KeyedEventRouter<EncodedFrame> router = router(16);
+        List<EncodedFrame> received = new CopyOnWriteArrayList<>();
+        List<Disposable> subscribers = List.of(
+                router.subscribe("room").subscribe(received::add),
+                router.subscribe("room").subscribe(received::add),
+                router.subscribe("room").subscribe(received::add));
+
+        EncodedFrame frame = frame(1);
+        ByteBuf root = nativeBuffer(frame);
+        publishAndRelease(router, frame);
+
+        assertThat(received).hasSize(3);
+        assertThat(root.refCnt()).isPositive();
+
+        // 사본은 같은 메모리를 공유하지만 읽기 위치는 서로 독립적이다
+        received.get(0).getBuffer().read(new byte[3]);
+        assertThat(received.get(1).getBuffer().readableByteCount()).isEqualTo(PAYLOAD.length);
+
+        received.forEach(EncodedFrame::release);
+        subscribers.forEach(Disposable::dispose);
+
+        assertThat(root.refCnt()).isZero();
+    }
+
+    @Test
+    void droppedAndPendingFramesAreReleasedForSlowSubscriber() {
+        KeyedEventRouter<EncodedFrame> router = router(2);
+        List<ByteBuf> roots = new ArrayList<>();
+
+        StepVerifier.create(router.subscribe("room"), 0)
+                .then(() -> {
+                    for (int sequence = 1; sequence <= 5; sequence++) {
+                        EncodedFrame frame = frame(sequence);
+                        roots.add(nativeBuffer(frame));
+                        publishAndRelease(router, frame);
+                    }
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(roots).hasSize(5).allSatisfy(root -> assertThat(root.refCnt()).isZero());
+        assertThat(router.hasSubscribers("room")).isFalse();
+    }
+
+    @Test
+    void frameWithoutSubscribersIsReleasedByPublisher() {
+        KeyedEventRouter<EncodedFrame> router = router(2);
+
+        EncodedFrame frame = frame(1);
+        ByteBuf root = nativeBuffer(frame);
+        publishAndRelease(router, frame);
+
+        assertThat(root.refCnt()).isZero();
+    }
+
+    private KeyedEventRouter<EncodedFrame> router(final int bufferSize) {
+        return new KeyedEventRouter<>(bufferSize, EncodedFrame.class, EncodedFrame::retainedDuplicate, EncodedFrame::release);
+    }
+
+    private EncodedFrame frame(final long sequence) {
+        NettyDataBuffer buffer = bufferFactory.allocateBuffer(PAYLOAD.length);
+        buffer.write(PAYLOAD);
+        return new EncodedFrame(sequence, buffer);
+    }
+
+    private static void publishAndRelease(final KeyedEventRouter<EncodedFrame> router, final EncodedFrame frame) {
+        try {
+            router.publish("room", frame);
+        } finally {
+            frame.release();
+        }
+    }
+
+    private static ByteBuf nativeBuffer(final EncodedFrame frame) {
+        return ((NettyDataBuffer) frame.getBuffer()).getNativeBuffer();
+    }
+}
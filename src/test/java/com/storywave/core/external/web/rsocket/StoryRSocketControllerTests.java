@@ -0,0 +1,50 @@
+package com.storywave.core.external.web.rsocket;
+
+import com.storywave.core.internal.core.domain.component.event.KeyedEventRouter;
+
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoryRSocketControllerTests {
+
+    @Test
+    void eventPublishedWhileBuildingSnapshotIsDeliveredAfterIt() {
+        KeyedEventRouter<Long> router = new KeyedEventRouter<>(16);
+        AtomicLong lastSequence = new AtomicLong(-1);
+
+        StepVerifier.create(StoryRSocketController.initialThenLive(
+                        router.subscribe("room"),
+                        () -> {
+                            // 스냅샷(시퀀스 1)을 만든 직후, 델타를 받기 전에 다음 이벤트가 발행된다
+                            lastSequence.set(1L);
+                            router.publish("room", 2L);
+                            return List.of(1L);
+                        },
+                        sequence -> {
+                            // 쌓여 있던 델타는 스냅샷이 남긴 시퀀스를 본 뒤에 변환된다
+                            assertThat(lastSequence.get()).isPositive();
+                            if (sequence <= lastSequence.get()) {
+                                return List.of();
+                            }
+                            lastSequence.set(sequence);
+                            return List.of(sequence);
+                        }))
+                .expectNext(1L, 2L)
+                .then(() -> {
+                    router.publish("room", 2L);
+                    router.publish("room", 3L);
+                })
+                // 이미 보낸 시퀀스는 다시 보내지 않는다
+                .expectNext(3L)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(router.hasSubscribers("room")).isFalse();
+    }
+}
@@ -0,0 +1,72 @@
+package com.storywave.core.internal.core.domain.component.room;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchmakingEngineTests {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<MatchmakingEngine.MatchedRoom> rooms = new ArrayList<>();
+    private final MatchmakingEngine engine = new MatchmakingEngine(
+            new MatchmakingEngine.Rules(2, 3, 50,
+                    Duration.ofSeconds(10), Duration.ofSeconds(20), Duration.ofSeconds(30), Duration.ofSeconds(15)),
+            clock::get,
+            rooms::addAll);
+
+    @Test
+    void fillsRoomAtMaxSizeWhenAllConditionsMatch() {
+        engine.offer("a", new MatchProfile("ko", 5, 20));
+        engine.offer("other", new MatchProfile("en", 5, 20));
+        engine.offer("b", new MatchProfile("ko", 5, 30));
+        assertThat(rooms).isEmpty();
+
+        engine.offer("c", new MatchProfile("KO", 5, 45));
+
+        assertThat(rooms).containsExactly(new MatchmakingEngine.MatchedRoom(Set.of("a", "b", "c"), 5));
+        assertThat(engine.isWaiting("other")).isTrue();
+        assertThat(engine.getWaitingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void relaxesConditionsAsWaitGrowsAndFormsPartialRoom() {
+        engine.offer("x", new MatchProfile("ko", 3, 10));
+        engine.offer("y", new MatchProfile("en", 4, 300));
+
+        advanceSeconds(16);
+        engine.tick();
+        // 최소 인원은 모였지만 언어가 달라 아직 같은 버킷이 아니다
+        assertThat(rooms).isEmpty();
+
+        advanceSeconds(15);
+        engine.tick();
+
+        // 언어까지 지운 버킷에서 최소 인원으로 묶이고, 라운드 수가 갈려 기본값이 된다
+        assertThat(rooms).containsExactly(new MatchmakingEngine.MatchedRoom(Set.of("x", "y"), 0));
+        assertThat(engine.getWaitingCount()).isZero();
+    }
+
+    @Test
+    void cancelledUserIsNotMatched() {
+        engine.offer("a", MatchProfile.ANY);
+        engine.offer("b", MatchProfile.ANY);
+        engine.cancel("a");
+        engine.offer("c", MatchProfile.ANY);
+
+        advanceSeconds(15);
+        engine.tick();
+
+        assertThat(rooms).containsExactly(new MatchmakingEngine.MatchedRoom(Set.of("b", "c"), 0));
+    }
+
+    private void advanceSeconds(final long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
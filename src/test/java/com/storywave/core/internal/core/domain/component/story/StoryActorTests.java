@@ -0,0 +1,51 @@
+package com.storywave.core.internal.core.domain.component.story;
+
+import com.storywave.core.internal.core.domain.model.story.Story;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoryActorTests {
+
+    private static final List<String> PLAYERS = List.of("a", "b", "c", "d");
+
+    private final Scheduler scheduler = Schedulers.newParallel("story-actor-test", 4);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void concurrentTurnsAreAppliedOneAtATimeInTurnOrder() {
+        int rounds = 250;
+        StoryActor actor = new StoryActor(new Story("room", PLAYERS, "prompt", rounds), scheduler, 8, 0);
+
+        // 모든 플레이어가 여러 스레드에서 동시에 계속 시도하고, 자기 차례일 때만 성공한다
+        Long accepted = Flux.fromIterable(PLAYERS)
+                .parallel(PLAYERS.size())
+                .runOn(Schedulers.parallel())
+                .flatMap(player -> actor.ask(story -> story.addLine(player, "line"))
+                        .repeat(() -> !actor.story().isCompleted()))
+                .filter(Boolean::booleanValue)
+                .sequential()
+                .count()
+                .block(Duration.ofSeconds(30));
+
+        Story story = actor.story();
+        assertThat(accepted).isEqualTo((long) PLAYERS.size() * rounds);
+        assertThat(story.isCompleted()).isTrue();
+        assertThat(story.getSequence()).isEqualTo(story.getLineCount());
+        for (int i = 0; i < story.getLineCount(); i++) {
+            assertThat(story.getLines().get(i).getUserId()).isEqualTo(PLAYERS.get(i % PLAYERS.size()));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.storywave.core.internal.core.domain.component.story;
+
+import com.storywave.core.internal.core.domain.event.story.StoryEvent;
+import com.storywave.core.internal.core.domain.model.story.Story;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoryEventLogTests {
+
+    private static final List<String> PLAYERS = List.of("a", "b");
+
+    @Test
+    void returnsOnlyEventsAfterLastSequenceWhileTheyAreStillBuffered() {
+        Story story = new Story("room", PLAYERS, "prompt", 10);
+        long start = story.getSequence();
+        StoryEventLog log = new StoryEventLog(4, start);
+
+        for (int i = 0; i < 6; i++) {
+            story.addLine(story.getCurrentPlayerId(), "line " + i);
+            log.append(StoryEvent.lineAdded(story, story.getLastLine()));
+        }
+
+        // 마지막 4개만 남아 있다
+        assertThat(log.since(start + 4)).extracting(StoryEvent::getSequence).containsExactly(start + 5, start + 6);
+        assertThat(log.since(start + 2)).hasSize(4);
+        assertThat(log.since(start + 6)).isEmpty();
+        // 버퍼에서 밀려났거나 아직 없는 시퀀스는 스냅샷으로 맞춰야 한다
+        assertThat(log.since(start + 1)).isNull();
+        assertThat(log.since(start + 7)).isNull();
+    }
+}
@@ -0,0 +1,67 @@
+package com.storywave.core.internal.data.archive;
+
+import com.storywave.core.internal.core.domain.model.story.Story;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoryArchiveTests {
+
+    private static final List<String> PLAYERS = List.of("a", "b");
+
+    @Test
+    void readsBackCompletedStoryWithoutRehydrating() {
+        StoryArchive archive = new StoryArchive(true, 64, 4);
+        Story story = completedStory("room-1");
+
+        assertThat(archive.put(story)).isTrue();
+        ArchivedStory archived = archive.find("room-1");
+
+        assertThat(archived).isNotNull();
+        assertThat(archived.getId()).isEqualTo("room-1");
+        assertThat(archived.getPlayerIds()).containsExactlyElementsOf(PLAYERS);
+        assertThat(archived.getStartingPrompt()).isEqualTo("옛날 옛적에");
+        assertThat(archived.isCompleted()).isTrue();
+        assertThat(archived.getMaxRound()).isEqualTo(2);
+        assertThat(archived.getSequence()).isEqualTo(story.getSequence());
+        assertThat(archived.getCreatedAt()).isEqualTo(story.getCreatedAt().truncatedTo(ChronoUnit.MILLIS));
+        assertThat(archived.getLineCount()).isEqualTo(story.getLineCount());
+        for (int i = 0; i < story.getLineCount(); i++) {
+            Story.StoryLine line = story.getLines().get(i);
+            assertThat(archived.getLineUserId(i)).isEqualTo(line.getUserId());
+            assertThat(archived.getLineContent(i)).isEqualTo(line.getContent());
+            assertThat(archived.getLineRound(i)).isEqualTo(line.getRound());
+            assertThat(archived.getLineCreatedAt(i)).isEqualTo(line.getCreatedAt().truncatedTo(ChronoUnit.MILLIS));
+        }
+        assertThat(archived.getCurrentPlayerId()).isEqualTo(story.getCurrentPlayerId());
+    }
+
+    @Test
+    void recyclesOldestSegmentWhenFull() {
+        StoryArchive archive = new StoryArchive(true, 1, 2);
+
+        for (int i = 0; i < 50; i++) {
+            archive.put(completedStory("room-" + i));
+        }
+
+        // 가장 오래된 스토리는 빠지고 최근 스토리는 남는다
+        assertThat(archive.find("room-0")).isNull();
+        assertThat(archive.find("room-49")).isNotNull();
+        assertThat(archive.getArchivedCount()).isEqualTo(50);
+        assertThat(archive.getStoryCount() + archive.getDroppedCount()).isEqualTo(50);
+        assertThat(archive.getUsedBytes()).isLessThanOrEqualTo(2 * 1024);
+    }
+
+    private static Story completedStory(final String roomId) {
+        Story story = new Story(roomId, PLAYERS, "옛날 옛적에", 2);
+        int turn = 0;
+        while (!story.isCompleted()) {
+            story.addLine(story.getCurrentPlayerId(), "한 줄 " + turn++);
+        }
+        return story;
+    }
+}
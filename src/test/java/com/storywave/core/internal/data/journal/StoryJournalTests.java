@@ -0,0 +1,88 @@
+package com.storywave.core.internal.data.journal;
+
+import com.storywave.core.internal.core.domain.model.story.Story;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoryJournalTests {
+
+    private static final List<String> PLAYERS = List.of("a", "b");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysCreatedLinesSkipsAndCompletionAfterRestart() {
+        StoryJournal journal = open(64);
+        Story inProgress = new Story("room-1", PLAYERS, "옛날 옛적에", 3);
+        journal.appendCreated(inProgress).block();
+        inProgress.addLine("a", "첫 줄");
+        journal.appendLine(inProgress, inProgress.getLastLine()).block();
+        inProgress.skipTurn();
+        journal.appendTurnSkipped(inProgress).block();
+
+        Story completed = new Story("room-2", PLAYERS, "옛날 옛적에", 1);
+        journal.appendCreated(completed).block();
+        while (!completed.isCompleted()) {
+            completed.addLine(completed.getCurrentPlayerId(), "한 줄");
+            journal.appendLine(completed, completed.getLastLine()).block();
+        }
+        journal.close();
+
+        StoryJournal reopened = open(64);
+        Map<String, Story> recovered = reopened.takeRecovered().stream()
+                .collect(Collectors.toMap(Story::getId, Function.identity()));
+        reopened.close();
+
+        assertThat(recovered).containsOnlyKeys("room-1", "room-2");
+        Story restored = recovered.get("room-1");
+        assertThat(restored.isCompleted()).isFalse();
+        assertThat(restored.getPlayerIds()).containsExactlyElementsOf(PLAYERS);
+        assertThat(restored.getSequence()).isEqualTo(inProgress.getSequence());
+        assertThat(restored.getCurrentPlayerId()).isEqualTo(inProgress.getCurrentPlayerId());
+        assertThat(restored.getCurrentRound()).isEqualTo(inProgress.getCurrentRound());
+        assertThat(restored.getLines()).extracting(Story.StoryLine::getContent).containsExactly("첫 줄");
+        assertThat(recovered.get("room-2").isCompleted()).isTrue();
+        assertThat(recovered.get("room-2").getLineCount()).isEqualTo(completed.getLineCount());
+    }
+
+    @Test
+    void compactsSegmentsOfCompletedStoriesWithoutLosingThem() {
+        StoryJournal journal = open(1);
+        for (int i = 0; i < 100; i++) {
+            Story story = new Story("room-" + i, PLAYERS, "옛날 옛적에", 2);
+            journal.appendCreated(story).block();
+            while (!story.isCompleted()) {
+                story.addLine(story.getCurrentPlayerId(), "한 줄");
+                journal.appendLine(story, story.getLastLine()).block();
+            }
+        }
+        int segmentsBefore = journal.getSegmentCount();
+        journal.compact();
+
+        // 완료 레코드만 남으므로 세그먼트가 줄어든다
+        assertThat(journal.getCompactedSegmentCount()).isPositive();
+        assertThat(journal.getSegmentCount()).isLessThan(segmentsBefore);
+        journal.close();
+
+        StoryJournal reopened = open(1);
+        List<Story> recovered = reopened.takeRecovered();
+        reopened.close();
+        assertThat(recovered).hasSize(100).allMatch(Story::isCompleted);
+    }
+
+    private StoryJournal open(final int segmentSizeKb) {
+        StoryJournal journal = new StoryJournal(false, true, directory.toString(), segmentSizeKb, true, 0, 3600, 7);
+        journal.open();
+        return journal;
+    }
+}